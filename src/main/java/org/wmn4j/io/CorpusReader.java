@@ -0,0 +1,331 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.io;
+
+import org.wmn4j.notation.Score;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads a corpus of music notation files concurrently into scores.
+ * <p>
+ * The files are read with readers created by a given reader factory, for example
+ * <code>MusicXmlReader::streamingReaderFor</code>, on an executor. The results are returned as a stream in the
+ * same order as the paths were given. A file that cannot be read does not stop the reading of the corpus. Instead,
+ * the exception thrown when reading it is available in its result.
+ * <p>
+ * At most a fixed number of files are read or waiting to be consumed at any time, so the memory used by the
+ * scores that have been read but not yet consumed is bounded regardless of the size of the corpus.
+ * <p>
+ * This class is thread-safe, but the streams returned by it are not. The returned streams should be closed if
+ * they are not consumed completely, so that the threads created for reading are released.
+ */
+public final class CorpusReader {
+
+	private static final String VIRTUAL_THREAD_EXECUTOR_FACTORY = "newVirtualThreadPerTaskExecutor";
+
+	private final Function<Path, ? extends ScoreReader> readerFactory;
+	private final Supplier<ExecutorService> ownedExecutorFactory;
+	private final Executor executor;
+	private final int maxInFlight;
+
+	private CorpusReader(Function<Path, ? extends ScoreReader> readerFactory,
+			Supplier<ExecutorService> ownedExecutorFactory, Executor executor, int maxInFlight) {
+		this.readerFactory = Objects.requireNonNull(readerFactory);
+		this.ownedExecutorFactory = ownedExecutorFactory;
+		this.executor = executor;
+
+		if (maxInFlight < 1) {
+			throw new IllegalArgumentException("maxInFlight must be at least 1, was " + maxInFlight);
+		}
+		this.maxInFlight = maxInFlight;
+	}
+
+	/**
+	 * Returns a corpus reader that reads files using the given number of threads. The threads are created
+	 * separately for each read corpus and released when the corpus has been read or the returned stream is closed.
+	 * The number of files read or waiting to be consumed at a time is limited to the number of threads.
+	 *
+	 * @param readerFactory the function used for creating a reader for each file
+	 * @param parallelism   the number of threads used for reading files
+	 * @return a corpus reader that reads files using the given number of threads
+	 */
+	public static CorpusReader withParallelism(Function<Path, ? extends ScoreReader> readerFactory, int parallelism) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("parallelism must be at least 1, was " + parallelism);
+		}
+
+		return new CorpusReader(readerFactory, () -> Executors.newFixedThreadPool(parallelism, runnable -> {
+			final Thread thread = new Thread(runnable, CorpusReader.class.getSimpleName());
+			thread.setDaemon(true);
+			return thread;
+		}), null, parallelism);
+	}
+
+	/**
+	 * Returns a corpus reader that reads each file on its own virtual thread. The number of files read or waiting
+	 * to be consumed at a time is limited to the given maximum.
+	 * <p>
+	 * Virtual threads are available on Java 21 and later. Use {@link #isVirtualThreadModeAvailable()} to check
+	 * whether they are available on the running Java version.
+	 *
+	 * @param readerFactory the function used for creating a reader for each file
+	 * @param maxInFlight   the maximum number of files read or waiting to be consumed at a time
+	 * @return a corpus reader that reads each file on its own virtual thread
+	 * @throws UnsupportedOperationException if virtual threads are not available on the running Java version
+	 */
+	public static CorpusReader withVirtualThreads(Function<Path, ? extends ScoreReader> readerFactory,
+			int maxInFlight) {
+		final Method executorFactory = findVirtualThreadExecutorFactory()
+				.orElseThrow(() -> new UnsupportedOperationException(
+						"Virtual threads are not available on Java " + Runtime.version()));
+
+		return new CorpusReader(readerFactory, () -> {
+			try {
+				return (ExecutorService) executorFactory.invoke(null);
+			} catch (IllegalAccessException | InvocationTargetException e) {
+				throw new IllegalStateException("Creating virtual thread executor failed", e);
+			}
+		}, null, maxInFlight);
+	}
+
+	/**
+	 * Returns a corpus reader that reads files on the given executor. The executor is not shut down by the corpus
+	 * reader. The number of files read or waiting to be consumed at a time is limited to the given maximum.
+	 *
+	 * @param readerFactory the function used for creating a reader for each file
+	 * @param executor      the executor on which the files are read
+	 * @param maxInFlight   the maximum number of files read or waiting to be consumed at a time
+	 * @return a corpus reader that reads files on the given executor
+	 */
+	public static CorpusReader withExecutor(Function<Path, ? extends ScoreReader> readerFactory, Executor executor,
+			int maxInFlight) {
+		return new CorpusReader(readerFactory, null, Objects.requireNonNull(executor), maxInFlight);
+	}
+
+	/**
+	 * Returns true if virtual threads, which are required by {@link #withVirtualThreads(Function, int)}, are
+	 * available on the running Java version.
+	 *
+	 * @return true if virtual threads are available on the running Java version
+	 */
+	public static boolean isVirtualThreadModeAvailable() {
+		return findVirtualThreadExecutorFactory().isPresent();
+	}
+
+	private static Optional<Method> findVirtualThreadExecutorFactory() {
+		// The factory method is looked up reflectively so that this compiles and runs on Java versions before 21.
+		try {
+			return Optional.of(Executors.class.getMethod(VIRTUAL_THREAD_EXECUTOR_FACTORY));
+		} catch (NoSuchMethodException e) {
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Returns a stream of the results of reading the files at the given paths. The results are in the same order as
+	 * the paths.
+	 *
+	 * @param paths the paths of the files that are read
+	 * @return a stream of the results of reading the files at the given paths
+	 */
+	public Stream<Result> read(Collection<Path> paths) {
+		final List<Path> pathsToRead = new ArrayList<>(paths);
+		final ResultIterator results = new ResultIterator(pathsToRead.iterator());
+
+		return StreamSupport
+				.stream(Spliterators.spliterator(results, pathsToRead.size(),
+						Spliterator.ORDERED | Spliterator.NONNULL), false)
+				.onClose(results::close);
+	}
+
+	/**
+	 * Returns a stream of the results of reading the files in the given directory and its subdirectories whose
+	 * paths relative to the directory match the given glob pattern, such as <code>**.xml</code>. The files are
+	 * read in the order of their paths.
+	 *
+	 * @param directory   the directory in which the files are searched
+	 * @param globPattern the glob pattern that the paths of the read files match
+	 * @return a stream of the results of reading the matching files in the given directory
+	 * @throws IOException if searching the directory fails
+	 */
+	public Stream<Result> read(Path directory, String globPattern) throws IOException {
+		final PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + globPattern);
+
+		final List<Path> paths;
+		try (Stream<Path> files = Files.walk(directory)) {
+			paths = files.filter(Files::isRegularFile)
+					.filter(path -> matcher.matches(directory.relativize(path)))
+					.sorted()
+					.collect(Collectors.toList());
+		}
+
+		return read(paths);
+	}
+
+	private Result readFile(Path path) {
+		try {
+			return new Result(path, readerFactory.apply(path).readScore(), null);
+		} catch (IOException | ParsingFailureException | RuntimeException e) {
+			return new Result(path, null, e);
+		}
+	}
+
+	/**
+	 * Iterator that keeps at most a fixed number of files in flight and returns their results in order.
+	 * <p>
+	 * If the corpus reader owns its executors, the executor of the iterator is created when the first file is
+	 * submitted and shut down when all the results have been returned or the iterator is closed.
+	 */
+	private final class ResultIterator implements Iterator<Result> {
+
+		private final Iterator<Path> paths;
+		private final Deque<CompletableFuture<Result>> inFlight = new ArrayDeque<>();
+		private ExecutorService ownedExecutor;
+		private boolean closed;
+
+		ResultIterator(Iterator<Path> paths) {
+			this.paths = paths;
+		}
+
+		@Override
+		public boolean hasNext() {
+			submitUpToLimit();
+			if (inFlight.isEmpty()) {
+				close();
+				return false;
+			}
+
+			return true;
+		}
+
+		@Override
+		public Result next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			final Result result = inFlight.removeFirst().join();
+			submitUpToLimit();
+			if (inFlight.isEmpty()) {
+				close();
+			}
+
+			return result;
+		}
+
+		private void submitUpToLimit() {
+			while (!closed && inFlight.size() < maxInFlight && paths.hasNext()) {
+				final Path path = paths.next();
+				inFlight.addLast(CompletableFuture.supplyAsync(() -> readFile(path), getExecutor()));
+			}
+		}
+
+		private Executor getExecutor() {
+			if (ownedExecutorFactory == null) {
+				return executor;
+			}
+
+			if (ownedExecutor == null) {
+				ownedExecutor = ownedExecutorFactory.get();
+			}
+
+			return ownedExecutor;
+		}
+
+		void close() {
+			closed = true;
+			inFlight.forEach(result -> result.cancel(true));
+			inFlight.clear();
+
+			if (ownedExecutor != null) {
+				ownedExecutor.shutdownNow();
+			}
+		}
+	}
+
+	/**
+	 * Represents the result of reading a single file of a corpus.
+	 */
+	public static final class Result {
+
+		private final Path path;
+		private final Score score;
+		private final Exception failure;
+
+		private Result(Path path, Score score, Exception failure) {
+			this.path = path;
+			this.score = score;
+			this.failure = failure;
+		}
+
+		/**
+		 * Returns the path of the file.
+		 *
+		 * @return the path of the file
+		 */
+		public Path getPath() {
+			return path;
+		}
+
+		/**
+		 * Returns true if the file was read successfully.
+		 *
+		 * @return true if the file was read successfully
+		 */
+		public boolean isSuccessful() {
+			return failure == null;
+		}
+
+		/**
+		 * Returns the score read from the file or empty if reading the file failed.
+		 *
+		 * @return the score read from the file or empty if reading the file failed
+		 */
+		public Optional<Score> getScore() {
+			return Optional.ofNullable(score);
+		}
+
+		/**
+		 * Returns the exception thrown when reading the file or empty if the file was read successfully. The
+		 * exception is typically either an {@link IOException} or a {@link ParsingFailureException}.
+		 *
+		 * @return the exception thrown when reading the file or empty if the file was read successfully
+		 */
+		public Optional<Exception> getFailure() {
+			return Optional.ofNullable(failure);
+		}
+
+		@Override
+		public String toString() {
+			return isSuccessful() ? path.toString() : path + ": " + failure.getMessage();
+		}
+	}
+}
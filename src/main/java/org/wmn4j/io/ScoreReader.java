@@ -16,20 +16,20 @@ import java.io.IOException;
 public interface ScoreReader {
 
 	/**
-	 * Returns a score with the contents of the music notation file defined by the path set in this reader.
+	 * Returns a score with the contents of the music notation file read by this reader.
 	 *
-	 * @return aa score with the contents of the music notation file defined by the path set in this reader
-	 * @throws IOException             if the file is not found or reading the file fails
-	 * @throws ParsingFailureException if the file cannot be parsed
+	 * @return a score with the contents of the music notation file read by this reader
+	 * @throws IOException             if the file is not found or reading the contents fails
+	 * @throws ParsingFailureException if the contents cannot be parsed
 	 */
 	Score readScore() throws IOException, ParsingFailureException;
 
 	/**
-	 * Returns a score builder with the contents of the music notation file defined by the path set in this reader.
+	 * Returns a score builder with the contents of the music notation file read by this reader.
 	 *
-	 * @return a score builder with the contents of the music notation file defined by the path set in this reader
-	 * @throws IOException             if the file is not found or reading the file fails
-	 * @throws ParsingFailureException if the file cannot be parsed
+	 * @return a score builder with the contents of the music notation file read by this reader
+	 * @throws IOException             if the file is not found or reading the contents fails
+	 * @throws ParsingFailureException if the contents cannot be parsed
 	 */
 	ScoreBuilder readScoreBuilder() throws IOException, ParsingFailureException;
 }
@@ -3,10 +3,12 @@
  */
 package org.wmn4j.io;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Path;
 
 /**
- * Represents a writer for music notation files. The only supported file type is currently MusicXML.
+ * Represents a writer for music notation files, such as MusicXML files and binary score files.
  * <p>
  * Implementations of this interface are not guaranteed to be thread-safe.
  */
@@ -18,4 +20,19 @@ public interface ScoreWriter {
 	 * @param path the path to which the contents in this writer are written
 	 */
 	void write(Path path);
+
+	/**
+	 * Writes the contents in this writer into the given stream. The stream is flushed but not closed.
+	 * <p>
+	 * The writers of this library support writing into streams. Other implementations that only write into files
+	 * need not override this method, in which case it throws an {@link UnsupportedOperationException} without
+	 * writing anything into the stream.
+	 *
+	 * @param output the stream into which the contents in this writer are written
+	 * @throws IOException                   if writing into the stream fails
+	 * @throws UnsupportedOperationException if this writer does not support writing into streams
+	 */
+	default void write(OutputStream output) throws IOException {
+		throw new UnsupportedOperationException("Writing into a stream is not supported by " + getClass().getName());
+	}
 }
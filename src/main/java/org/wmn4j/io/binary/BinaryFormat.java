@@ -0,0 +1,223 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.io.binary;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Constants and primitive encoding helpers of the binary score format.
+ * <p>
+ * A binary score begins with the {@link #MAGIC} bytes followed by the format version. After the header come the
+ * tables of the distinct pitches, durations, time signatures, key signatures, clefs, and connected notations used
+ * in the score, the score contents that refer to the tables by index, and finally the connections between the
+ * notes through notations. Notes and grace notes are identified in the connections by the order in which they
+ * appear in the contents.
+ * <p>
+ * Integers are written as unsigned variable length integers in which each byte holds seven bits of the value,
+ * least significant bits first, and the highest bit of a byte tells whether more bytes follow. Strings are written
+ * as the length of their UTF-8 encoding followed by the encoded bytes.
+ * <p>
+ * A score pack begins with the {@link #PACK_MAGIC} bytes followed by the pack version as a four byte integer.
+ * The header is followed by the binary scores one after another, the index of the pack, and finally the offset of
+ * the index as an eight byte integer. The index contains the number of scores followed by the id, offset, and
+ * length of each score.
+ */
+final class BinaryFormat {
+
+	/**
+	 * The bytes at the beginning of every binary score.
+	 */
+	static final byte[] MAGIC = {'W', 'M', 'N', 'B'};
+
+	/**
+	 * The version of the format written by this version of the library.
+	 */
+	static final int VERSION = 1;
+
+	/**
+	 * The bytes at the beginning of every score pack.
+	 */
+	static final byte[] PACK_MAGIC = {'W', 'M', 'N', 'P'};
+
+	/**
+	 * The version of the score pack format written by this version of the library.
+	 */
+	static final int PACK_VERSION = 1;
+
+	/**
+	 * The number of bytes in the header of a score pack.
+	 */
+	static final int PACK_HEADER_LENGTH = PACK_MAGIC.length + Integer.BYTES;
+
+	/**
+	 * The number of bytes in the footer of a score pack.
+	 */
+	static final int PACK_FOOTER_LENGTH = Long.BYTES;
+
+	/**
+	 * Tag of a rest in the contents of a voice.
+	 */
+	static final int REST = 0;
+
+	/**
+	 * Tag of a note in the contents of a voice.
+	 */
+	static final int NOTE = 1;
+
+	/**
+	 * Tag of a chord in the contents of a voice.
+	 */
+	static final int CHORD = 2;
+
+	/**
+	 * Tag of a single grace note in the ornamental notes of an ornament.
+	 */
+	static final int GRACE_NOTE = 0;
+
+	/**
+	 * Tag of a grace note chord in the ornamental notes of an ornament.
+	 */
+	static final int GRACE_NOTE_CHORD = 1;
+
+	/**
+	 * Index written in place of a table index for a missing value.
+	 */
+	static final int NONE = -1;
+
+	private static final int VARINT_PAYLOAD_BITS = 7;
+	private static final int VARINT_PAYLOAD_MASK = 0x7F;
+	private static final int VARINT_CONTINUATION = 0x80;
+	private static final int INT_BITS = 32;
+
+	/**
+	 * Writes the given non-negative integer as a variable length integer.
+	 *
+	 * @param output the output to which the value is written
+	 * @param value  the non-negative value that is written
+	 * @throws IOException if writing fails
+	 */
+	static void writeVarInt(DataOutput output, int value) throws IOException {
+		if (value < 0) {
+			throw new IllegalArgumentException("Cannot write negative value " + value);
+		}
+
+		writeVarIntBits(output, value);
+	}
+
+	/**
+	 * Writes the given integer, which may be negative, as a zigzag encoded variable length integer.
+	 *
+	 * @param output the output to which the value is written
+	 * @param value  the value that is written
+	 * @throws IOException if writing fails
+	 */
+	static void writeSignedVarInt(DataOutput output, int value) throws IOException {
+		writeVarIntBits(output, (value << 1) ^ (value >> (INT_BITS - 1)));
+	}
+
+	/**
+	 * Writes the bits of the given value as a variable length integer, treating the value as unsigned.
+	 */
+	private static void writeVarIntBits(DataOutput output, int value) throws IOException {
+		int remaining = value;
+		while ((remaining & ~VARINT_PAYLOAD_MASK) != 0) {
+			output.writeByte((remaining & VARINT_PAYLOAD_MASK) | VARINT_CONTINUATION);
+			remaining >>>= VARINT_PAYLOAD_BITS;
+		}
+
+		output.writeByte(remaining);
+	}
+
+	/**
+	 * Writes the given table index, which may be {@link #NONE}.
+	 *
+	 * @param output the output to which the index is written
+	 * @param index  the index that is written
+	 * @throws IOException if writing fails
+	 */
+	static void writeIndex(DataOutput output, int index) throws IOException {
+		writeVarInt(output, index + 1);
+	}
+
+	/**
+	 * Writes the given string as its length followed by its UTF-8 encoding.
+	 *
+	 * @param output the output to which the string is written
+	 * @param value  the string that is written
+	 * @throws IOException if writing fails
+	 */
+	static void writeString(DataOutput output, String value) throws IOException {
+		final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		writeVarInt(output, bytes.length);
+		output.write(bytes);
+	}
+
+	/**
+	 * Reads a variable length integer from the current position of the given buffer.
+	 *
+	 * @param buffer the buffer from which the value is read
+	 * @return the value that was read
+	 */
+	static int readVarInt(ByteBuffer buffer) {
+		int value = 0;
+		int shift = 0;
+
+		while (true) {
+			final int current = buffer.get();
+			value |= (current & VARINT_PAYLOAD_MASK) << shift;
+
+			if ((current & VARINT_CONTINUATION) == 0) {
+				return value;
+			}
+
+			shift += VARINT_PAYLOAD_BITS;
+			if (shift >= INT_BITS) {
+				throw new IllegalStateException("Variable length integer is too long");
+			}
+		}
+	}
+
+	/**
+	 * Reads a zigzag encoded variable length integer from the current position of the given buffer.
+	 *
+	 * @param buffer the buffer from which the value is read
+	 * @return the value that was read
+	 */
+	static int readSignedVarInt(ByteBuffer buffer) {
+		final int zigzag = readVarInt(buffer);
+		return (zigzag >>> 1) ^ -(zigzag & 1);
+	}
+
+	/**
+	 * Reads a table index, which may be {@link #NONE}, from the current position of the given buffer.
+	 *
+	 * @param buffer the buffer from which the index is read
+	 * @return the index that was read
+	 */
+	static int readIndex(ByteBuffer buffer) {
+		return readVarInt(buffer) - 1;
+	}
+
+	/**
+	 * Reads a string from the current position of the given buffer. The string is decoded directly from the
+	 * buffer without copying its bytes first.
+	 *
+	 * @param buffer the buffer from which the string is read
+	 * @return the string that was read
+	 */
+	static String readString(ByteBuffer buffer) {
+		final int length = readVarInt(buffer);
+		final ByteBuffer bytes = buffer.slice();
+		bytes.limit(length);
+		buffer.position(buffer.position() + length);
+		return StandardCharsets.UTF_8.decode(bytes).toString();
+	}
+
+	private BinaryFormat() {
+		// Not meant to be instantiated.
+	}
+}
@@ -0,0 +1,38 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.io.binary;
+
+import org.wmn4j.io.ScoreReader;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * Represents a reader for binary score files written by a {@link BinaryScoreWriter}.
+ * <p>
+ * Implementations of this interface are not guaranteed to be thread-safe.
+ */
+public interface BinaryScoreReader extends ScoreReader {
+
+	/**
+	 * Returns a reader for the binary score file at the given path.
+	 *
+	 * @param path the path of the file for which the reader is created
+	 * @return a reader for the binary score file at the given path
+	 */
+	static BinaryScoreReader readerFor(Path path) {
+		return new BinaryScoreReaderImpl(path);
+	}
+
+	/**
+	 * Returns a reader for the binary score in the given buffer. The score is read from the position of the
+	 * buffer to its limit. Reading does not change the position of the buffer.
+	 *
+	 * @param buffer the buffer that contains the binary score
+	 * @return a reader for the binary score in the given buffer
+	 */
+	static BinaryScoreReader readerFor(ByteBuffer buffer) {
+		return new BinaryScoreReaderImpl(buffer);
+	}
+}
@@ -0,0 +1,54 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.io.binary;
+
+import org.wmn4j.io.ParsingFailureException;
+import org.wmn4j.notation.Score;
+import org.wmn4j.notation.ScoreBuilder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Reads a score from a binary score file or buffer.
+ */
+final class BinaryScoreReaderImpl implements BinaryScoreReader {
+
+	private final Path path;
+	private final ByteBuffer buffer;
+
+	/**
+	 * Constructor for reading the file at the given path.
+	 *
+	 * @param path the path of the file that is read
+	 */
+	BinaryScoreReaderImpl(Path path) {
+		this.path = Objects.requireNonNull(path);
+		this.buffer = null;
+	}
+
+	/**
+	 * Constructor for reading the given buffer.
+	 *
+	 * @param buffer the buffer that is read
+	 */
+	BinaryScoreReaderImpl(ByteBuffer buffer) {
+		this.path = null;
+		this.buffer = Objects.requireNonNull(buffer);
+	}
+
+	@Override
+	public Score readScore() throws IOException, ParsingFailureException {
+		return readScoreBuilder().build();
+	}
+
+	@Override
+	public ScoreBuilder readScoreBuilder() throws IOException, ParsingFailureException {
+		final ByteBuffer contents = buffer != null ? buffer : ByteBuffer.wrap(Files.readAllBytes(path));
+		return new ScoreDecoder(contents).decode();
+	}
+}
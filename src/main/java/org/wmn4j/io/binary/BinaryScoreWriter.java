@@ -0,0 +1,30 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.io.binary;
+
+import org.wmn4j.io.ScoreWriter;
+import org.wmn4j.notation.Score;
+
+/**
+ * Represents a writer for binary score files.
+ * <p>
+ * The binary score format is a compact, versioned snapshot of a {@link Score} that can be read back with a
+ * {@link BinaryScoreReader} considerably faster than the same score can be parsed from MusicXML. Pitches,
+ * durations, time signatures, key signatures, and clefs are stored once per file and referred to by index.
+ * The conventional file extension of binary scores is <code>.wmnb</code>.
+ * <p>
+ * Implementations of this interface are not guaranteed to be thread-safe.
+ */
+public interface BinaryScoreWriter extends ScoreWriter {
+
+	/**
+	 * Returns an instance of a writer for the given {@link Score}.
+	 *
+	 * @param score the score for which the writer is created
+	 * @return an instance of a writer for the given {@link Score}
+	 */
+	static BinaryScoreWriter writerFor(Score score) {
+		return new BinaryScoreWriterImpl(score);
+	}
+}
@@ -0,0 +1,48 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.io.binary;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wmn4j.notation.Score;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Writes a score into a binary score file.
+ */
+final class BinaryScoreWriterImpl implements BinaryScoreWriter {
+
+	private static final Logger LOG = LoggerFactory.getLogger(BinaryScoreWriterImpl.class);
+
+	private final Score score;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param score the score that is written
+	 */
+	BinaryScoreWriterImpl(Score score) {
+		this.score = Objects.requireNonNull(score);
+	}
+
+	@Override
+	public void write(Path path) {
+		try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(path))) {
+			new ScoreEncoder(score).encode(output);
+		} catch (final IOException ioe) {
+			LOG.error("Writing binary score failed:", ioe);
+		}
+	}
+
+	@Override
+	public void write(OutputStream output) throws IOException {
+		new ScoreEncoder(score).encode(output);
+	}
+}
@@ -0,0 +1,61 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.io.binary;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Table of distinct values in which each value is identified by the order in which it was first added.
+ *
+ * @param <T> the type of the values in the table
+ */
+final class InternTable<T> {
+
+	private final Function<T, ?> keyFunction;
+	private final Map<Object, Integer> indices = new HashMap<>();
+	private final List<T> values = new ArrayList<>();
+
+	/**
+	 * Constructor for a table in which values are considered the same if they are equal.
+	 */
+	InternTable() {
+		this(Function.identity());
+	}
+
+	/**
+	 * Constructor for a table in which values are considered the same if the keys returned for them by the given
+	 * function are equal.
+	 *
+	 * @param keyFunction the function that returns the key of a value
+	 */
+	InternTable(Function<T, ?> keyFunction) {
+		this.keyFunction = keyFunction;
+	}
+
+	/**
+	 * Returns the index of the given value, adding the value to this table if it is not yet in it.
+	 *
+	 * @param value the value whose index is returned
+	 * @return the index of the given value
+	 */
+	int indexOf(T value) {
+		return indices.computeIfAbsent(keyFunction.apply(value), key -> {
+			values.add(value);
+			return values.size() - 1;
+		});
+	}
+
+	/**
+	 * Returns the values in this table in the order of their indices.
+	 *
+	 * @return the values in this table in the order of their indices
+	 */
+	List<T> getValues() {
+		return values;
+	}
+}
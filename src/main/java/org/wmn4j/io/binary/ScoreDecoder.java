@@ -0,0 +1,348 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.io.binary;
+
+import org.wmn4j.io.ParsingFailureException;
+import org.wmn4j.notation.Articulation;
+import org.wmn4j.notation.Barline;
+import org.wmn4j.notation.ChordBuilder;
+import org.wmn4j.notation.Clef;
+import org.wmn4j.notation.ConnectableBuilder;
+import org.wmn4j.notation.Duration;
+import org.wmn4j.notation.DurationalBuilder;
+import org.wmn4j.notation.GraceNoteBuilder;
+import org.wmn4j.notation.GraceNoteChordBuilder;
+import org.wmn4j.notation.KeySignature;
+import org.wmn4j.notation.MeasureBuilder;
+import org.wmn4j.notation.Notation;
+import org.wmn4j.notation.NoteBuilder;
+import org.wmn4j.notation.Ornament;
+import org.wmn4j.notation.OrnamentalBuilder;
+import org.wmn4j.notation.Ornamental;
+import org.wmn4j.notation.Part;
+import org.wmn4j.notation.PartBuilder;
+import org.wmn4j.notation.Pitch;
+import org.wmn4j.notation.RestBuilder;
+import org.wmn4j.notation.Score;
+import org.wmn4j.notation.ScoreBuilder;
+import org.wmn4j.notation.TimeSignature;
+import org.wmn4j.notation.directions.Direction;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Decodes a score from the binary score format described in {@link BinaryFormat}.
+ * <p>
+ * A decoder holds the tables of the score that it decodes and is meant to be used only once.
+ */
+final class ScoreDecoder {
+
+	private final ByteBuffer buffer;
+
+	private final List<Pitch> pitches = new ArrayList<>();
+	private final List<Duration> durations = new ArrayList<>();
+	private final List<TimeSignature> timeSignatures = new ArrayList<>();
+	private final List<KeySignature> keySignatures = new ArrayList<>();
+	private final List<Clef> clefs = new ArrayList<>();
+	private final List<Notation> notations = new ArrayList<>();
+
+	// Builders of notes and grace notes in the order in which they are read, identified by their index in the list.
+	private final List<ConnectableBuilder> connectables = new ArrayList<>();
+
+	/**
+	 * Constructor. The position of the given buffer is not changed by decoding.
+	 *
+	 * @param buffer the buffer that contains the score from its position to its limit
+	 */
+	ScoreDecoder(ByteBuffer buffer) {
+		this.buffer = buffer.duplicate();
+	}
+
+	/**
+	 * Returns a score builder with the contents of the score in the buffer of this decoder.
+	 *
+	 * @return a score builder with the contents of the score in the buffer of this decoder
+	 * @throws ParsingFailureException if the buffer does not contain a valid binary score
+	 */
+	ScoreBuilder decode() throws ParsingFailureException {
+		try {
+			readHeader();
+			readTables();
+			final ScoreBuilder scoreBuilder = readScore();
+			readConnections();
+			return scoreBuilder;
+		} catch (RuntimeException e) {
+			throw new ParsingFailureException("Binary score is malformed: " + e);
+		}
+	}
+
+	private void readHeader() throws ParsingFailureException {
+		final byte[] magic = new byte[BinaryFormat.MAGIC.length];
+		if (buffer.remaining() < magic.length) {
+			throw new ParsingFailureException("Input is too short to be a binary score");
+		}
+
+		buffer.get(magic);
+		for (int i = 0; i < magic.length; ++i) {
+			if (magic[i] != BinaryFormat.MAGIC[i]) {
+				throw new ParsingFailureException("Input is not a binary score");
+			}
+		}
+
+		final int version = BinaryFormat.readVarInt(buffer);
+		if (version != BinaryFormat.VERSION) {
+			throw new ParsingFailureException("Unsupported binary score version " + version);
+		}
+	}
+
+	private void readTables() {
+		final int pitchCount = BinaryFormat.readVarInt(buffer);
+		for (int i = 0; i < pitchCount; ++i) {
+			final Pitch.Base base = Pitch.Base.values()[buffer.get()];
+			final Pitch.Accidental accidental = Pitch.Accidental.values()[buffer.get()];
+			pitches.add(Pitch.of(base, accidental, BinaryFormat.readVarInt(buffer)));
+		}
+
+		final int durationCount = BinaryFormat.readVarInt(buffer);
+		for (int i = 0; i < durationCount; ++i) {
+			final int numerator = BinaryFormat.readVarInt(buffer);
+			final int denominator = BinaryFormat.readVarInt(buffer);
+			final int dotCount = BinaryFormat.readVarInt(buffer);
+			durations.add(Duration.of(numerator, denominator, dotCount, BinaryFormat.readVarInt(buffer)));
+		}
+
+		final int timeSignatureCount = BinaryFormat.readVarInt(buffer);
+		for (int i = 0; i < timeSignatureCount; ++i) {
+			final int beatCount = BinaryFormat.readVarInt(buffer);
+			final Duration beatDuration = durations.get(BinaryFormat.readVarInt(buffer));
+			timeSignatures
+					.add(TimeSignature.of(beatCount, beatDuration, TimeSignature.Symbol.values()[buffer.get()]));
+		}
+
+		final int keySignatureCount = BinaryFormat.readVarInt(buffer);
+		for (int i = 0; i < keySignatureCount; ++i) {
+			final List<Pitch.Base> sharps = readBases();
+			keySignatures.add(KeySignature.of(sharps, readBases()));
+		}
+
+		final int clefCount = BinaryFormat.readVarInt(buffer);
+		for (int i = 0; i < clefCount; ++i) {
+			final Clef.Symbol symbol = Clef.Symbol.values()[buffer.get()];
+			clefs.add(Clef.of(symbol, BinaryFormat.readVarInt(buffer)));
+		}
+
+		final int notationCount = BinaryFormat.readVarInt(buffer);
+		for (int i = 0; i < notationCount; ++i) {
+			final Notation.Type type = Notation.Type.values()[buffer.get()];
+			notations.add(Notation.of(type, Notation.Style.values()[buffer.get()]));
+		}
+	}
+
+	private List<Pitch.Base> readBases() {
+		final int baseCount = BinaryFormat.readVarInt(buffer);
+		final List<Pitch.Base> bases = new ArrayList<>(baseCount);
+		for (int i = 0; i < baseCount; ++i) {
+			bases.add(Pitch.Base.values()[buffer.get()]);
+		}
+
+		return bases;
+	}
+
+	private ScoreBuilder readScore() {
+		final ScoreBuilder scoreBuilder = new ScoreBuilder();
+		readAttributes(Score.Attribute.class).forEach(scoreBuilder::setAttribute);
+
+		final int partCount = BinaryFormat.readVarInt(buffer);
+		for (int i = 0; i < partCount; ++i) {
+			scoreBuilder.addPart(readPart());
+		}
+
+		return scoreBuilder;
+	}
+
+	private <T extends Enum<T>> Map<T, String> readAttributes(Class<T> attributeType) {
+		final T[] attributes = attributeType.getEnumConstants();
+		final Map<T, String> values = new EnumMap<>(attributeType);
+
+		final int attributeCount = BinaryFormat.readVarInt(buffer);
+		for (int i = 0; i < attributeCount; ++i) {
+			final T attribute = attributes[buffer.get()];
+			values.put(attribute, BinaryFormat.readString(buffer));
+		}
+
+		return values;
+	}
+
+	private PartBuilder readPart() {
+		final Map<Part.Attribute, String> attributes = readAttributes(Part.Attribute.class);
+		final PartBuilder partBuilder = new PartBuilder(attributes.get(Part.Attribute.NAME));
+		attributes.forEach(partBuilder::setAttribute);
+
+		final int staffCount = BinaryFormat.readVarInt(buffer);
+		for (int i = 0; i < staffCount; ++i) {
+			final int staffNumber = BinaryFormat.readSignedVarInt(buffer);
+			final int measureCount = BinaryFormat.readVarInt(buffer);
+			for (int j = 0; j < measureCount; ++j) {
+				partBuilder.addToStaff(staffNumber, readMeasure());
+			}
+		}
+
+		return partBuilder;
+	}
+
+	private MeasureBuilder readMeasure() {
+		final MeasureBuilder measureBuilder = new MeasureBuilder(BinaryFormat.readVarInt(buffer));
+		measureBuilder.setTimeSignature(timeSignatures.get(BinaryFormat.readVarInt(buffer)));
+		measureBuilder.setKeySignature(keySignatures.get(BinaryFormat.readVarInt(buffer)));
+		measureBuilder.setClef(clefs.get(BinaryFormat.readVarInt(buffer)));
+		measureBuilder.setLeftBarline(Barline.values()[buffer.get()]);
+		measureBuilder.setRightBarline(Barline.values()[buffer.get()]);
+
+		final int clefChangeCount = BinaryFormat.readVarInt(buffer);
+		for (int i = 0; i < clefChangeCount; ++i) {
+			final Duration offset = readOffsetDuration();
+			measureBuilder.addClefChange(offset, clefs.get(BinaryFormat.readVarInt(buffer)));
+		}
+
+		final int directionCount = BinaryFormat.readVarInt(buffer);
+		for (int i = 0; i < directionCount; ++i) {
+			final Duration offset = readOffsetDuration();
+			final Direction.Type type = Direction.Type.values()[buffer.get()];
+			final String text = buffer.get() != 0 ? BinaryFormat.readString(buffer) : null;
+			measureBuilder.addDirection(offset, Direction.of(type, text));
+		}
+
+		final int voiceCount = BinaryFormat.readVarInt(buffer);
+		for (int i = 0; i < voiceCount; ++i) {
+			final int voiceNumber = BinaryFormat.readSignedVarInt(buffer);
+			final int voiceSize = BinaryFormat.readVarInt(buffer);
+			for (int j = 0; j < voiceSize; ++j) {
+				measureBuilder.addToVoice(voiceNumber, readDurational());
+			}
+		}
+
+		return measureBuilder;
+	}
+
+	private Duration readOffsetDuration() {
+		final int index = BinaryFormat.readIndex(buffer);
+		return index != BinaryFormat.NONE ? durations.get(index) : null;
+	}
+
+	private DurationalBuilder readDurational() {
+		final int tag = buffer.get();
+		switch (tag) {
+			case BinaryFormat.REST:
+				return new RestBuilder(durations.get(BinaryFormat.readVarInt(buffer)));
+			case BinaryFormat.NOTE:
+				return readNote();
+			case BinaryFormat.CHORD:
+				final int noteCount = BinaryFormat.readVarInt(buffer);
+				final List<NoteBuilder> noteBuilders = new ArrayList<>(noteCount);
+				for (int i = 0; i < noteCount; ++i) {
+					noteBuilders.add(readNote());
+				}
+
+				return new ChordBuilder(noteBuilders);
+			default:
+				throw new IllegalStateException("Unknown durational tag " + tag);
+		}
+	}
+
+	private NoteBuilder readNote() {
+		final Pitch pitch = pitches.get(BinaryFormat.readVarInt(buffer));
+		final NoteBuilder noteBuilder = new NoteBuilder(pitch, durations.get(BinaryFormat.readVarInt(buffer)));
+		connectables.add(noteBuilder);
+		noteBuilder.setArticulations(readArticulations());
+
+		final int ornamentCount = BinaryFormat.readVarInt(buffer);
+		for (int i = 0; i < ornamentCount; ++i) {
+			final Ornament.Type type = Ornament.Type.values()[buffer.get()];
+
+			if (type.equals(Ornament.Type.GRACE_NOTES)) {
+				noteBuilder.setPrecedingGraceNotes(readOrnamentals());
+			} else if (type.equals(Ornament.Type.SUCCEEDING_GRACE_NOTES)) {
+				noteBuilder.setSucceedingGraceNotes(readOrnamentals());
+			} else {
+				noteBuilder.addOrnament(Ornament.of(type));
+			}
+		}
+
+		return noteBuilder;
+	}
+
+	private List<OrnamentalBuilder> readOrnamentals() {
+		final int ornamentalCount = BinaryFormat.readVarInt(buffer);
+		final List<OrnamentalBuilder> ornamentals = new ArrayList<>(ornamentalCount);
+
+		for (int i = 0; i < ornamentalCount; ++i) {
+			final int tag = buffer.get();
+			if (tag == BinaryFormat.GRACE_NOTE) {
+				ornamentals.add(readGraceNote());
+			} else if (tag == BinaryFormat.GRACE_NOTE_CHORD) {
+				final GraceNoteChordBuilder chordBuilder = new GraceNoteChordBuilder();
+				final int noteCount = BinaryFormat.readVarInt(buffer);
+				for (int j = 0; j < noteCount; ++j) {
+					chordBuilder.add(readGraceNote());
+				}
+
+				ornamentals.add(chordBuilder);
+			} else {
+				throw new IllegalStateException("Unknown ornamental tag " + tag);
+			}
+		}
+
+		return ornamentals;
+	}
+
+	private GraceNoteBuilder readGraceNote() {
+		final Pitch pitch = pitches.get(BinaryFormat.readVarInt(buffer));
+		final GraceNoteBuilder graceNoteBuilder = new GraceNoteBuilder(pitch,
+				durations.get(BinaryFormat.readVarInt(buffer)));
+		connectables.add(graceNoteBuilder);
+		graceNoteBuilder.setGraceNoteType(Ornamental.Type.values()[buffer.get()]);
+		graceNoteBuilder.setArticulations(readArticulations());
+
+		final int ornamentCount = BinaryFormat.readVarInt(buffer);
+		for (int i = 0; i < ornamentCount; ++i) {
+			graceNoteBuilder.addOrnament(Ornament.of(Ornament.Type.values()[buffer.get()]));
+		}
+
+		return graceNoteBuilder;
+	}
+
+	private Set<Articulation> readArticulations() {
+		final int articulationBits = BinaryFormat.readVarInt(buffer);
+		final Set<Articulation> articulations = EnumSet.noneOf(Articulation.class);
+
+		for (Articulation articulation : Articulation.values()) {
+			if ((articulationBits & (1 << articulation.ordinal())) != 0) {
+				articulations.add(articulation);
+			}
+		}
+
+		return articulations;
+	}
+
+	private void readConnections() {
+		final int connectionCount = BinaryFormat.readVarInt(buffer);
+		for (int i = 0; i < connectionCount; ++i) {
+			final ConnectableBuilder source = connectables.get(BinaryFormat.readVarInt(buffer));
+			final Notation notation = notations.get(BinaryFormat.readVarInt(buffer));
+			final ConnectableBuilder target = connectables.get(BinaryFormat.readVarInt(buffer));
+
+			if (target instanceof NoteBuilder) {
+				source.connectWith(notation, (NoteBuilder) target);
+			} else {
+				source.connectWith(notation, (GraceNoteBuilder) target);
+			}
+		}
+	}
+}
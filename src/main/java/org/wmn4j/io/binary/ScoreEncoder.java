@@ -0,0 +1,441 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.io.binary;
+
+import org.wmn4j.notation.Articulation;
+import org.wmn4j.notation.Chord;
+import org.wmn4j.notation.Clef;
+import org.wmn4j.notation.Duration;
+import org.wmn4j.notation.Durational;
+import org.wmn4j.notation.GraceNote;
+import org.wmn4j.notation.GraceNoteChord;
+import org.wmn4j.notation.KeySignature;
+import org.wmn4j.notation.Measure;
+import org.wmn4j.notation.MultiStaffPart;
+import org.wmn4j.notation.Notation;
+import org.wmn4j.notation.Note;
+import org.wmn4j.notation.Ornament;
+import org.wmn4j.notation.Ornamental;
+import org.wmn4j.notation.Part;
+import org.wmn4j.notation.Pitch;
+import org.wmn4j.notation.Rest;
+import org.wmn4j.notation.Score;
+import org.wmn4j.notation.SingleStaffPart;
+import org.wmn4j.notation.Staff;
+import org.wmn4j.notation.TimeSignature;
+import org.wmn4j.notation.access.Offset;
+import org.wmn4j.notation.directions.Direction;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Encodes a score into the binary score format described in {@link BinaryFormat}.
+ * <p>
+ * An encoder holds the tables of the score that it encodes and is meant to be used only once.
+ */
+final class ScoreEncoder {
+
+	private final Score score;
+
+	private final InternTable<Pitch> pitches = new InternTable<>();
+	private final InternTable<Duration> durations = new InternTable<>(
+			duration -> Arrays.asList(duration.getNumerator(), duration.getDenominator(), duration.getDotCount(),
+					duration.getTupletDivisor()));
+	private final InternTable<TimeSignature> timeSignatures = new InternTable<>();
+	private final InternTable<KeySignature> keySignatures = new InternTable<>();
+	private final InternTable<Clef> clefs = new InternTable<>();
+	private final InternTable<Notation> notations = new InternTable<>();
+
+	// Notes and grace notes in the order in which they are written, identified by their index in the list.
+	private final List<Notation.Connectable> connectables = new ArrayList<>();
+	private final Map<Notation.Connectable, Integer> connectableIds = new IdentityHashMap<>();
+
+	// Ids of the last preceding grace notes of notes by the ids of the notes.
+	private final Map<Integer, Integer> lastGraceNoteIds = new TreeMap<>();
+
+	/**
+	 * Constructor.
+	 *
+	 * @param score the score that is encoded
+	 */
+	ScoreEncoder(Score score) {
+		this.score = score;
+	}
+
+	/**
+	 * Encodes the score of this encoder into the given stream. The stream is not closed.
+	 *
+	 * @param output the stream into which the score is encoded
+	 * @throws IOException if writing into the stream fails
+	 */
+	void encode(OutputStream output) throws IOException {
+		// The contents are encoded first so that the tables are complete when they are written.
+		final ByteArrayOutputStream contentBytes = new ByteArrayOutputStream();
+		final DataOutputStream contents = new DataOutputStream(contentBytes);
+		writeScore(contents);
+		writeConnections(contents);
+		contents.flush();
+
+		final DataOutputStream dataOutput = new DataOutputStream(output);
+		dataOutput.write(BinaryFormat.MAGIC);
+		BinaryFormat.writeVarInt(dataOutput, BinaryFormat.VERSION);
+		writeTables(dataOutput);
+		contentBytes.writeTo(dataOutput);
+		dataOutput.flush();
+	}
+
+	private void writeTables(DataOutput output) throws IOException {
+		BinaryFormat.writeVarInt(output, pitches.getValues().size());
+		for (Pitch pitch : pitches.getValues()) {
+			output.writeByte(pitch.getBase().ordinal());
+			output.writeByte(pitch.getAccidental().ordinal());
+			BinaryFormat.writeVarInt(output, pitch.getOctave());
+		}
+
+		// Durations of time signatures must be in the table before it is written.
+		timeSignatures.getValues().forEach(timeSignature -> durations.indexOf(timeSignature.getBeatDuration()));
+
+		BinaryFormat.writeVarInt(output, durations.getValues().size());
+		for (Duration duration : durations.getValues()) {
+			BinaryFormat.writeVarInt(output, duration.getNumerator());
+			BinaryFormat.writeVarInt(output, duration.getDenominator());
+			BinaryFormat.writeVarInt(output, duration.getDotCount());
+			BinaryFormat.writeVarInt(output, duration.getTupletDivisor());
+		}
+
+		BinaryFormat.writeVarInt(output, timeSignatures.getValues().size());
+		for (TimeSignature timeSignature : timeSignatures.getValues()) {
+			BinaryFormat.writeVarInt(output, timeSignature.getBeatCount());
+			BinaryFormat.writeVarInt(output, durations.indexOf(timeSignature.getBeatDuration()));
+			output.writeByte(timeSignature.getSymbol().ordinal());
+		}
+
+		BinaryFormat.writeVarInt(output, keySignatures.getValues().size());
+		for (KeySignature keySignature : keySignatures.getValues()) {
+			writeBases(output, keySignature.getSharps());
+			writeBases(output, keySignature.getFlats());
+		}
+
+		BinaryFormat.writeVarInt(output, clefs.getValues().size());
+		for (Clef clef : clefs.getValues()) {
+			output.writeByte(clef.getSymbol().ordinal());
+			BinaryFormat.writeVarInt(output, clef.getLine());
+		}
+
+		BinaryFormat.writeVarInt(output, notations.getValues().size());
+		for (Notation notation : notations.getValues()) {
+			output.writeByte(notation.getType().ordinal());
+			output.writeByte(notation.getStyle().ordinal());
+		}
+	}
+
+	private void writeBases(DataOutput output, List<Pitch.Base> bases) throws IOException {
+		BinaryFormat.writeVarInt(output, bases.size());
+		for (Pitch.Base base : bases) {
+			output.writeByte(base.ordinal());
+		}
+	}
+
+	private void writeScore(DataOutput output) throws IOException {
+		writeAttributes(output, Score.Attribute.values(), score::getAttribute);
+
+		BinaryFormat.writeVarInt(output, score.getPartCount());
+		for (Part part : score) {
+			writePart(output, part);
+		}
+	}
+
+	private <T extends Enum<T>> void writeAttributes(DataOutput output, T[] attributes,
+			Function<T, Optional<String>> getter) throws IOException {
+		final List<T> presentAttributes = new ArrayList<>();
+		for (T attribute : attributes) {
+			if (getter.apply(attribute).isPresent()) {
+				presentAttributes.add(attribute);
+			}
+		}
+
+		BinaryFormat.writeVarInt(output, presentAttributes.size());
+		for (T attribute : presentAttributes) {
+			output.writeByte(attribute.ordinal());
+			BinaryFormat.writeString(output, getter.apply(attribute).get());
+		}
+	}
+
+	private void writePart(DataOutput output, Part part) throws IOException {
+		writeAttributes(output, Part.Attribute.values(), part::getAttribute);
+
+		BinaryFormat.writeVarInt(output, part.getStaffCount());
+		for (int staffNumber : part.getStaffNumbers()) {
+			final Staff staff = part.isMultiStaff()
+					? ((MultiStaffPart) part).getStaff(staffNumber)
+					: ((SingleStaffPart) part).getStaff();
+
+			BinaryFormat.writeSignedVarInt(output, staffNumber);
+			BinaryFormat.writeVarInt(output, staff.getMeasureCount());
+			for (Measure measure : staff) {
+				writeMeasure(output, measure);
+			}
+		}
+	}
+
+	private void writeMeasure(DataOutput output, Measure measure) throws IOException {
+		BinaryFormat.writeVarInt(output, measure.getNumber());
+		BinaryFormat.writeVarInt(output, timeSignatures.indexOf(measure.getTimeSignature()));
+		BinaryFormat.writeVarInt(output, keySignatures.indexOf(measure.getKeySignature()));
+		BinaryFormat.writeVarInt(output, clefs.indexOf(measure.getClef()));
+		output.writeByte(measure.getLeftBarline().ordinal());
+		output.writeByte(measure.getRightBarline().ordinal());
+
+		final List<Offset<Clef>> clefChanges = measure.getClefChanges();
+		BinaryFormat.writeVarInt(output, clefChanges.size());
+		for (Offset<Clef> clefChange : clefChanges) {
+			writeOffsetDuration(output, clefChange);
+			BinaryFormat.writeVarInt(output, clefs.indexOf(clefChange.get()));
+		}
+
+		final List<Offset<Direction>> directions = measure.getDirections();
+		BinaryFormat.writeVarInt(output, directions.size());
+		for (Offset<Direction> direction : directions) {
+			writeOffsetDuration(output, direction);
+			output.writeByte(direction.get().getType().ordinal());
+			final Optional<String> text = direction.get().getText();
+			output.writeBoolean(text.isPresent());
+			if (text.isPresent()) {
+				BinaryFormat.writeString(output, text.get());
+			}
+		}
+
+		BinaryFormat.writeVarInt(output, measure.getVoiceCount());
+		for (int voiceNumber : measure.getVoiceNumbers()) {
+			final int voiceSize = measure.getVoiceSize(voiceNumber);
+			BinaryFormat.writeSignedVarInt(output, voiceNumber);
+			BinaryFormat.writeVarInt(output, voiceSize);
+
+			for (int i = 0; i < voiceSize; ++i) {
+				writeDurational(output, measure.get(voiceNumber, i));
+			}
+		}
+	}
+
+	private void writeOffsetDuration(DataOutput output, Offset<?> offset) throws IOException {
+		final Optional<Duration> duration = offset.getDuration();
+		BinaryFormat.writeIndex(output, duration.isPresent() ? durations.indexOf(duration.get()) : BinaryFormat.NONE);
+	}
+
+	private void writeDurational(DataOutput output, Durational durational) throws IOException {
+		if (durational instanceof Note) {
+			output.writeByte(BinaryFormat.NOTE);
+			writeNote(output, (Note) durational);
+		} else if (durational instanceof Chord) {
+			final Chord chord = (Chord) durational;
+			output.writeByte(BinaryFormat.CHORD);
+			BinaryFormat.writeVarInt(output, chord.getNoteCount());
+			for (Note note : chord) {
+				writeNote(output, note);
+			}
+		} else if (durational instanceof Rest) {
+			output.writeByte(BinaryFormat.REST);
+			BinaryFormat.writeVarInt(output, durations.indexOf(durational.getDuration()));
+		} else {
+			throw new IllegalArgumentException("Cannot write durational of type " + durational.getClass());
+		}
+	}
+
+	private void writeNote(DataOutput output, Note note) throws IOException {
+		final int noteId = connectables.size();
+		addConnectable(note);
+		BinaryFormat.writeVarInt(output, pitches.indexOf(note.getPitch()));
+		BinaryFormat.writeVarInt(output, durations.indexOf(note.getDuration()));
+		writeArticulations(output, note.getArticulations());
+		writeOrnaments(output, note.getOrnaments());
+
+		for (Ornament ornament : note.getOrnaments()) {
+			if (ornament.getType().equals(Ornament.Type.GRACE_NOTES)) {
+				final List<Ornamental> graceNotes = ornament.getOrnamentalNotes();
+				final Ornamental lastGraceNote = graceNotes.get(graceNotes.size() - 1);
+				lastGraceNoteIds.put(noteId, connectableIds.get(lastGraceNote instanceof GraceNoteChord
+						? ((GraceNoteChord) lastGraceNote).getNote(0)
+						: lastGraceNote));
+			}
+		}
+	}
+
+	private void writeGraceNote(DataOutput output, GraceNote graceNote) throws IOException {
+		if (graceNote.getOrnaments().stream().anyMatch(ScoreEncoder::isGraceNoteOrnament)) {
+			throw new IllegalArgumentException("Cannot write grace notes that have grace notes");
+		}
+
+		addConnectable(graceNote);
+		BinaryFormat.writeVarInt(output, pitches.indexOf(graceNote.getPitch()));
+		BinaryFormat.writeVarInt(output, durations.indexOf(graceNote.getDisplayableDuration()));
+		output.writeByte(graceNote.getType().ordinal());
+		writeArticulations(output, graceNote.getArticulations());
+		writeOrnaments(output, graceNote.getOrnaments());
+	}
+
+	private void addConnectable(Notation.Connectable connectable) {
+		connectableIds.put(connectable, connectables.size());
+		connectables.add(connectable);
+	}
+
+	private void writeArticulations(DataOutput output, Set<Articulation> articulations) throws IOException {
+		int articulationBits = 0;
+		for (Articulation articulation : articulations) {
+			articulationBits |= 1 << articulation.ordinal();
+		}
+
+		BinaryFormat.writeVarInt(output, articulationBits);
+	}
+
+	private void writeOrnaments(DataOutput output, Collection<Ornament> ornaments) throws IOException {
+		BinaryFormat.writeVarInt(output, ornaments.size());
+		for (Ornament ornament : ornaments) {
+			output.writeByte(ornament.getType().ordinal());
+
+			if (isGraceNoteOrnament(ornament)) {
+				final List<Ornamental> ornamentalNotes = ornament.getOrnamentalNotes();
+				BinaryFormat.writeVarInt(output, ornamentalNotes.size());
+				for (Ornamental ornamental : ornamentalNotes) {
+					writeOrnamental(output, ornamental);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns true if the given ornament consists of grace notes.
+	 */
+	private static boolean isGraceNoteOrnament(Ornament ornament) {
+		return ornament.getType().equals(Ornament.Type.GRACE_NOTES)
+				|| ornament.getType().equals(Ornament.Type.SUCCEEDING_GRACE_NOTES);
+	}
+
+	private void writeOrnamental(DataOutput output, Ornamental ornamental) throws IOException {
+		if (ornamental instanceof GraceNote) {
+			output.writeByte(BinaryFormat.GRACE_NOTE);
+			writeGraceNote(output, (GraceNote) ornamental);
+		} else if (ornamental instanceof GraceNoteChord) {
+			final GraceNoteChord chord = (GraceNoteChord) ornamental;
+			output.writeByte(BinaryFormat.GRACE_NOTE_CHORD);
+			BinaryFormat.writeVarInt(output, chord.getNoteCount());
+			for (GraceNote graceNote : chord) {
+				writeGraceNote(output, graceNote);
+			}
+		} else {
+			throw new IllegalArgumentException("Cannot write ornamental of type " + ornamental.getClass());
+		}
+	}
+
+	/**
+	 * Write the connections through notations from each note and grace note to the following one. The ends of
+	 * notations are not written because they follow from the connections.
+	 */
+	private void writeConnections(DataOutput output) throws IOException {
+		final List<int[]> connections = new ArrayList<>();
+		final Set<List<Object>> connectedTargets = new HashSet<>();
+
+		for (int sourceId = 0; sourceId < connectables.size(); ++sourceId) {
+			final Notation.Connectable source = connectables.get(sourceId);
+
+			// Sort the connections so that the same score is always written identically.
+			final List<Notation.Connection> sourceConnections = new ArrayList<>();
+			for (Notation notation : getNotations(source)) {
+				source.getConnection(notation).filter(connection -> !connection.isEnd())
+						.ifPresent(sourceConnections::add);
+			}
+			sourceConnections.sort(Comparator.comparing((Notation.Connection connection) -> connection.getType())
+					.thenComparing(connection -> connection.getNotation().getStyle()));
+
+			for (Notation.Connection connection : sourceConnections) {
+				final int targetId = findTargetId(sourceId, connection);
+				if (targetId != BinaryFormat.NONE) {
+					connections.add(new int[] {sourceId, notations.indexOf(connection.getNotation()), targetId});
+					connectedTargets.add(Arrays.asList(targetId, connection.getNotation()));
+				}
+			}
+		}
+
+		// The connection from the last preceding grace note to its principal note is only visible through the
+		// principal note, which the notation does not begin from.
+		for (Map.Entry<Integer, Integer> lastGraceNoteId : lastGraceNoteIds.entrySet()) {
+			final int noteId = lastGraceNoteId.getKey();
+			final Note note = (Note) connectables.get(noteId);
+
+			for (Notation notation : note.getNotations()) {
+				final boolean isBeginning = note.getConnection(notation).map(Notation.Connection::isBeginning)
+						.orElse(true);
+				if (!isBeginning && !connectedTargets.contains(Arrays.asList(noteId, notation))) {
+					connections.add(new int[] {lastGraceNoteId.getValue(), notations.indexOf(notation), noteId});
+				}
+			}
+		}
+
+		BinaryFormat.writeVarInt(output, connections.size());
+		for (int[] connection : connections) {
+			for (int value : connection) {
+				BinaryFormat.writeVarInt(output, value);
+			}
+		}
+	}
+
+	private static Set<Notation> getNotations(Notation.Connectable connectable) {
+		if (connectable instanceof Note) {
+			return ((Note) connectable).getNotations();
+		}
+
+		return ((GraceNote) connectable).getNotations();
+	}
+
+	private int findTargetId(int sourceId, Notation.Connection connection) {
+		final Notation.Connectable target = connection.getFollowingNote().isPresent()
+				? connection.getFollowingNote().get()
+				: connection.getFollowingGraceNote().orElse(null);
+
+		if (target == null) {
+			return BinaryFormat.NONE;
+		}
+
+		final Integer targetId = connectableIds.get(target);
+		if (targetId != null) {
+			return targetId;
+		}
+
+		// Copies of notes may be referred to instead of the instances in the score. In that case the target is the
+		// nearest equal element that is affected by the same notation, searching forward first.
+		for (int id = sourceId + 1; id < connectables.size(); ++id) {
+			if (isCopyOfTarget(connectables.get(id), target, connection.getNotation())) {
+				return id;
+			}
+		}
+
+		for (int id = sourceId - 1; id >= 0; --id) {
+			if (isCopyOfTarget(connectables.get(id), target, connection.getNotation())) {
+				return id;
+			}
+		}
+
+		return BinaryFormat.NONE;
+	}
+
+	private static boolean isCopyOfTarget(Notation.Connectable candidate, Notation.Connectable target,
+			Notation notation) {
+		return candidate.equals(target) && candidate.getConnection(notation).isPresent();
+	}
+}
@@ -0,0 +1,242 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.io.binary;
+
+import org.wmn4j.io.ParsingFailureException;
+import org.wmn4j.notation.Score;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Represents a score pack file that holds many scores, written with a {@link ScorePackWriter}, and gives random
+ * access to the scores by their ids.
+ * <p>
+ * The pack file is memory mapped when it is opened, and only the index of the pack is read at that point. A score
+ * is decoded directly from the mapped file when it is requested, without reading or copying the other scores in
+ * the pack.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class ScorePack implements Closeable {
+
+	// The largest region that can be mapped into a single buffer.
+	private static final long MAX_SEGMENT_SIZE = Integer.MAX_VALUE;
+
+	private static final String MALFORMED_INDEX_MESSAGE = "Score pack index is malformed";
+
+	private final FileChannel channel;
+	private final List<ByteBuffer> segments;
+	private final List<String> ids;
+	private final Map<String, Entry> entries;
+	private volatile boolean closed;
+
+	/**
+	 * The location of a score in the mapped segments of the pack.
+	 */
+	private static final class Entry {
+		private final int segment;
+		private final int position;
+		private final int length;
+
+		Entry(int segment, int position, int length) {
+			this.segment = segment;
+			this.position = position;
+			this.length = length;
+		}
+	}
+
+	private ScorePack(FileChannel channel, List<ByteBuffer> segments, List<String> ids, Map<String, Entry> entries) {
+		this.channel = channel;
+		this.segments = segments;
+		this.ids = Collections.unmodifiableList(ids);
+		this.entries = entries;
+	}
+
+	/**
+	 * Opens the score pack file at the given path.
+	 *
+	 * @param path the path of the score pack file
+	 * @return the score pack in the file at the given path
+	 * @throws IOException             if the file cannot be opened or mapped
+	 * @throws ParsingFailureException if the file is not a valid score pack
+	 */
+	public static ScorePack open(Path path) throws IOException, ParsingFailureException {
+		return open(path, MAX_SEGMENT_SIZE);
+	}
+
+	/**
+	 * Opens the score pack file at the given path mapping it in segments of at most the given size.
+	 */
+	static ScorePack open(Path path, long maxSegmentSize) throws IOException, ParsingFailureException {
+		final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+
+		try {
+			return open(channel, maxSegmentSize);
+		} catch (IOException | ParsingFailureException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	private static ScorePack open(FileChannel channel, long maxSegmentSize)
+			throws IOException, ParsingFailureException {
+		final long size = channel.size();
+		if (size < BinaryFormat.PACK_HEADER_LENGTH + BinaryFormat.PACK_FOOTER_LENGTH) {
+			throw new ParsingFailureException("File is too short to be a score pack");
+		}
+
+		final ByteBuffer header = readFully(channel, 0, BinaryFormat.PACK_HEADER_LENGTH);
+		final byte[] magic = new byte[BinaryFormat.PACK_MAGIC.length];
+		header.get(magic);
+		if (!Arrays.equals(magic, BinaryFormat.PACK_MAGIC)) {
+			throw new ParsingFailureException("File is not a score pack");
+		}
+
+		final int version = header.getInt();
+		if (version != BinaryFormat.PACK_VERSION) {
+			throw new ParsingFailureException("Unsupported score pack version " + version);
+		}
+
+		final long indexEnd = size - BinaryFormat.PACK_FOOTER_LENGTH;
+		final long indexOffset = readFully(channel, indexEnd, BinaryFormat.PACK_FOOTER_LENGTH).getLong();
+		if (indexOffset < BinaryFormat.PACK_HEADER_LENGTH || indexOffset > indexEnd
+				|| indexEnd - indexOffset > MAX_SEGMENT_SIZE) {
+			throw new ParsingFailureException(MALFORMED_INDEX_MESSAGE);
+		}
+
+		final MappedByteBuffer index = channel.map(FileChannel.MapMode.READ_ONLY, indexOffset, indexEnd - indexOffset);
+		final List<String> ids = new ArrayList<>();
+		final List<ByteBuffer> segments = new ArrayList<>();
+		final Map<String, Entry> entries = new HashMap<>();
+
+		try {
+			final int scoreCount = BinaryFormat.readVarInt(index);
+			long segmentStart = BinaryFormat.PACK_HEADER_LENGTH;
+			long segmentEnd = segmentStart;
+
+			for (int i = 0; i < scoreCount; ++i) {
+				final String id = BinaryFormat.readString(index);
+				final long offset = index.getLong();
+				final int length = BinaryFormat.readVarInt(index);
+
+				if (offset < segmentEnd || offset + length > indexOffset || length > maxSegmentSize) {
+					throw new ParsingFailureException(MALFORMED_INDEX_MESSAGE);
+				}
+
+				// Scores are mapped in as few segments as possible so that no score spans two segments.
+				if (offset + length - segmentStart > maxSegmentSize) {
+					segments.add(channel.map(FileChannel.MapMode.READ_ONLY, segmentStart, segmentEnd - segmentStart));
+					segmentStart = offset;
+				}
+
+				segmentEnd = offset + length;
+				ids.add(id);
+				if (entries.put(id, new Entry(segments.size(), (int) (offset - segmentStart), length)) != null) {
+					throw new ParsingFailureException("Score pack contains more than one score with id " + id);
+				}
+			}
+
+			segments.add(channel.map(FileChannel.MapMode.READ_ONLY, segmentStart, segmentEnd - segmentStart));
+		} catch (BufferUnderflowException | IllegalStateException e) {
+			throw new ParsingFailureException(MALFORMED_INDEX_MESSAGE);
+		}
+
+		return new ScorePack(channel, segments, ids, entries);
+	}
+
+	private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+		final ByteBuffer buffer = ByteBuffer.allocate(length);
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) < 0) {
+				throw new IOException("Unexpected end of file");
+			}
+		}
+
+		buffer.flip();
+		return buffer;
+	}
+
+	/**
+	 * Returns the ids of the scores in this pack in the order in which the scores were added.
+	 *
+	 * @return the ids of the scores in this pack in the order in which the scores were added
+	 */
+	public List<String> getIds() {
+		return ids;
+	}
+
+	/**
+	 * Returns the number of scores in this pack.
+	 *
+	 * @return the number of scores in this pack
+	 */
+	public int size() {
+		return ids.size();
+	}
+
+	/**
+	 * Returns true if this pack contains a score with the given id.
+	 *
+	 * @param id the id of the score
+	 * @return true if this pack contains a score with the given id
+	 */
+	public boolean contains(String id) {
+		return entries.containsKey(id);
+	}
+
+	/**
+	 * Returns the score with the given id. Only the requested score is decoded.
+	 *
+	 * @param id the id of the score
+	 * @return the score with the given id
+	 * @throws NoSuchElementException  if this pack does not contain a score with the given id
+	 * @throws ParsingFailureException if the score cannot be decoded
+	 */
+	public Score getScore(String id) throws NoSuchElementException, ParsingFailureException {
+		if (closed) {
+			throw new IllegalStateException("Score pack is closed");
+		}
+
+		final Entry entry = entries.get(id);
+		if (entry == null) {
+			throw new NoSuchElementException("No score with id " + id + " in pack");
+		}
+
+		final ByteBuffer score = segments.get(entry.segment).duplicate();
+		score.limit(entry.position + entry.length);
+		score.position(entry.position);
+
+		return new ScoreDecoder(score).decode().build();
+	}
+
+	/**
+	 * Closes the file of this pack. Scores cannot be read from the pack after it has been closed.
+	 *
+	 * @throws IOException if closing the file fails
+	 */
+	@Override
+	public void close() throws IOException {
+		closed = true;
+		channel.close();
+	}
+
+	@Override
+	public String toString() {
+		return "ScorePack: " + ids.size() + " scores";
+	}
+}
@@ -0,0 +1,116 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.io.binary;
+
+import org.wmn4j.notation.Score;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Writes many scores into a single score pack file that can be opened with {@link ScorePack#open(Path)}.
+ * <p>
+ * The scores are written into the file as they are added, so only the score that is being added is held in memory.
+ * The index of the pack is written when the writer is closed. A pack file is not complete until the writer that
+ * writes it has been closed.
+ * <p>
+ * This class is not thread-safe.
+ */
+public final class ScorePackWriter implements Closeable {
+
+	private final DataOutputStream output;
+	private final ByteArrayOutputStream scoreBytes = new ByteArrayOutputStream();
+	private final List<String> ids = new ArrayList<>();
+	private final List<Long> offsets = new ArrayList<>();
+	private final List<Integer> lengths = new ArrayList<>();
+	private final Set<String> idSet = new HashSet<>();
+	private long position;
+	private boolean closed;
+
+	private ScorePackWriter(DataOutputStream output) throws IOException {
+		this.output = output;
+		output.write(BinaryFormat.PACK_MAGIC);
+		output.writeInt(BinaryFormat.PACK_VERSION);
+		this.position = BinaryFormat.PACK_HEADER_LENGTH;
+	}
+
+	/**
+	 * Returns a writer that writes a score pack into the file at the given path. An existing file at the path is
+	 * replaced.
+	 *
+	 * @param path the path of the pack file that is written
+	 * @return a writer that writes a score pack into the file at the given path
+	 * @throws IOException if the file cannot be created
+	 */
+	public static ScorePackWriter create(Path path) throws IOException {
+		return new ScorePackWriter(new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path))));
+	}
+
+	/**
+	 * Adds the given score into the pack with the given id.
+	 *
+	 * @param id    the id by which the score is read from the pack
+	 * @param score the score that is added
+	 * @throws IOException if writing the score fails
+	 */
+	public void add(String id, Score score) throws IOException {
+		Objects.requireNonNull(id);
+		Objects.requireNonNull(score);
+
+		if (closed) {
+			throw new IllegalStateException("Cannot add scores to a closed pack writer");
+		}
+
+		if (idSet.contains(id)) {
+			throw new IllegalArgumentException("Pack already contains a score with id " + id);
+		}
+
+		scoreBytes.reset();
+		new ScoreEncoder(score).encode(scoreBytes);
+		scoreBytes.writeTo(output);
+
+		idSet.add(id);
+		ids.add(id);
+		offsets.add(position);
+		lengths.add(scoreBytes.size());
+		position += scoreBytes.size();
+	}
+
+	/**
+	 * Writes the index of the pack and closes the file.
+	 *
+	 * @throws IOException if writing the index or closing the file fails
+	 */
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+
+		closed = true;
+		try {
+			final long indexOffset = position;
+			BinaryFormat.writeVarInt(output, ids.size());
+			for (int i = 0; i < ids.size(); ++i) {
+				BinaryFormat.writeString(output, ids.get(i));
+				output.writeLong(offsets.get(i));
+				BinaryFormat.writeVarInt(output, lengths.get(i));
+			}
+
+			output.writeLong(indexOffset);
+		} finally {
+			output.close();
+		}
+	}
+}
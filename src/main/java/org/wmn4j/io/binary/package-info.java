@@ -0,0 +1,13 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+
+/**
+ * Contains input and output operations for the binary score format.
+ * The {@link org.wmn4j.io.binary.BinaryScoreWriter} objects can be used for writing
+ * {@link org.wmn4j.notation.Score} objects into compact binary files and the
+ * {@link org.wmn4j.io.binary.BinaryScoreReader} objects can be used for reading them back
+ * considerably faster than scores can be parsed from MusicXML. Large corpora can be stored in a single
+ * {@link org.wmn4j.io.binary.ScorePack} file written with a {@link org.wmn4j.io.binary.ScorePackWriter}.
+ */
+package org.wmn4j.io.binary;
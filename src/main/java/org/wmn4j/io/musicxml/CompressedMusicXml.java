@@ -0,0 +1,298 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.io.musicxml;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+import org.wmn4j.io.ParsingFailureException;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Enumeration;
+import java.util.Optional;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Helper methods for handling compressed MusicXML (.mxl) files.
+ * <p>
+ * A compressed MusicXML file is a zip archive that contains a <code>META-INF/container.xml</code> file
+ * that defines which file in the archive is the MusicXML root file.
+ */
+final class CompressedMusicXml {
+
+	/**
+	 * The file extension of compressed MusicXML files.
+	 */
+	static final String FILE_EXTENSION = ".mxl";
+
+	private static final String MIMETYPE_ENTRY = "mimetype";
+	private static final String MIMETYPE = "application/vnd.recordare.musicxml";
+	private static final String CONTAINER_ENTRY = "META-INF/container.xml";
+	private static final String ROOTFILE_MEDIA_TYPE = "application/vnd.recordare.musicxml+xml";
+	private static final String META_INF_DIRECTORY = "META-INF/";
+	private static final String UNCOMPRESSED_FILE_EXTENSION = ".xml";
+
+	private static final String CONTAINER_TEMPLATE = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+			+ "<container>\n"
+			+ "  <rootfiles>\n"
+			+ "    <rootfile full-path=\"%s\" media-type=\"%s\"/>\n"
+			+ "  </rootfiles>\n"
+			+ "</container>\n";
+
+	private static final byte[] ZIP_SIGNATURE = {'P', 'K', 3, 4};
+
+	/**
+	 * Returns true if the given path has the file extension of compressed MusicXML files.
+	 *
+	 * @param path the path that is checked
+	 * @return true if the given path has the file extension of compressed MusicXML files
+	 */
+	static boolean hasCompressedFileExtension(Path path) {
+		final Path fileName = path.getFileName();
+		return fileName != null && fileName.toString().toLowerCase().endsWith(FILE_EXTENSION);
+	}
+
+	/**
+	 * Returns an input stream to the MusicXML contents of the file at the given path. If the file is compressed, the
+	 * stream reads the root file directly from the archive without extracting it.
+	 *
+	 * @param path the path of the MusicXML file
+	 * @return an input stream to the MusicXML contents of the file at the given path
+	 * @throws IOException             if reading the file fails
+	 * @throws ParsingFailureException if the file is compressed but the archive does not contain a MusicXML file
+	 */
+	static InputStream open(Path path) throws IOException, ParsingFailureException {
+		if (isZipArchive(path)) {
+			return openRootFile(path);
+		}
+
+		return new BufferedInputStream(Files.newInputStream(path));
+	}
+
+	/**
+	 * Returns an input stream to the MusicXML contents of the given stream. If the contents of the stream are
+	 * compressed, the returned stream reads the root file of the archive as the archive is read.
+	 * <p>
+	 * Because the archive can only be read sequentially, the root file is located using
+	 * <code>META-INF/container.xml</code> only if the container precedes the root file in the archive, which is
+	 * the case for archives created following the MusicXML specification. Otherwise the first file outside
+	 * META-INF is read.
+	 *
+	 * @param input the stream with MusicXML contents
+	 * @return an input stream to the MusicXML contents of the given stream
+	 * @throws IOException             if reading the stream fails
+	 * @throws ParsingFailureException if the contents are compressed but the archive does not contain a MusicXML file
+	 */
+	static InputStream open(InputStream input) throws IOException, ParsingFailureException {
+		final InputStream bufferedInput = new BufferedInputStream(input);
+
+		bufferedInput.mark(ZIP_SIGNATURE.length);
+		final boolean isCompressed = hasZipSignature(bufferedInput);
+		bufferedInput.reset();
+
+		if (isCompressed) {
+			return openRootFile(new ZipInputStream(bufferedInput));
+		}
+
+		return bufferedInput;
+	}
+
+	private static boolean isZipArchive(Path path) throws IOException {
+		try (InputStream input = Files.newInputStream(path)) {
+			return hasZipSignature(input);
+		}
+	}
+
+	private static boolean hasZipSignature(InputStream input) throws IOException {
+		final byte[] signature = input.readNBytes(ZIP_SIGNATURE.length);
+		for (int i = 0; i < ZIP_SIGNATURE.length; ++i) {
+			if (signature.length <= i || signature[i] != ZIP_SIGNATURE[i]) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private static InputStream openRootFile(ZipInputStream zipInput) throws IOException, ParsingFailureException {
+		Optional<String> rootFilePath = Optional.empty();
+
+		try {
+			ZipEntry entry = zipInput.getNextEntry();
+			while (entry != null) {
+				final String name = entry.getName();
+
+				if (name.equals(CONTAINER_ENTRY)) {
+					// The container is read into memory so that the zip stream stays open.
+					rootFilePath = readRootFilePath(new ByteArrayInputStream(zipInput.readAllBytes()));
+				} else if (rootFilePath.map(path -> path.equals(name)).orElse(isCandidateRootFile(entry))) {
+					return new BufferedInputStream(zipInput);
+				}
+
+				entry = zipInput.getNextEntry();
+			}
+		} catch (IOException | ParsingFailureException | RuntimeException e) {
+			zipInput.close();
+			throw e;
+		}
+
+		zipInput.close();
+		throw new ParsingFailureException("Compressed MusicXML does not contain a MusicXML file");
+	}
+
+	private static boolean isCandidateRootFile(ZipEntry entry) {
+		final String name = entry.getName();
+		return !entry.isDirectory() && !name.startsWith(META_INF_DIRECTORY) && !name.equals(MIMETYPE_ENTRY);
+	}
+
+	private static InputStream openRootFile(Path path) throws IOException, ParsingFailureException {
+		final ZipFile zipFile = new ZipFile(path.toFile());
+
+		try {
+			final ZipEntry rootFileEntry = findRootFileEntry(zipFile);
+			return new BufferedInputStream(new FilterInputStream(zipFile.getInputStream(rootFileEntry)) {
+				@Override
+				public void close() throws IOException {
+					try {
+						super.close();
+					} finally {
+						zipFile.close();
+					}
+				}
+			});
+		} catch (IOException | ParsingFailureException | RuntimeException e) {
+			zipFile.close();
+			throw e;
+		}
+	}
+
+	private static ZipEntry findRootFileEntry(ZipFile zipFile) throws IOException, ParsingFailureException {
+		final ZipEntry containerEntry = zipFile.getEntry(CONTAINER_ENTRY);
+
+		if (containerEntry != null) {
+			try (InputStream containerInput = zipFile.getInputStream(containerEntry)) {
+				final Optional<String> rootFilePath = readRootFilePath(containerInput);
+				if (rootFilePath.isPresent()) {
+					final ZipEntry rootFileEntry = zipFile.getEntry(rootFilePath.get());
+					if (rootFileEntry != null) {
+						return rootFileEntry;
+					}
+				}
+			}
+		}
+
+		// If the container does not point to the root file, use the first file outside META-INF.
+		final Enumeration<? extends ZipEntry> entries = zipFile.entries();
+		while (entries.hasMoreElements()) {
+			final ZipEntry entry = entries.nextElement();
+			if (isCandidateRootFile(entry)) {
+				return entry;
+			}
+		}
+
+		throw new ParsingFailureException(zipFile.getName() + " does not contain a MusicXML file");
+	}
+
+	private static Optional<String> readRootFilePath(InputStream containerInput)
+			throws IOException, ParsingFailureException {
+		final Document container;
+		try {
+			final DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+			dbf.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+			container = dbf.newDocumentBuilder().parse(containerInput);
+		} catch (SAXException | ParserConfigurationException e) {
+			throw new ParsingFailureException("Parsing MusicXML container failed: " + e.getMessage());
+		}
+
+		final Optional<Node> rootFiles = DocHelper.findChild(container.getDocumentElement(),
+				MusicXmlTags.CONTAINER_ROOTFILES);
+		if (rootFiles.isEmpty()) {
+			return Optional.empty();
+		}
+
+		// The first root file with MusicXML media type is the MusicXML file.
+		for (Node rootFile : DocHelper.findChildren(rootFiles.get(), MusicXmlTags.CONTAINER_ROOTFILE)) {
+			final String mediaType = DocHelper.getAttributeValue(rootFile, MusicXmlTags.CONTAINER_MEDIA_TYPE)
+					.orElse(ROOTFILE_MEDIA_TYPE);
+
+			if (mediaType.equals(ROOTFILE_MEDIA_TYPE)) {
+				return DocHelper.getAttributeValue(rootFile, MusicXmlTags.CONTAINER_FULL_PATH);
+			}
+		}
+
+		return Optional.empty();
+	}
+
+	/**
+	 * Creates a compressed MusicXML archive at the given path and returns a stream positioned at the
+	 * beginning of the root file entry of the archive. The MusicXML contents are written directly into
+	 * the returned stream and the archive is completed when the stream is closed.
+	 *
+	 * @param path the path of the compressed MusicXML file
+	 * @return a stream into which the contents of the MusicXML root file are written
+	 * @throws IOException if creating the archive fails
+	 */
+	static ZipOutputStream createArchive(Path path) throws IOException {
+		final String rootFileName = getRootFileName(path);
+		final ZipOutputStream output = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(path)));
+
+		try {
+			// The mimetype must be the first entry and it must be stored uncompressed.
+			final byte[] mimetype = MIMETYPE.getBytes(StandardCharsets.US_ASCII);
+			final CRC32 crc = new CRC32();
+			crc.update(mimetype);
+			final ZipEntry mimetypeEntry = new ZipEntry(MIMETYPE_ENTRY);
+			mimetypeEntry.setMethod(ZipEntry.STORED);
+			mimetypeEntry.setSize(mimetype.length);
+			mimetypeEntry.setCrc(crc.getValue());
+			output.putNextEntry(mimetypeEntry);
+			output.write(mimetype);
+			output.closeEntry();
+
+			output.putNextEntry(new ZipEntry(CONTAINER_ENTRY));
+			output.write(createContainer(rootFileName).getBytes(StandardCharsets.UTF_8));
+			output.closeEntry();
+
+			output.putNextEntry(new ZipEntry(rootFileName));
+		} catch (IOException e) {
+			output.close();
+			throw e;
+		}
+
+		return output;
+	}
+
+	private static String getRootFileName(Path path) {
+		final String fileName = path.getFileName().toString();
+		if (hasCompressedFileExtension(path)) {
+			return fileName.substring(0, fileName.length() - FILE_EXTENSION.length()) + UNCOMPRESSED_FILE_EXTENSION;
+		}
+
+		return fileName + UNCOMPRESSED_FILE_EXTENSION;
+	}
+
+	private static String createContainer(String rootFileName) {
+		final String escapedName = rootFileName.replace("&", "&amp;").replace("<", "&lt;").replace("\"", "&quot;");
+
+		return String.format(CONTAINER_TEMPLATE, escapedName, ROOTFILE_MEDIA_TYPE);
+	}
+
+	private CompressedMusicXml() {
+		// Not meant to be instantiated.
+	}
+}
@@ -0,0 +1,175 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.io.musicxml;
+
+import org.w3c.dom.Attr;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes XML into a stream one element at a time with the same indentation as an indenting transformer.
+ * <p>
+ * Elements can be opened and closed directly, and detached DOM elements can be written with all their contents.
+ * This makes it possible to build only small parts of a large document as DOM elements at a time.
+ */
+final class IndentingElementWriter {
+
+	private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+	private static final String ENCODING = StandardCharsets.UTF_8.name();
+	private static final String DECLARATION = "<?xml version=\"1.0\" encoding=\"" + ENCODING
+			+ "\" standalone=\"no\"?>";
+	private static final String INDENT = "  ";
+
+	private final OutputStream output;
+	private final XMLStreamWriter writer;
+	private int depth;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param output the stream into which the XML is written
+	 * @throws XMLStreamException if creating the stream writer fails
+	 */
+	IndentingElementWriter(OutputStream output) throws XMLStreamException {
+		this.output = output;
+		this.writer = OUTPUT_FACTORY.createXMLStreamWriter(output, ENCODING);
+	}
+
+	/**
+	 * Writes the XML declaration and the given document type declaration.
+	 *
+	 * @param doctype the document type declaration
+	 * @throws IOException        if writing the XML declaration fails
+	 * @throws XMLStreamException if writing the document type declaration fails
+	 */
+	void writeStartDocument(String doctype) throws IOException, XMLStreamException {
+		// The declaration is written directly because stream writers cannot declare the document standalone.
+		output.write(DECLARATION.getBytes(StandardCharsets.UTF_8));
+		writer.writeCharacters(System.lineSeparator());
+		writer.writeDTD(doctype);
+	}
+
+	/**
+	 * Opens an element with the given name. The attributes of the element can be written with
+	 * {@link #writeAttribute(String, String)} directly after this.
+	 *
+	 * @param name the name of the element
+	 * @throws XMLStreamException if writing fails
+	 */
+	void writeStartElement(String name) throws XMLStreamException {
+		writeIndentation();
+		writer.writeStartElement(name);
+		++depth;
+	}
+
+	/**
+	 * Writes an attribute of the element that was opened last.
+	 *
+	 * @param name  the name of the attribute
+	 * @param value the value of the attribute
+	 * @throws XMLStreamException if writing fails
+	 */
+	void writeAttribute(String name, String value) throws XMLStreamException {
+		writer.writeAttribute(name, value);
+	}
+
+	/**
+	 * Closes the element that was opened last.
+	 *
+	 * @throws XMLStreamException if writing fails
+	 */
+	void writeEndElement() throws XMLStreamException {
+		--depth;
+		writeIndentation();
+		writer.writeEndElement();
+	}
+
+	/**
+	 * Writes the given element with its attributes and contents.
+	 *
+	 * @param element the element that is written
+	 * @throws XMLStreamException if writing fails
+	 */
+	void writeElement(Element element) throws XMLStreamException {
+		writeIndentation();
+
+		final NodeList children = element.getChildNodes();
+		if (children.getLength() == 0) {
+			writer.writeEmptyElement(element.getTagName());
+			writeAttributes(element);
+			return;
+		}
+
+		writer.writeStartElement(element.getTagName());
+		writeAttributes(element);
+
+		if (children.getLength() == 1 && children.item(0).getNodeType() == Node.TEXT_NODE) {
+			writer.writeCharacters(children.item(0).getNodeValue());
+			writer.writeEndElement();
+			return;
+		}
+
+		++depth;
+		for (int i = 0; i < children.getLength(); ++i) {
+			final Node child = children.item(i);
+			if (child.getNodeType() == Node.ELEMENT_NODE) {
+				writeElement((Element) child);
+			}
+		}
+
+		writeEndElement();
+	}
+
+	/**
+	 * Writes all the child elements of the given element.
+	 *
+	 * @param element the element whose children are written
+	 * @throws XMLStreamException if writing fails
+	 */
+	void writeChildElements(Element element) throws XMLStreamException {
+		final NodeList children = element.getChildNodes();
+		for (int i = 0; i < children.getLength(); ++i) {
+			final Node child = children.item(i);
+			if (child.getNodeType() == Node.ELEMENT_NODE) {
+				writeElement((Element) child);
+			}
+		}
+	}
+
+	private void writeAttributes(Element element) throws XMLStreamException {
+		final NamedNodeMap attributes = element.getAttributes();
+		for (int i = 0; i < attributes.getLength(); ++i) {
+			final Attr attribute = (Attr) attributes.item(i);
+			writer.writeAttribute(attribute.getName(), attribute.getValue());
+		}
+	}
+
+	private void writeIndentation() throws XMLStreamException {
+		writer.writeCharacters(System.lineSeparator());
+		for (int i = 0; i < depth; ++i) {
+			writer.writeCharacters(INDENT);
+		}
+	}
+
+	/**
+	 * Ends the document and flushes the written contents into the stream. The stream is not closed.
+	 *
+	 * @throws XMLStreamException if writing fails
+	 */
+	void writeEndDocument() throws XMLStreamException {
+		writer.writeCharacters(System.lineSeparator());
+		writer.writeEndDocument();
+		writer.flush();
+		writer.close();
+	}
+}
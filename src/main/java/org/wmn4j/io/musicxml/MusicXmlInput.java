@@ -0,0 +1,168 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.io.musicxml;
+
+import org.wmn4j.io.ParsingFailureException;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Represents a source from which MusicXML contents are read.
+ * <p>
+ * Sources can be files or contents that are already in memory, such as byte arrays and (possibly memory-mapped)
+ * byte buffers, so that MusicXML does not need to be written into a file before it can be read. Both uncompressed
+ * and compressed MusicXML is supported by all sources.
+ */
+final class MusicXmlInput {
+
+	private final Opener opener;
+	private final String description;
+
+	/**
+	 * Opens a stream to the MusicXML contents of a source.
+	 */
+	@FunctionalInterface
+	private interface Opener {
+		InputStream open() throws IOException, ParsingFailureException;
+	}
+
+	private MusicXmlInput(Opener opener, String description) {
+		this.opener = opener;
+		this.description = description;
+	}
+
+	/**
+	 * Returns a source for the MusicXML file at the given path.
+	 *
+	 * @param path the path of the MusicXML file
+	 * @return a source for the MusicXML file at the given path
+	 */
+	static MusicXmlInput of(Path path) {
+		Objects.requireNonNull(path);
+		return new MusicXmlInput(() -> CompressedMusicXml.open(path), path.toString());
+	}
+
+	/**
+	 * Returns a source for the MusicXML contents of the given stream. The stream can be read only once and it is
+	 * not closed when the contents have been read.
+	 *
+	 * @param input the stream with MusicXML contents
+	 * @return a source for the MusicXML contents of the given stream
+	 */
+	static MusicXmlInput of(InputStream input) {
+		Objects.requireNonNull(input);
+		return new MusicXmlInput(() -> CompressedMusicXml.open(new NonClosingInputStream(input)), input.toString());
+	}
+
+	/**
+	 * Returns a source for the MusicXML contents of the given byte array. The array is not copied.
+	 *
+	 * @param bytes the MusicXML contents
+	 * @return a source for the MusicXML contents of the given byte array
+	 */
+	static MusicXmlInput of(byte[] bytes) {
+		Objects.requireNonNull(bytes);
+		return new MusicXmlInput(() -> CompressedMusicXml.open(new ByteArrayInputStream(bytes)),
+				"byte array of length " + bytes.length);
+	}
+
+	/**
+	 * Returns a source for the MusicXML contents between the position and the limit of the given buffer.
+	 * The contents are read directly from the buffer and the position of the given buffer is not changed.
+	 *
+	 * @param buffer the buffer with the MusicXML contents
+	 * @return a source for the MusicXML contents of the given buffer
+	 */
+	static MusicXmlInput of(ByteBuffer buffer) {
+		Objects.requireNonNull(buffer);
+		return new MusicXmlInput(() -> CompressedMusicXml.open(new ByteBufferInputStream(buffer.duplicate())),
+				buffer.toString());
+	}
+
+	/**
+	 * Returns a stream to the MusicXML contents of this source. If the contents are compressed, the returned stream
+	 * reads the contents of the MusicXML root file.
+	 *
+	 * @return a stream to the MusicXML contents of this source
+	 * @throws IOException             if opening the source fails
+	 * @throws ParsingFailureException if the contents are compressed but do not contain a MusicXML file
+	 */
+	InputStream open() throws IOException, ParsingFailureException {
+		return opener.open();
+	}
+
+	@Override
+	public String toString() {
+		return description;
+	}
+
+	/**
+	 * Stream that leaves the underlying stream open when closed.
+	 */
+	private static final class NonClosingInputStream extends FilterInputStream {
+
+		NonClosingInputStream(InputStream input) {
+			super(input);
+		}
+
+		@Override
+		public void close() {
+			// The underlying stream is closed by its owner.
+		}
+	}
+
+	/**
+	 * Stream that reads the remaining contents of a byte buffer.
+	 */
+	private static final class ByteBufferInputStream extends InputStream {
+
+		private final ByteBuffer buffer;
+
+		ByteBufferInputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read() {
+			if (!buffer.hasRemaining()) {
+				return -1;
+			}
+
+			return buffer.get() & 0xFF;
+		}
+
+		@Override
+		public int read(byte[] bytes, int offset, int length) {
+			if (length == 0) {
+				return 0;
+			}
+
+			if (!buffer.hasRemaining()) {
+				return -1;
+			}
+
+			final int readLength = Math.min(length, buffer.remaining());
+			buffer.get(bytes, offset, readLength);
+			return readLength;
+		}
+
+		@Override
+		public long skip(long count) {
+			final int skipped = (int) Math.max(0, Math.min(count, buffer.remaining()));
+			buffer.position(buffer.position() + skipped);
+			return skipped;
+		}
+
+		@Override
+		public int available() {
+			return buffer.remaining();
+		}
+	}
+}
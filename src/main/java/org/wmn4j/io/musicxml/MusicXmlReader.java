@@ -5,11 +5,17 @@ package org.wmn4j.io.musicxml;
 
 import org.wmn4j.io.ScoreReader;
 
+import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
 
 /**
  * Represents a reader for MusicXML files.
  * <p>
+ * MusicXML can be read from files, streams, byte arrays, and byte buffers. Both uncompressed and compressed
+ * (.mxl) MusicXML are supported. Compressed contents are recognized automatically and read directly from
+ * the archive.
+ * <p>
  * Implementations of this interface are not guaranteed to be thread-safe.
  */
 public interface MusicXmlReader extends ScoreReader {
@@ -35,4 +41,168 @@ public interface MusicXmlReader extends ScoreReader {
 	static MusicXmlReader nonValidatingReaderFor(Path path) {
 		return new MusicXmlReaderDom(path, false);
 	}
+
+	/**
+	 * Returns a streaming reader for the MusicXML file at the given path.
+	 * The MusicXML file is validated against the schema.
+	 * <p>
+	 * A streaming reader does not hold the whole document in memory while reading, which makes it
+	 * better suited for large files than the reader returned by {@link #readerFor(Path)}.
+	 *
+	 * @param path the path of the file for which this reader is created
+	 * @return a streaming reader for the MusicXML file at the given path
+	 */
+	static MusicXmlReader streamingReaderFor(Path path) {
+		return new MusicXmlReaderStax(path, true);
+	}
+
+	/**
+	 * Returns a streaming reader for the MusicXML file at the given path that does not
+	 * validate the input against MusicXML schema.
+	 *
+	 * @param path the path of the file for which this reader is created
+	 * @return a streaming reader for the MusicXML file at the given path that skips validation
+	 */
+	static MusicXmlReader nonValidatingStreamingReaderFor(Path path) {
+		return new MusicXmlReaderStax(path, false);
+	}
+
+	/**
+	 * Returns a reader that reads only the selected parts and measures of the MusicXML file at the given path.
+	 * The MusicXML file is validated against the schema.
+	 *
+	 * @param path      the path of the file for which this reader is created
+	 * @param selection the parts and measures that are read
+	 * @return a reader that reads only the selected parts and measures of the MusicXML file at the given path
+	 */
+	static MusicXmlReader readerFor(Path path, ReadSelection selection) {
+		return new MusicXmlReaderDom(MusicXmlInput.of(path), true, selection);
+	}
+
+	/**
+	 * Returns a reader that reads only the selected parts and measures of the MusicXML file at the given path and
+	 * does not validate the input against MusicXML schema.
+	 *
+	 * @param path      the path of the file for which this reader is created
+	 * @param selection the parts and measures that are read
+	 * @return a reader that reads only the selected parts and measures of the MusicXML file at the given path
+	 * and skips validation
+	 */
+	static MusicXmlReader nonValidatingReaderFor(Path path, ReadSelection selection) {
+		return new MusicXmlReaderDom(MusicXmlInput.of(path), false, selection);
+	}
+
+	/**
+	 * Returns a streaming reader that reads only the selected parts and measures of the MusicXML file at the given
+	 * path. The MusicXML file is validated against the schema.
+	 * <p>
+	 * The streaming reader skips the contents of parts and measures that are not selected while parsing, so
+	 * they are never held in memory.
+	 *
+	 * @param path      the path of the file for which this reader is created
+	 * @param selection the parts and measures that are read
+	 * @return a streaming reader that reads only the selected parts and measures of the MusicXML file at the
+	 * given path
+	 */
+	static MusicXmlReader streamingReaderFor(Path path, ReadSelection selection) {
+		return new MusicXmlReaderStax(MusicXmlInput.of(path), true, selection);
+	}
+
+	/**
+	 * Returns a streaming reader that reads only the selected parts and measures of the MusicXML file at the given
+	 * path and does not validate the input against MusicXML schema.
+	 * <p>
+	 * The streaming reader skips the contents of parts and measures that are not selected while parsing, so
+	 * they are never held in memory.
+	 *
+	 * @param path      the path of the file for which this reader is created
+	 * @param selection the parts and measures that are read
+	 * @return a streaming reader that reads only the selected parts and measures of the MusicXML file at the
+	 * given path and skips validation
+	 */
+	static MusicXmlReader nonValidatingStreamingReaderFor(Path path, ReadSelection selection) {
+		return new MusicXmlReaderStax(MusicXmlInput.of(path), false, selection);
+	}
+
+	/**
+	 * Returns a streaming reader for the MusicXML contents of the given stream.
+	 * The MusicXML contents are validated against the schema.
+	 * <p>
+	 * The stream is read when the score is read, so the returned reader can be used only once.
+	 * The stream is not closed by the reader.
+	 *
+	 * @param input the stream with the MusicXML contents
+	 * @return a streaming reader for the MusicXML contents of the given stream
+	 */
+	static MusicXmlReader readerFor(InputStream input) {
+		return new MusicXmlReaderStax(MusicXmlInput.of(input), true);
+	}
+
+	/**
+	 * Returns a streaming reader for the MusicXML contents of the given stream that does not
+	 * validate the input against MusicXML schema.
+	 * <p>
+	 * The stream is read when the score is read, so the returned reader can be used only once.
+	 * The stream is not closed by the reader.
+	 *
+	 * @param input the stream with the MusicXML contents
+	 * @return a streaming reader for the MusicXML contents of the given stream that skips validation
+	 */
+	static MusicXmlReader nonValidatingReaderFor(InputStream input) {
+		return new MusicXmlReaderStax(MusicXmlInput.of(input), false);
+	}
+
+	/**
+	 * Returns a streaming reader for the MusicXML contents of the given byte array.
+	 * The MusicXML contents are validated against the schema.
+	 * <p>
+	 * The array is not copied, so it must not be modified while the reader is in use.
+	 *
+	 * @param bytes the MusicXML contents
+	 * @return a streaming reader for the MusicXML contents of the given byte array
+	 */
+	static MusicXmlReader readerFor(byte[] bytes) {
+		return new MusicXmlReaderStax(MusicXmlInput.of(bytes), true);
+	}
+
+	/**
+	 * Returns a streaming reader for the MusicXML contents of the given byte array that does not
+	 * validate the input against MusicXML schema.
+	 * <p>
+	 * The array is not copied, so it must not be modified while the reader is in use.
+	 *
+	 * @param bytes the MusicXML contents
+	 * @return a streaming reader for the MusicXML contents of the given byte array that skips validation
+	 */
+	static MusicXmlReader nonValidatingReaderFor(byte[] bytes) {
+		return new MusicXmlReaderStax(MusicXmlInput.of(bytes), false);
+	}
+
+	/**
+	 * Returns a streaming reader for the MusicXML contents between the position and the limit of
+	 * the given buffer. The MusicXML contents are validated against the schema.
+	 * <p>
+	 * The contents are read directly from the buffer, which may be a memory-mapped buffer, without copying
+	 * it first. The position of the given buffer is not changed by the reader.
+	 *
+	 * @param buffer the buffer with the MusicXML contents
+	 * @return a streaming reader for the MusicXML contents of the given buffer
+	 */
+	static MusicXmlReader readerFor(ByteBuffer buffer) {
+		return new MusicXmlReaderStax(MusicXmlInput.of(buffer), true);
+	}
+
+	/**
+	 * Returns a streaming reader for the MusicXML contents between the position and the limit of
+	 * the given buffer that does not validate the input against MusicXML schema.
+	 * <p>
+	 * The contents are read directly from the buffer, which may be a memory-mapped buffer, without copying
+	 * it first. The position of the given buffer is not changed by the reader.
+	 *
+	 * @param buffer the buffer with the MusicXML contents
+	 * @return a streaming reader for the MusicXML contents of the given buffer that skips validation
+	 */
+	static MusicXmlReader nonValidatingReaderFor(ByteBuffer buffer) {
+		return new MusicXmlReaderStax(MusicXmlInput.of(buffer), false);
+	}
 }
@@ -0,0 +1,279 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.io.musicxml;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.wmn4j.io.ParsingFailureException;
+import org.wmn4j.notation.PartBuilder;
+import org.wmn4j.notation.Score;
+import org.wmn4j.notation.ScoreBuilder;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * A streaming parser for MusicXML files.
+ * <p>
+ * The file is read using a pull parser so that the whole document is never held in memory. Only the element
+ * that is currently being read, such as a single measure, is assembled into a detached element tree that is
+ * discarded once its contents have been added to the builders. If validation is enabled, the input is validated
+ * against the MusicXML schema while it is read.
+ */
+final class MusicXmlReaderStax implements MusicXmlReader {
+
+	private final boolean validateInput;
+	private final MusicXmlInput input;
+	private final ReadSelection selection;
+
+	private Document document;
+
+	/**
+	 * Constructor that allows setting validation.
+	 *
+	 * @param path          the path of the file that this reader is created for
+	 * @param validateInput whether this validates MusicXML files given as input
+	 */
+	MusicXmlReaderStax(Path path, boolean validateInput) {
+		this(MusicXmlInput.of(path), validateInput);
+	}
+
+	/**
+	 * Constructor that allows setting validation.
+	 *
+	 * @param input         the source of the MusicXML contents that this reader is created for
+	 * @param validateInput whether this validates MusicXML files given as input
+	 */
+	MusicXmlReaderStax(MusicXmlInput input, boolean validateInput) {
+		this(input, validateInput, ReadSelection.all());
+	}
+
+	/**
+	 * Constructor that allows setting validation and selecting the parts and measures that are read.
+	 *
+	 * @param input         the source of the MusicXML contents that this reader is created for
+	 * @param validateInput whether this validates MusicXML files given as input
+	 * @param selection     the parts and measures that are read
+	 */
+	MusicXmlReaderStax(MusicXmlInput input, boolean validateInput, ReadSelection selection) {
+		this.validateInput = validateInput;
+		this.input = input;
+		this.selection = selection;
+	}
+
+	private XMLInputFactory createAndConfigureInputFactory() {
+		final XMLInputFactory inputFactory = XMLInputFactory.newInstance();
+		inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		inputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+		return inputFactory;
+	}
+
+	@Override
+	public Score readScore() throws IOException, ParsingFailureException {
+		return readScoreBuilder().build();
+	}
+
+	@Override
+	public ScoreBuilder readScoreBuilder() throws IOException, ParsingFailureException {
+		final ScoreBuilder scoreBuilder = new ScoreBuilder();
+
+		try (InputStream musicXmlInput = input.open()) {
+			document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+			XMLStreamReader reader = createAndConfigureInputFactory().createXMLStreamReader(musicXmlInput);
+
+			// Validate the input in the same pass in which it is read.
+			if (this.validateInput) {
+				reader = new ValidatingStreamReader(reader, MusicXmlSchema.INSTANCE.getValidatorHandler());
+			}
+
+			try {
+				readScoreToBuilder(scoreBuilder, reader);
+			} finally {
+				reader.close();
+			}
+		} catch (final XMLStreamException e) {
+			throw new ParsingFailureException("Parsing failed: " + e.getMessage());
+		} catch (final ParserConfigurationException e) {
+			throw new ParsingFailureException("Parser configuration failed: " + e.getMessage());
+		} catch (final SAXException e) {
+			throw new ParsingFailureException("Reading MusicXML schema failed: " + e.getMessage());
+		} finally {
+			document = null;
+		}
+
+		return scoreBuilder;
+	}
+
+	/**
+	 * Read the children of the root element into the ScoreBuilder as they are encountered.
+	 */
+	private void readScoreToBuilder(ScoreBuilder scoreBuilder, XMLStreamReader reader) throws XMLStreamException {
+		Map<String, PartBuilder> partBuilders = Collections.emptyMap();
+		int partIndex = 0;
+
+		// Move to the root element.
+		while (reader.next() != XMLStreamConstants.START_ELEMENT) {
+			continue;
+		}
+
+		while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+			switch (reader.getLocalName()) {
+				case MusicXmlTags.SCORE_WORK:
+					MusicXmlReaderDom.readWorkIntoBuilder(scoreBuilder, readElement(reader));
+					break;
+				case MusicXmlTags.SCORE_MOVEMENT_TITLE:
+					scoreBuilder.setAttribute(Score.Attribute.MOVEMENT_TITLE, reader.getElementText());
+					break;
+				case MusicXmlTags.SCORE_IDENTIFICATION:
+					MusicXmlReaderDom.readIdentificationIntoBuilder(scoreBuilder, readElement(reader));
+					break;
+				case MusicXmlTags.PART_LIST:
+					partBuilders = PartReader.createPartBuilders(readElement(reader));
+					break;
+				case MusicXmlTags.PART:
+					final String partId = reader.getAttributeValue(null, MusicXmlTags.PART_ID);
+					if (selection.includesPart(partIndex++, partId)) {
+						final PartBuilder partBuilder = partBuilders.get(partId);
+						readMeasuresIntoPartBuilder(partBuilder, reader);
+						scoreBuilder.addPart(partBuilder);
+					} else {
+						skipElement(reader);
+					}
+					break;
+				default:
+					skipElement(reader);
+			}
+		}
+
+		// Read to the end of the document so that the whole document gets validated.
+		while (reader.hasNext()) {
+			reader.next();
+		}
+	}
+
+	/**
+	 * Read the selected measures of the part one by one into the PartBuilder. Only the attributes of the measures
+	 * before the selected range are read and the measures after the range are skipped.
+	 */
+	private void readMeasuresIntoPartBuilder(PartBuilder partBuilder, XMLStreamReader reader)
+			throws XMLStreamException {
+		PartReader partReader = null;
+
+		while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+			if (!reader.getLocalName().equals(MusicXmlTags.MEASURE)) {
+				skipElement(reader);
+				continue;
+			}
+
+			final int measureNumber = Integer.parseInt(reader.getAttributeValue(null, MusicXmlTags.MEASURE_NUM));
+			if (selection.isAfterRange(measureNumber)) {
+				skipElement(reader);
+				continue;
+			}
+
+			final boolean isBeforeRange = selection.isBeforeRange(measureNumber);
+			final Element measureElement = isBeforeRange ? readMeasureAttributes(reader) : readElement(reader);
+			if (partReader == null) {
+				partReader = new PartReader(partBuilder, PartReader.getStaffCount(measureElement),
+						selection.getMeasureNumberOffset());
+			}
+
+			if (isBeforeRange) {
+				partReader.skipMeasure(measureElement);
+			} else {
+				partReader.readMeasure(measureElement);
+			}
+		}
+	}
+
+	/**
+	 * Read only the attributes elements of the measure at the current position of the reader into a detached
+	 * measure element and skip the rest of the measure. After this the reader is positioned at the end of the
+	 * measure.
+	 */
+	private Element readMeasureAttributes(XMLStreamReader reader) throws XMLStreamException {
+		final Element measureElement = createElement(reader);
+
+		while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+			if (reader.getLocalName().equals(MusicXmlTags.MEASURE_ATTRIBUTES)) {
+				measureElement.appendChild(readElement(reader));
+			} else {
+				skipElement(reader);
+			}
+		}
+
+		return measureElement;
+	}
+
+	/**
+	 * Read the element at the current position of the reader into a detached element tree. After this the
+	 * reader is positioned at the end of the element.
+	 */
+	private Element readElement(XMLStreamReader reader) throws XMLStreamException {
+		final Element root = createElement(reader);
+		Element current = root;
+		int depth = 1;
+
+		while (depth > 0) {
+			switch (reader.next()) {
+				case XMLStreamConstants.START_ELEMENT:
+					final Element child = createElement(reader);
+					current.appendChild(child);
+					current = child;
+					++depth;
+					break;
+				case XMLStreamConstants.END_ELEMENT:
+					--depth;
+					if (depth > 0) {
+						current = (Element) current.getParentNode();
+					}
+					break;
+				case XMLStreamConstants.CHARACTERS:
+				case XMLStreamConstants.CDATA:
+				case XMLStreamConstants.SPACE:
+					current.appendChild(document.createTextNode(reader.getText()));
+					break;
+				default:
+					break;
+			}
+		}
+
+		return root;
+	}
+
+	private Element createElement(XMLStreamReader reader) {
+		final Element element = document.createElement(reader.getLocalName());
+		for (int i = 0; i < reader.getAttributeCount(); ++i) {
+			element.setAttribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+		}
+
+		return element;
+	}
+
+	/**
+	 * Skip the element at the current position of the reader and all its children.
+	 */
+	private void skipElement(XMLStreamReader reader) throws XMLStreamException {
+		int depth = 1;
+		while (depth > 0) {
+			final int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				++depth;
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				--depth;
+			}
+		}
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.io.musicxml;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+
+import javax.xml.XMLConstants;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import javax.xml.validation.ValidatorHandler;
+
+/**
+ * Provides the compiled MusicXML 3.1 schema shared by all readers.
+ * <p>
+ * Compiling the schema is expensive, so it is compiled only once when first needed. The compiled schema is
+ * immutable and thread-safe, but validator handlers are not, so a validator handler is kept for each thread that
+ * validates input.
+ */
+enum MusicXmlSchema {
+	INSTANCE;
+
+	private static final String MUSICXML_V3_1_SCHEMA_PATH = "org/wmn4j/io/musicxml/musicxml.xsd";
+	private static final Logger LOG = LoggerFactory.getLogger(MusicXmlSchema.class);
+
+	private final ThreadLocal<ValidatorHandler> validatorHandlers = new ThreadLocal<>();
+	private final ErrorHandler errorHandler = new ErrorHandler() {
+		@Override
+		public void warning(SAXParseException exception) {
+			LOG.warn("Warning while reading MusicXML:", exception);
+		}
+
+		@Override
+		public void error(SAXParseException exception) throws SAXException {
+			throw exception;
+		}
+
+		@Override
+		public void fatalError(SAXParseException exception) throws SAXException {
+			throw exception;
+		}
+	};
+
+	private volatile Schema schema;
+
+	/**
+	 * Returns the compiled MusicXML schema. The schema is compiled on the first call.
+	 *
+	 * @return the compiled MusicXML schema
+	 * @throws SAXException if compiling the schema fails
+	 */
+	Schema getSchema() throws SAXException {
+		Schema compiledSchema = schema;
+		if (compiledSchema == null) {
+			synchronized (this) {
+				compiledSchema = schema;
+				if (compiledSchema == null) {
+					final SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+					final ClassLoader classLoader = MusicXmlSchema.class.getClassLoader();
+					compiledSchema = schemaFactory.newSchema(classLoader.getResource(MUSICXML_V3_1_SCHEMA_PATH));
+					schema = compiledSchema;
+				}
+			}
+		}
+
+		return compiledSchema;
+	}
+
+	/**
+	 * Returns a validator handler for the MusicXML schema that can be used by the calling thread.
+	 * The same validator handler is returned on subsequent calls from the same thread. The returned handler
+	 * reports validation errors by throwing exceptions.
+	 *
+	 * @return a validator handler for the MusicXML schema that can be used by the calling thread
+	 * @throws SAXException if compiling the schema fails
+	 */
+	ValidatorHandler getValidatorHandler() throws SAXException {
+		ValidatorHandler validatorHandler = validatorHandlers.get();
+		if (validatorHandler == null) {
+			validatorHandler = getSchema().newValidatorHandler();
+			validatorHandler.setErrorHandler(getErrorHandler());
+			validatorHandlers.set(validatorHandler);
+		}
+
+		return validatorHandler;
+	}
+
+	/**
+	 * Returns an error handler that logs warnings and throws the exceptions of errors and fatal errors.
+	 *
+	 * @return an error handler that logs warnings and throws the exceptions of errors and fatal errors
+	 */
+	ErrorHandler getErrorHandler() {
+		return errorHandler;
+	}
+}
@@ -197,6 +197,13 @@ final class MusicXmlTags {
 	static final String YES = "yes";
 	static final String NO = "no";
 
+	// Compressed MusicXML container tags
+	static final String CONTAINER = "container";
+	static final String CONTAINER_ROOTFILES = "rootfiles";
+	static final String CONTAINER_ROOTFILE = "rootfile";
+	static final String CONTAINER_FULL_PATH = "full-path";
+	static final String CONTAINER_MEDIA_TYPE = "media-type";
+
 	private MusicXmlTags() {
 	}
 }
@@ -12,6 +12,11 @@ import java.util.Collection;
 /**
  * Represents a writer for MusicXML files.
  * <p>
+ * If the path to which the contents are written has the file extension <code>.mxl</code>, the
+ * contents are written as compressed MusicXML. Contents written into a stream are always uncompressed MusicXML.
+ * <p>
+ * The contents are written one measure at a time, so the whole document is never held in memory.
+ * <p>
  * Implementations of this interface are not guaranteed to be thread-safe.
  */
 public interface MusicXmlWriter extends ScoreWriter {
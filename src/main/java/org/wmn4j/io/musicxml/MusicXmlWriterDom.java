@@ -5,9 +5,7 @@ package org.wmn4j.io.musicxml;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.DOMImplementation;
 import org.w3c.dom.Document;
-import org.w3c.dom.DocumentType;
 import org.w3c.dom.Element;
 import org.wmn4j.Wmn4j;
 import org.wmn4j.notation.Articulation;
@@ -38,14 +36,12 @@ import org.wmn4j.notation.directions.Direction;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
-import java.io.File;
+import javax.xml.stream.XMLStreamException;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigInteger;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
@@ -65,12 +61,16 @@ import java.util.TreeMap;
 
 /**
  * Abstract super class for classes that write to MusicXML by populating
- * the Document Object Model first.
+ * the Document Object Model one measure at a time and streaming the
+ * populated elements into the output.
  */
 abstract class MusicXmlWriterDom implements MusicXmlWriter {
 
 	private static final Logger LOG = LoggerFactory.getLogger(MusicXmlWriterDom.class);
 	private static final String MUSICXML_VERSION_NUMBER = "3.1";
+	private static final String DOCTYPE = "<!DOCTYPE " + MusicXmlTags.SCORE_PARTWISE
+			+ " PUBLIC \"-//Recordare//DTD MusicXML " + MUSICXML_VERSION_NUMBER + " Partwise//EN\""
+			+ " \"http://www.musicxml.org/dtds/partwise.dtd\">";
 
 	private final Document doc;
 	private final SortedMap<String, Part> partIdMap = new TreeMap<>();
@@ -109,41 +109,44 @@ abstract class MusicXmlWriterDom implements MusicXmlWriter {
 	@Override
 	public void write(Path path) {
 		try {
-			final Element rootElement = getDocument().createElement(MusicXmlTags.SCORE_PARTWISE);
-			rootElement.setAttribute(MusicXmlTags.MUSICXML_VERSION, MUSICXML_VERSION_NUMBER);
-			getDocument().appendChild(rootElement);
-
-			// Add the score attribute elements
-			writeScoreAttributes(rootElement);
-
-			// staff elements
-			writePartList(rootElement);
+			if (CompressedMusicXml.hasCompressedFileExtension(path)) {
+				// Write the contents directly into the archive without an intermediate file.
+				try (OutputStream output = CompressedMusicXml.createArchive(path)) {
+					write(output);
+				}
+			} else {
+				try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(path))) {
+					write(output);
+				}
+			}
+		} catch (final IOException ioe) {
+			LOG.error("Writing MusicXML failed:", ioe);
+		}
+	}
 
+	@Override
+	public void write(OutputStream output) throws IOException {
+		try {
+			final IndentingElementWriter writer = new IndentingElementWriter(output);
+			writer.writeStartDocument(DOCTYPE);
+			writer.writeStartElement(MusicXmlTags.SCORE_PARTWISE);
+			writer.writeAttribute(MusicXmlTags.MUSICXML_VERSION, MUSICXML_VERSION_NUMBER);
+
+			// The elements before the parts are small, so they are built completely before writing.
+			final Element headerElement = getDocument().createElement(MusicXmlTags.SCORE_PARTWISE);
+			writeScoreAttributes(headerElement);
+			writePartList(headerElement);
+			writer.writeChildElements(headerElement);
+
+			// Parts are written one measure at a time so that only one measure is held in memory.
 			for (String partId : this.partIdMap.keySet()) {
-				writePart(this.partIdMap.get(partId), rootElement, partId);
+				writePart(this.partIdMap.get(partId), writer, partId);
 			}
 
-			// write the content into xml file
-			final TransformerFactory transformerFactory = TransformerFactory.newInstance();
-			final Transformer transformer = transformerFactory.newTransformer();
-
-			transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-			transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "2");
-			transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "no");
-			transformer.setOutputProperty(OutputKeys.METHOD, "xml");
-			final DOMImplementation domImpl = getDocument().getImplementation();
-			final DocumentType doctype = domImpl.createDocumentType("doctype",
-					"-//Recordare//DTD MusicXML " + MUSICXML_VERSION_NUMBER + " Partwise//EN",
-					"http://www.musicxml.org/dtds/partwise.dtd");
-			transformer.setOutputProperty(OutputKeys.DOCTYPE_PUBLIC, doctype.getPublicId());
-			transformer.setOutputProperty(OutputKeys.DOCTYPE_SYSTEM, doctype.getSystemId());
-
-			final DOMSource source = new DOMSource(doc);
-			final StreamResult result = new StreamResult(new File(path.toString()));
-
-			transformer.transform(source, result);
-		} catch (final TransformerException tfe) {
-			LOG.error("Configuring transformer failed:", tfe);
+			writer.writeEndElement();
+			writer.writeEndDocument();
+		} catch (final XMLStreamException xse) {
+			throw new IOException("Writing MusicXML failed", xse);
 		}
 	}
 
@@ -172,16 +175,17 @@ abstract class MusicXmlWriterDom implements MusicXmlWriter {
 
 	protected abstract void writePartList(Element scoreRoot);
 
-	protected void writePart(Part part, Element scoreRoot, String partId) {
-		final Element partElement;
+	protected void writePart(Part part, IndentingElementWriter writer, String partId) throws XMLStreamException {
+		writer.writeStartElement(MusicXmlTags.PART);
+		writer.writeAttribute(MusicXmlTags.PART_ID, partId);
 
 		if (part.isMultiStaff()) {
-			partElement = createMultiStaffPart((MultiStaffPart) part, partId);
+			writeMultiStaffPartMeasures((MultiStaffPart) part, writer);
 		} else {
-			partElement = createSingleStaffPart((SingleStaffPart) part, partId);
+			writeSingleStaffPartMeasures((SingleStaffPart) part, writer);
 		}
 
-		scoreRoot.appendChild(partElement);
+		writer.writeEndElement();
 	}
 
 	protected final Element createEncodingElement() {
@@ -200,24 +204,18 @@ abstract class MusicXmlWriterDom implements MusicXmlWriter {
 		return encodingElement;
 	}
 
-	protected Element createSingleStaffPart(SingleStaffPart part, String partId) {
-		final Element partElement = getDocument().createElement(MusicXmlTags.PART);
-		partElement.setAttribute(MusicXmlTags.PART_ID, partId);
-
+	private void writeSingleStaffPartMeasures(SingleStaffPart part, IndentingElementWriter writer)
+			throws XMLStreamException {
 		Measure previousMeasure = null;
 
 		for (Measure measure : part) {
-			partElement.appendChild(createMeasureElement(measure, previousMeasure));
+			writer.writeElement(createMeasureElement(measure, previousMeasure));
 			previousMeasure = measure;
 		}
-
-		return partElement;
 	}
 
-	protected Element createMultiStaffPart(MultiStaffPart part, String partId) {
-		final Element partElement = getDocument().createElement(MusicXmlTags.PART);
-		partElement.setAttribute(MusicXmlTags.PART_ID, partId);
-
+	private void writeMultiStaffPartMeasures(MultiStaffPart part, IndentingElementWriter writer)
+			throws XMLStreamException {
 		Map<Integer, Measure> previousMeasures = Collections.emptySortedMap();
 
 		List<Integer> staffNumbers = part.getStaffNumbers();
@@ -233,11 +231,9 @@ abstract class MusicXmlWriterDom implements MusicXmlWriter {
 				}
 			}
 
-			partElement.appendChild(createMultiStaffMeasureElement(measures, previousMeasures));
+			writer.writeElement(createMultiStaffMeasureElement(measures, previousMeasures));
 			previousMeasures = measures;
 		}
-
-		return partElement;
 	}
 
 	private Element createMeasureElement(Measure measure, Measure previousMeasure) {
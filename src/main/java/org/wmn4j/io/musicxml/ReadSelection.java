@@ -0,0 +1,141 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.io.musicxml;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Represents the parts and the range of measures that are read from a MusicXML file.
+ * <p>
+ * Parts and measures that are not selected are skipped while the file is read, so that they are never built.
+ * The attributes of skipped measures before the selected range, such as key signatures, time signatures and
+ * clefs, are still read so that the measures in the range have the correct attributes.
+ * <p>
+ * Measure numbers in the read score are contiguous from the beginning of the selected range. If the range begins
+ * at measure 0 or 1, the measures keep their numbers. Otherwise the first measure of the range is numbered 1 in the
+ * read score, so that measure <code>n</code> in the read score is measure <code>n + firstMeasure - 1</code> in the
+ * file.
+ * <p>
+ * This class is immutable.
+ */
+public final class ReadSelection {
+
+	private static final ReadSelection ALL = new ReadSelection(0, Integer.MAX_VALUE, Collections.emptySet(),
+			Collections.emptySet());
+
+	private static final String NO_PARTS_SELECTED_MESSAGE = "At least one part must be selected";
+
+	private final int firstMeasure;
+	private final int lastMeasure;
+	private final Set<Integer> partIndices;
+	private final Set<String> partIds;
+
+	private ReadSelection(int firstMeasure, int lastMeasure, Set<Integer> partIndices, Set<String> partIds) {
+		this.firstMeasure = firstMeasure;
+		this.lastMeasure = lastMeasure;
+		this.partIndices = Collections.unmodifiableSet(partIndices);
+		this.partIds = Collections.unmodifiableSet(partIds);
+	}
+
+	/**
+	 * Returns a selection of all parts and measures.
+	 *
+	 * @return a selection of all parts and measures
+	 */
+	public static ReadSelection all() {
+		return ALL;
+	}
+
+	/**
+	 * Returns a selection that is otherwise the same as this but contains only the measures in the given range.
+	 *
+	 * @param firstMeasure the number of the first measure included in the range
+	 * @param lastMeasure  the number of the last measure included in the range
+	 * @return a selection that contains only the measures in the given range
+	 */
+	public ReadSelection withRange(int firstMeasure, int lastMeasure) {
+		if (firstMeasure < 0) {
+			throw new IllegalArgumentException("Range starting measure number cannot be negative");
+		}
+
+		if (firstMeasure > lastMeasure) {
+			throw new IllegalArgumentException(
+					"Range ending measure number must be at least the starting measure number");
+		}
+
+		return new ReadSelection(firstMeasure, lastMeasure, partIndices, partIds);
+	}
+
+	/**
+	 * Returns a selection that is otherwise the same as this but in which the parts at the given indices are
+	 * selected. The index of a part is its position among the parts of the file, starting from 0. If parts are
+	 * selected both by index and by id, a part is read if it is selected by either.
+	 *
+	 * @param partIndices the indices of the parts that are read
+	 * @return a selection in which the parts at the given indices are selected
+	 */
+	public ReadSelection withParts(Collection<Integer> partIndices) {
+		if (partIndices.isEmpty()) {
+			throw new IllegalArgumentException(NO_PARTS_SELECTED_MESSAGE);
+		}
+
+		return new ReadSelection(firstMeasure, lastMeasure, new HashSet<>(partIndices), partIds);
+	}
+
+	/**
+	 * Returns a selection that is otherwise the same as this but in which the parts with the given MusicXML part
+	 * ids are selected. If parts are selected both by index and by id, a part is read if it is selected by either.
+	 *
+	 * @param partIds the MusicXML ids of the parts that are read
+	 * @return a selection in which the parts with the given ids are selected
+	 */
+	public ReadSelection withPartIds(Collection<String> partIds) {
+		if (partIds.isEmpty()) {
+			throw new IllegalArgumentException(NO_PARTS_SELECTED_MESSAGE);
+		}
+
+		return new ReadSelection(firstMeasure, lastMeasure, partIndices, new HashSet<>(partIds));
+	}
+
+	/**
+	 * Returns true if the part with the given index and id is read.
+	 */
+	boolean includesPart(int partIndex, String partId) {
+		if (partIndices.isEmpty() && partIds.isEmpty()) {
+			return true;
+		}
+
+		return partIndices.contains(partIndex) || partIds.contains(partId);
+	}
+
+	/**
+	 * Returns true if the measure with the given number is before the selected range.
+	 */
+	boolean isBeforeRange(int measureNumber) {
+		return measureNumber < firstMeasure;
+	}
+
+	/**
+	 * Returns true if the measure with the given number is after the selected range.
+	 */
+	boolean isAfterRange(int measureNumber) {
+		return measureNumber > lastMeasure;
+	}
+
+	/**
+	 * Returns the value that is subtracted from the numbers of the read measures.
+	 */
+	int getMeasureNumberOffset() {
+		return firstMeasure > 1 ? firstMeasure - 1 : 0;
+	}
+
+	@Override
+	public String toString() {
+		return "ReadSelection: measures " + firstMeasure + "-" + lastMeasure + ", part indices " + partIndices
+				+ ", part ids " + partIds;
+	}
+}
@@ -0,0 +1,152 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.io.musicxml;
+
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.util.StreamReaderDelegate;
+import javax.xml.validation.ValidatorHandler;
+
+/**
+ * A stream reader that validates the events it reads against a schema as they are read.
+ * <p>
+ * Each event read through this reader is passed on to a {@link ValidatorHandler}, so the input is validated in the
+ * same pass in which it is parsed. Validation errors are thrown as {@link XMLStreamException}s.
+ */
+final class ValidatingStreamReader extends StreamReaderDelegate {
+
+	private final ValidatorHandler validatorHandler;
+	private final AttributesImpl attributes = new AttributesImpl();
+
+	/**
+	 * Constructor.
+	 *
+	 * @param reader           the reader that is validated, positioned at the start of the document
+	 * @param validatorHandler the validator handler to which the events are passed
+	 * @throws XMLStreamException if starting the validation fails
+	 */
+	ValidatingStreamReader(XMLStreamReader reader, ValidatorHandler validatorHandler) throws XMLStreamException {
+		super(reader);
+		this.validatorHandler = validatorHandler;
+
+		try {
+			validatorHandler.startDocument();
+		} catch (SAXException e) {
+			throw new XMLStreamException(e.getMessage(), e);
+		}
+	}
+
+	@Override
+	public int next() throws XMLStreamException {
+		final int event = super.next();
+
+		try {
+			switch (event) {
+				case XMLStreamConstants.START_ELEMENT:
+					startElement();
+					break;
+				case XMLStreamConstants.END_ELEMENT:
+					endElement();
+					break;
+				case XMLStreamConstants.CHARACTERS:
+				case XMLStreamConstants.CDATA:
+				case XMLStreamConstants.SPACE:
+					validatorHandler.characters(getTextCharacters(), getTextStart(), getTextLength());
+					break;
+				case XMLStreamConstants.END_DOCUMENT:
+					validatorHandler.endDocument();
+					break;
+				default:
+					break;
+			}
+		} catch (SAXException e) {
+			throw new XMLStreamException(e.getMessage(), getLocation(), e);
+		}
+
+		return event;
+	}
+
+	@Override
+	public int nextTag() throws XMLStreamException {
+		int event = next();
+		while ((event == XMLStreamConstants.CHARACTERS && isWhiteSpace())
+				|| (event == XMLStreamConstants.CDATA && isWhiteSpace())
+				|| event == XMLStreamConstants.SPACE
+				|| event == XMLStreamConstants.PROCESSING_INSTRUCTION
+				|| event == XMLStreamConstants.COMMENT) {
+			event = next();
+		}
+
+		if (event != XMLStreamConstants.START_ELEMENT && event != XMLStreamConstants.END_ELEMENT) {
+			throw new XMLStreamException("Expected start or end tag", getLocation());
+		}
+
+		return event;
+	}
+
+	@Override
+	public String getElementText() throws XMLStreamException {
+		final StringBuilder text = new StringBuilder();
+
+		int event = next();
+		while (event != XMLStreamConstants.END_ELEMENT) {
+			if (event == XMLStreamConstants.CHARACTERS
+					|| event == XMLStreamConstants.CDATA
+					|| event == XMLStreamConstants.SPACE
+					|| event == XMLStreamConstants.ENTITY_REFERENCE) {
+				text.append(getText());
+			} else if (event == XMLStreamConstants.START_ELEMENT) {
+				throw new XMLStreamException("Element text cannot contain elements", getLocation());
+			}
+
+			event = next();
+		}
+
+		return text.toString();
+	}
+
+	private void startElement() throws SAXException {
+		for (int i = 0; i < getNamespaceCount(); ++i) {
+			validatorHandler.startPrefixMapping(nullToEmpty(getNamespacePrefix(i)), getNamespaceURI(i));
+		}
+
+		attributes.clear();
+		for (int i = 0; i < getAttributeCount(); ++i) {
+			final QName name = getAttributeName(i);
+			attributes.addAttribute(nullToEmpty(name.getNamespaceURI()), name.getLocalPart(), toQualifiedName(name),
+					getAttributeType(i), getAttributeValue(i));
+		}
+
+		final QName name = getName();
+		validatorHandler.startElement(nullToEmpty(name.getNamespaceURI()), name.getLocalPart(),
+				toQualifiedName(name), attributes);
+	}
+
+	private void endElement() throws SAXException {
+		final QName name = getName();
+		validatorHandler.endElement(nullToEmpty(name.getNamespaceURI()), name.getLocalPart(), toQualifiedName(name));
+
+		for (int i = 0; i < getNamespaceCount(); ++i) {
+			validatorHandler.endPrefixMapping(nullToEmpty(getNamespacePrefix(i)));
+		}
+	}
+
+	private static String toQualifiedName(QName name) {
+		if (name.getPrefix() == null || name.getPrefix().equals(XMLConstants.DEFAULT_NS_PREFIX)) {
+			return name.getLocalPart();
+		}
+
+		return name.getPrefix() + ":" + name.getLocalPart();
+	}
+
+	private static String nullToEmpty(String value) {
+		return value == null ? "" : value;
+	}
+}
@@ -4,10 +4,13 @@
 package org.wmn4j.mir.discovery;
 
 import org.wmn4j.mir.PatternPosition;
+import org.wmn4j.notation.Duration;
 import org.wmn4j.notation.Score;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Implements repeated pattern discovery using point set representation of
@@ -18,8 +21,14 @@ import java.util.Collection;
  * Master's thesis, University of Helsinki. 2015.
  * https://helda.helsinki.fi/handle/10138/273479
  * <p>
- * NOTE: The current implementation of GeometricPatternDiscovery is not thread-safe. The SIATECHF algorithm
- * also has quadratic space complexity so running this on large scores will require a very large heap size.
+ * The computation can be split over multiple threads with {@link #withSiatechf(Score, double, int)}
+ * or {@link #withSiatechf(Score, double, ForkJoinPool)}. The results are the same and in the same order
+ * as when the computation is done on a single thread. Scores with a few hundred notes or fewer are computed on
+ * a single thread, because splitting the computation would cost more than it saves.
+ * <p>
+ * NOTE: The SIATECHF algorithm has quadratic space complexity. The difference vectors are stored in
+ * primitive arrays at roughly 8 bytes per pair of notes, so running this on large scores will still
+ * require a large heap size.
  */
 public final class GeometricPatternDiscovery implements PatternDiscovery {
 
@@ -45,12 +54,132 @@ public final class GeometricPatternDiscovery implements PatternDiscovery {
 	 * @return the results of running pattern discovery with SIATECH algorithm
 	 */
 	public static PatternDiscovery withSiatechf(Score score, double compressionRatio) {
+		return discoverWithSiatechf(score, compressionRatio, null);
+	}
+
+	/**
+	 * Returns the results of running pattern discovery with SIATECHF algorithm using the given number of threads.
+	 * The threads are created for this computation and released when it is done.
+	 * <p>
+	 * The returned patterns are the same and in the same order as the ones returned by
+	 * {@link #withSiatechf(Score, double)}.
+	 *
+	 * @param score            the score for which repeated pattern discovery is performed
+	 * @param compressionRatio the required non-negative minimum compression ratio for the returned patterns
+	 * @param parallelism      the number of threads used for the computation
+	 * @return the results of running pattern discovery with SIATECH algorithm
+	 */
+	public static PatternDiscovery withSiatechf(Score score, double compressionRatio, int parallelism) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("parallelism must be at least 1, was " + parallelism);
+		}
+
+		if (parallelism == 1) {
+			return withSiatechf(score, compressionRatio);
+		}
+
+		final ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			return withSiatechf(score, compressionRatio, pool);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Returns the results of running pattern discovery with SIATECHF algorithm on the threads of the given pool.
+	 * The pool is not shut down after the computation.
+	 * <p>
+	 * The returned patterns are the same and in the same order as the ones returned by
+	 * {@link #withSiatechf(Score, double)}.
+	 *
+	 * @param score            the score for which repeated pattern discovery is performed
+	 * @param compressionRatio the required non-negative minimum compression ratio for the returned patterns
+	 * @param pool             the pool on which the computation is run
+	 * @return the results of running pattern discovery with SIATECH algorithm
+	 */
+	public static PatternDiscovery withSiatechf(Score score, double compressionRatio, ForkJoinPool pool) {
+		return discoverWithSiatechf(score, compressionRatio, Objects.requireNonNull(pool));
+	}
+
+	/**
+	 * Returns the results of running windowed pattern discovery with SIATECHF algorithm.
+	 * <p>
+	 * Only the pairs of notes whose onsets are at most the given window apart are used for forming the maximal
+	 * translatable patterns, as in the SIAR algorithm. This limits the memory used to roughly the number of notes
+	 * times the number of notes within the window, which makes it possible to run pattern discovery on long scores.
+	 * The patterns can still occur at any distance from each other, because the occurrences of each pattern are
+	 * searched from the whole score. Patterns whose notes span more than the window are only found if they are
+	 * maximal translatable patterns of some difference within the window.
+	 * <p>
+	 * If the onsets of the score cannot be represented exactly, the computation falls back to an implementation that
+	 * compares rounded onsets. The window is used in that case as well, but the computation is slower.
+	 *
+	 * @param score            the score for which repeated pattern discovery is performed
+	 * @param compressionRatio the required non-negative minimum compression ratio for the returned patterns
+	 * @param window           the largest difference between the onsets of the pairs of notes used for forming
+	 *                         patterns
+	 * @return the results of running windowed pattern discovery with SIATECHF algorithm
+	 */
+	public static PatternDiscovery withWindowedSiatechf(Score score, double compressionRatio, Duration window) {
+		Objects.requireNonNull(window);
+		checkCompressionRatio(compressionRatio);
+
+		final PointSet pointSet = new PointSet(score, true);
+		return fromTecs(score, pointSet, PackedSiatechf.computeWindowedMtpTecs(pointSet, compressionRatio, window));
+	}
+
+	/**
+	 * Returns the results of running pattern discovery with the COSIATEC algorithm.
+	 * <p>
+	 * Instead of all the translational equivalence classes, COSIATEC returns a small set of them that compactly
+	 * encodes the notes of the score. It repeatedly selects the equivalence class with the best compression ratio
+	 * among the notes that are not yet covered and removes the notes covered by it, until all notes are covered or
+	 * the remaining notes cannot be compressed. The occurrences of different selected patterns do not share notes.
+	 * The patterns are returned in the order in which they were selected.
+	 * <p>
+	 * The translational equivalence classes are computed again for the remaining notes after each selection, so
+	 * this is slower than {@link #withSiatecCompress(Score)}.
+	 *
+	 * @param score the score for which repeated pattern discovery is performed
+	 * @return the results of running pattern discovery with COSIATEC algorithm
+	 */
+	public static PatternDiscovery withCosiatec(Score score) {
+		final PointSet pointSet = new PointSet(score, true);
+		return fromTecs(score, pointSet, TecSelection.cosiatec(pointSet));
+	}
+
+	/**
+	 * Returns the results of running pattern discovery with the SIATECCompress algorithm.
+	 * <p>
+	 * Instead of all the translational equivalence classes, SIATECCompress returns a small set of them that
+	 * compactly encodes the notes of the score. The equivalence classes are computed once and gone through from
+	 * the best compression ratio to the worst, and an equivalence class is selected if it covers more notes that
+	 * are not yet covered than are needed for representing it. The occurrences of different selected patterns can
+	 * share notes. The patterns are returned in the order in which they were selected.
+	 *
+	 * @param score the score for which repeated pattern discovery is performed
+	 * @return the results of running pattern discovery with SIATECCompress algorithm
+	 */
+	public static PatternDiscovery withSiatecCompress(Score score) {
+		final PointSet pointSet = new PointSet(score, true);
+		return fromTecs(score, pointSet, TecSelection.siatecCompress(pointSet));
+	}
+
+	private static void checkCompressionRatio(double compressionRatio) {
 		if (compressionRatio < 0.0) {
 			throw new IllegalArgumentException("Compression ratio must be non-negative, was " + compressionRatio);
 		}
+	}
+
+	private static PatternDiscovery discoverWithSiatechf(Score score, double compressionRatio, ForkJoinPool pool) {
+		checkCompressionRatio(compressionRatio);
+
+		final PointSet pointSet = new PointSet(score, true);
+		return fromTecs(score, pointSet, PackedSiatechf.computeMtpTecs(pointSet, compressionRatio, pool));
+	}
 
-		final PointSet pointSet = new PointSet(score);
-		final Collection<Tec> tecs = Siatechf.computeMtpTecs(pointSet, compressionRatio);
+	private static PatternDiscovery fromTecs(Score score, PointSet pointSet, Collection<Tec> tecs) {
 		final Collection<Collection<PatternPosition>> allPatterns = new ArrayList<>(tecs.size());
 		for (Tec tec : tecs) {
 			final Collection<PatternPosition> patternPositions = new ArrayList<>(tec.getTranslators().size() + 1);
@@ -7,6 +7,14 @@ package org.wmn4j.mir.discovery;
  * Vector representation of a note event. NoteEventVectors are
  * ordered lexicographically.
  * <p>
+ * The offset of a vector is either a double that is rounded for comparisons, or
+ * an exact number of ticks of a given tick resolution. Vectors with tick offsets
+ * pack their coordinates into a single long, so that they are compared and hashed
+ * exactly and without rounding. Vectors with tick offsets are only equal to vectors
+ * with tick offsets of the same resolution. Vectors whose coordinates are equal but
+ * whose tick resolutions differ are ordered by their tick resolutions, so the ordering
+ * is consistent with equals.
+ * <p>
  * This class is immutable.
  */
 final class NoteEventVector implements Comparable<NoteEventVector> {
@@ -17,6 +25,14 @@ final class NoteEventVector implements Comparable<NoteEventVector> {
 	private static final long HASH_MULTIPLIER_3 = RandomMultipliers.INSTANCE.getMultiplier(3);
 	private static final long HASH_MULTIPLIER_4 = RandomMultipliers.INSTANCE.getMultiplier(4);
 
+	private static final int PITCH_BITS = 12;
+	private static final int PART_BITS = 12;
+	private static final int OFFSET_SHIFT = PITCH_BITS + PART_BITS;
+	private static final long PITCH_BIAS = 1L << (PITCH_BITS - 1);
+	private static final long PART_BIAS = 1L << (PART_BITS - 1);
+	private static final long MAX_OFFSET_TICKS = 1L << (Long.SIZE - 1 - OFFSET_SHIFT);
+	private static final int NO_TICKS = 0;
+
 	private static final int OFFSET_PLACES = 8;
 	private static final double ROUNDING_FACTOR = Math.pow(10, OFFSET_PLACES);
 
@@ -28,9 +44,15 @@ final class NoteEventVector implements Comparable<NoteEventVector> {
 	private final double roundedOffset;
 	private final int pitch;
 	private final int part;
+	private final int tickResolution;
+	private final long packed;
 	private final int hash;
 
 	NoteEventVector(double offset, int pitch, int part) {
+		this(offset, pitch, part, NO_TICKS, 0);
+	}
+
+	private NoteEventVector(double offset, int pitch, int part, int tickResolution, long packed) {
 		this.rawOffset = offset;
 		/*
 		 * This rounding is necessary to ensure that values close to each other
@@ -43,7 +65,66 @@ final class NoteEventVector implements Comparable<NoteEventVector> {
 		this.roundedOffset = Math.round(rawOffset * ROUNDING_FACTOR) / ROUNDING_FACTOR;
 		this.pitch = pitch;
 		this.part = part;
-		this.hash = computeHash();
+		this.tickResolution = tickResolution;
+		this.packed = packed;
+		this.hash = hasOffsetTicks() ? computePackedHash() : computeHash();
+	}
+
+	/**
+	 * Returns a vector whose offset is the given number of ticks, where the tick
+	 * resolution is the number of ticks in a unit of offset.
+	 *
+	 * @throws IllegalArgumentException if the tick resolution is not positive or
+	 *                                  the coordinates cannot be packed
+	 */
+	static NoteEventVector ofTicks(long offsetTicks, int tickResolution, int pitch, int part) {
+		if (tickResolution <= 0) {
+			throw new IllegalArgumentException("Tick resolution must be positive, was " + tickResolution);
+		}
+
+		if (!isPackable(offsetTicks, pitch, part)) {
+			throw new IllegalArgumentException("Cannot pack offset " + offsetTicks + ", pitch " + pitch + " and part "
+					+ part + " into a vector");
+		}
+
+		return new NoteEventVector((double) offsetTicks / tickResolution, pitch, part, tickResolution,
+				pack(offsetTicks, pitch, part));
+	}
+
+	/**
+	 * Returns true if the given coordinates can be packed with {@link #pack(long, long, long)}.
+	 */
+	static boolean isPackable(long offsetTicks, long pitch, long part) {
+		return offsetTicks > -MAX_OFFSET_TICKS && offsetTicks < MAX_OFFSET_TICKS
+				&& pitch >= -PITCH_BIAS && pitch < PITCH_BIAS
+				&& part >= -PART_BIAS && part < PART_BIAS;
+	}
+
+	/**
+	 * Returns the given coordinates packed into a long whose ordering is the same as
+	 * the lexicographic ordering of the coordinates. The coordinates must be packable.
+	 */
+	static long pack(long offsetTicks, long pitch, long part) {
+		return (offsetTicks << OFFSET_SHIFT) + ((pitch + PITCH_BIAS) << PART_BITS) + (part + PART_BIAS);
+	}
+
+	/**
+	 * Returns true if the offset of this vector is an exact number of ticks.
+	 */
+	boolean hasOffsetTicks() {
+		return tickResolution != NO_TICKS;
+	}
+
+	/**
+	 * Returns the offset of this vector as a number of ticks. Only defined for
+	 * vectors with tick offsets.
+	 */
+	long getOffsetTicks() {
+		return packed >> OFFSET_SHIFT;
+	}
+
+	private boolean hasSameTickResolution(NoteEventVector other) {
+		return hasOffsetTicks() && tickResolution == other.tickResolution;
 	}
 
 	double getRoundedOffset() {
@@ -59,6 +140,11 @@ final class NoteEventVector implements Comparable<NoteEventVector> {
 	}
 
 	NoteEventVector add(NoteEventVector other) {
+		if (hasSameTickResolution(other)) {
+			return fromTicks(getOffsetTicks() + other.getOffsetTicks(), pitch + other.getPitch(),
+					part + other.getPart());
+		}
+
 		final double offsetSum = rawOffset + other.rawOffset;
 		final int pitchSum = pitch + other.getPitch();
 		final int partSum = part + other.getPart();
@@ -67,6 +153,11 @@ final class NoteEventVector implements Comparable<NoteEventVector> {
 	}
 
 	NoteEventVector subtract(NoteEventVector other) {
+		if (hasSameTickResolution(other)) {
+			return fromTicks(getOffsetTicks() - other.getOffsetTicks(), pitch - other.getPitch(),
+					part - other.getPart());
+		}
+
 		final double offsetDifference = rawOffset - other.rawOffset;
 		final int pitchDifference = pitch - other.getPitch();
 		final int partDifference = part - other.getPart();
@@ -74,8 +165,24 @@ final class NoteEventVector implements Comparable<NoteEventVector> {
 		return new NoteEventVector(offsetDifference, pitchDifference, partDifference);
 	}
 
+	/**
+	 * Returns a vector with the given coordinates and the tick resolution of this vector. Falls back to a double
+	 * offset if the coordinates cannot be packed, which only happens for vectors that are not in any point set.
+	 */
+	private NoteEventVector fromTicks(long offsetTicks, int pitch, int part) {
+		if (isPackable(offsetTicks, pitch, part)) {
+			return new NoteEventVector((double) offsetTicks / tickResolution, pitch, part, tickResolution,
+					pack(offsetTicks, pitch, part));
+		}
+
+		return new NoteEventVector((double) offsetTicks / tickResolution, pitch, part);
+	}
+
 	@Override
 	public int compareTo(NoteEventVector other) {
+		if (hasSameTickResolution(other)) {
+			return Long.compare(packed, other.packed);
+		}
 
 		final int offsetComparison = Double.compare(roundedOffset, other.roundedOffset);
 		if (offsetComparison != 0) {
@@ -87,7 +194,13 @@ final class NoteEventVector implements Comparable<NoteEventVector> {
 			return pitchComparison;
 		}
 
-		return Integer.compare(part, other.getPart());
+		final int partComparison = Integer.compare(part, other.getPart());
+		if (partComparison != 0) {
+			return partComparison;
+		}
+
+		// Vectors with different tick resolutions are never equal, so they are ordered by their tick resolutions.
+		return Integer.compare(tickResolution, other.tickResolution);
 	}
 
 	@Override
@@ -101,6 +214,10 @@ final class NoteEventVector implements Comparable<NoteEventVector> {
 		}
 
 		final NoteEventVector other = (NoteEventVector) o;
+		if (tickResolution != other.tickResolution) {
+			return false;
+		}
+
 		return this.compareTo(other) == 0;
 	}
 
@@ -124,6 +241,13 @@ final class NoteEventVector implements Comparable<NoteEventVector> {
 		return (int) hash;
 	}
 
+	private int computePackedHash() {
+		long hash = HASH_MULTIPLIER_0;
+		hash += (int) (packed >> 32) * HASH_MULTIPLIER_1;
+		hash += (int) packed * HASH_MULTIPLIER_2;
+		return (int) (hash >>> 32);
+	}
+
 	@Override
 	public int hashCode() {
 		return this.hash;
@@ -0,0 +1,865 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.mir.discovery;
+
+import org.wmn4j.notation.Duration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Implementation of the SIATECHF algorithm that stores the point set and the difference vectors between the points
+ * in primitive arrays. Produces the same TECs as {@link Siatechf}.
+ * <p>
+ * Each vector is packed into a long whose ordering is the same as the lexicographic ordering of the vectors. The
+ * index pairs of the points are grouped by their difference vectors by merging the rows of differences from each
+ * point, which are already sorted because the points are sorted. This way the groups are stored in three arrays
+ * instead of a map from vector objects to lists of index pair objects. The vectorized patterns of the MTPs that have
+ * already been processed are found through a hash table of group indices instead of a set of pattern objects.
+ * <p>
+ * The computation can be run on a fork/join pool. The pairs are then grouped in shards that cover disjoint ranges of
+ * difference vectors, so that the groups of the shards only need to be concatenated, and the MTPs are evaluated
+ * concurrently. Only the removal of duplicate MTPs is done sequentially in the order of the groups, so the
+ * returned TECs and their order are the same as when the computation is run sequentially. Point sets with fewer
+ * than {@link #MIN_PARALLEL_PAIRS} pairs are always computed sequentially.
+ * <p>
+ * The pairs can also be limited to the points whose offsets are within a window of each other, as in SIAR, so that
+ * the memory used grows with the number of points times the number of points in a window. Whether a pair is within
+ * the window only depends on its difference vector, so the groups of differences within the window are still
+ * complete. The MTPs are formed from the pairs within the window, but their translators are searched from the whole
+ * point set, looking up the translated points directly for the differences that are outside the window.
+ * <p>
+ * The packed representation requires the exact offsets of the points and limits the ranges of the coordinates. For
+ * point sets outside those limits the computation is done with {@link Siatechf} using the same window.
+ */
+final class PackedSiatechf {
+
+	private static final long MAX_PAIR_INDEX = Integer.MAX_VALUE;
+	private static final long NO_WINDOW = Long.MAX_VALUE;
+	private static final int NO_GROUP = -1;
+	private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+	private static final int SHARDS_PER_THREAD = 4;
+	private static final int SAMPLES_PER_SHARD = 64;
+	private static final int TASKS_PER_THREAD = 8;
+
+	/**
+	 * The smallest number of pairs for which the computation is split over the threads of a pool. Below this the
+	 * whole computation takes a few milliseconds, and splitting it costs more than it saves.
+	 */
+	static final long MIN_PARALLEL_PAIRS = 1L << 16;
+
+	private final PointSet pointSet;
+	private final ForkJoinPool pool;
+	private final int size;
+	private final long[] offsets;
+	private final int[] pitches;
+	private final int[] parts;
+	private final long[] packedPoints;
+
+	// The pairs (i, j) are limited to j < windowEnds[i], where windowEnds[i] is the index of the first point whose
+	// offset is more than the window after the offset of point i. The stride is the largest number of pairs of a
+	// single point.
+	private final long windowTicks;
+	private final int[] windowEnds;
+	private final int stride;
+	private final long pairCount;
+
+	// The index pairs of the points grouped by their difference vectors. The difference vectors are in ascending
+	// order in groupDifferences and the pairs of group g are at indices from groupStarts[g] (inclusive) to
+	// groupStarts[g + 1] (exclusive) of pairs, in ascending order of the indices. A pair (i, j) is stored as
+	// i * stride + (j - i - 1).
+	private long[] groupDifferences;
+	private int[] groupStarts;
+	private int groupCount;
+	private int[] pairs;
+
+	// The hashes of the vectorized MTPs of the groups, and an open addressing hash table of the groups whose
+	// vectorized MTPs have been processed.
+	private long[] groupHashes;
+	private int[] processedGroups;
+
+	private PackedSiatechf(PointSet pointSet, long windowTicks, ForkJoinPool pool) {
+		this.pointSet = pointSet;
+		this.size = pointSet.size();
+		this.offsets = new long[size];
+		this.pitches = new int[size];
+		this.parts = new int[size];
+		this.packedPoints = new long[size];
+
+		for (int i = 0; i < size; ++i) {
+			final NoteEventVector point = pointSet.get(i);
+			offsets[i] = pointSet.getOffsetTicks(i);
+			pitches[i] = point.getPitch();
+			parts[i] = point.getPart();
+			packedPoints[i] = NoteEventVector.pack(offsets[i], pitches[i], parts[i]);
+		}
+
+		this.windowTicks = windowTicks;
+		this.windowEnds = new int[size];
+		int longestRow = 1;
+		long rowLengthSum = 0;
+		int windowEnd = 0;
+		for (int i = 0; i < size; ++i) {
+			windowEnd = Math.max(windowEnd, i + 1);
+			while (windowEnd < size && offsets[windowEnd] - offsets[i] <= windowTicks) {
+				++windowEnd;
+			}
+
+			windowEnds[i] = windowEnd;
+			longestRow = Math.max(longestRow, windowEnd - i - 1);
+			rowLengthSum += windowEnd - i - 1;
+		}
+
+		this.stride = longestRow;
+		this.pairCount = rowLengthSum;
+		this.pool = pairCount < MIN_PARALLEL_PAIRS ? null : pool;
+	}
+
+	/**
+	 * Returns all TECs in the given point set whose compression ratio exceeds the
+	 * given minimum.
+	 *
+	 * @param pointSet            the point set for which tecs are computed
+	 * @param minCompressionRatio the minimum compression ratio of the given TECs
+	 * @return all TECs in the given point set whose compression ratio exceeds the
+	 * given minimum
+	 */
+	static List<Tec> computeMtpTecs(PointSet pointSet, double minCompressionRatio) {
+		return computeMtpTecs(pointSet, minCompressionRatio, null);
+	}
+
+	/**
+	 * Returns all TECs in the given point set whose compression ratio exceeds the
+	 * given minimum computing them on the given pool. The returned TECs are the same
+	 * and in the same order as when they are computed sequentially. Point sets with fewer
+	 * than {@link #MIN_PARALLEL_PAIRS} pairs are computed sequentially on the calling thread.
+	 *
+	 * @param pointSet            the point set for which tecs are computed
+	 * @param minCompressionRatio the minimum compression ratio of the given TECs
+	 * @param pool                the pool on which the TECs are computed, or null if they
+	 *                            are computed sequentially on the calling thread
+	 * @return all TECs in the given point set whose compression ratio exceeds the
+	 * given minimum
+	 */
+	static List<Tec> computeMtpTecs(PointSet pointSet, double minCompressionRatio, ForkJoinPool pool) {
+		return computeMtpTecs(pointSet, minCompressionRatio, null, pool);
+	}
+
+	/**
+	 * Returns all TECs whose compression ratio exceeds the given minimum of the MTPs
+	 * formed from the pairs of points whose offsets differ at most by the given window.
+	 * The translators of the MTPs are searched from the whole point set.
+	 * <p>
+	 * If the point set cannot be packed, the TECs are computed with {@link Siatechf}
+	 * using the same window.
+	 *
+	 * @param pointSet            the point set for which tecs are computed
+	 * @param minCompressionRatio the minimum compression ratio of the given TECs
+	 * @param window              the largest offset difference of the pairs from which
+	 *                            MTPs are formed
+	 * @return all TECs of the MTPs within the window whose compression ratio exceeds
+	 * the given minimum
+	 */
+	static List<Tec> computeWindowedMtpTecs(PointSet pointSet, double minCompressionRatio, Duration window) {
+		return computeMtpTecs(pointSet, minCompressionRatio, Objects.requireNonNull(window), null);
+	}
+
+	/**
+	 * Computes the TECs of the MTPs within the given window, or of all MTPs if the window is null.
+	 */
+	private static List<Tec> computeMtpTecs(PointSet pointSet, double minCompressionRatio, Duration window,
+			ForkJoinPool pool) {
+		if (!canBePacked(pointSet)) {
+			return computeWithSiatechf(pointSet, minCompressionRatio, window);
+		}
+
+		final long windowTicks = window == null
+				? NO_WINDOW
+				: (long) window.getNumerator() * pointSet.getTickResolution() / window.getDenominator();
+		final PackedSiatechf siatechf = new PackedSiatechf(pointSet, windowTicks, pool);
+		if (siatechf.pairCount > MAX_PAIR_INDEX || (long) siatechf.size * siatechf.stride > MAX_PAIR_INDEX) {
+			return computeWithSiatechf(pointSet, minCompressionRatio, window);
+		}
+
+		siatechf.groupPairsByDifference();
+		return siatechf.computeTecs(minCompressionRatio);
+	}
+
+	private static List<Tec> computeWithSiatechf(PointSet pointSet, double minCompressionRatio, Duration window) {
+		if (window == null) {
+			return Siatechf.computeMtpTecs(pointSet, minCompressionRatio);
+		}
+
+		return Siatechf.computeWindowedMtpTecs(pointSet, minCompressionRatio, window.toDouble());
+	}
+
+	private static boolean canBePacked(PointSet pointSet) {
+		final int size = pointSet.size();
+		if (!pointSet.hasOffsetTicks()) {
+			return false;
+		}
+
+		for (int i = 0; i < size; ++i) {
+			final NoteEventVector point = pointSet.get(i);
+			if (pointSet.getOffsetTicks(i) < 0 || point.getPitch() < 0 || point.getPart() < 0
+					|| !NoteEventVector.isPackable(pointSet.getOffsetTicks(i), point.getPitch(), point.getPart())) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns the packed difference vector from the point at index from to the point at index to. The point at
+	 * index to must not be lexicographically smaller than the point at index from.
+	 */
+	private long difference(int from, int to) {
+		return NoteEventVector.pack(offsets[to] - offsets[from], pitches[to] - pitches[from], parts[to] - parts[from]);
+	}
+
+	private int first(int pair) {
+		return pairs[pair] / stride;
+	}
+
+	private int second(int pair) {
+		return first(pair) + 1 + pairs[pair] % stride;
+	}
+
+	/**
+	 * Returns true if the offset of the point at index to is at most the window after the offset of the point at
+	 * index from, so that all the pairs with the same difference are grouped.
+	 */
+	private boolean isWithinWindow(int from, int to) {
+		return offsets[to] - offsets[from] <= windowTicks;
+	}
+
+	/**
+	 * Groups the index pairs (i, j), i &lt; j, by their difference vectors. The pairs are split into shards by
+	 * ranges of difference vectors, and the groups of each shard are formed independently. The groups of the shards
+	 * are in ascending order of difference vectors when the shards are concatenated in the order of their ranges.
+	 */
+	private void groupPairsByDifference() {
+		pairs = new int[(int) pairCount];
+
+		final long[] bounds = shardBounds();
+		final int shardCount = bounds.length - 1;
+		if (shardCount == 1) {
+			final Groups groups = groupShard(bounds[0], bounds[1], 0);
+			groupDifferences = groups.differences;
+			groupStarts = groups.starts;
+			groupCount = groups.count;
+			groupStarts[groupCount] = pairs.length;
+			return;
+		}
+
+		final int[] shardStarts = new int[shardCount + 1];
+		forEachIndex(shardCount, shard -> shardStarts[shard + 1] = countPairs(bounds[shard], bounds[shard + 1]));
+		for (int shard = 0; shard < shardCount; ++shard) {
+			shardStarts[shard + 1] += shardStarts[shard];
+		}
+
+		final Groups[] shards = new Groups[shardCount];
+		forEachIndex(shardCount,
+				shard -> shards[shard] = groupShard(bounds[shard], bounds[shard + 1], shardStarts[shard]));
+
+		for (Groups shard : shards) {
+			groupCount += shard.count;
+		}
+
+		groupDifferences = new long[groupCount];
+		groupStarts = new int[groupCount + 1];
+		int group = 0;
+		for (Groups shard : shards) {
+			System.arraycopy(shard.differences, 0, groupDifferences, group, shard.count);
+			System.arraycopy(shard.starts, 0, groupStarts, group, shard.count);
+			group += shard.count;
+		}
+
+		groupStarts[groupCount] = pairs.length;
+	}
+
+	/**
+	 * Returns the bounds of the ranges of difference vectors into which the pairs are split. Shard s covers the
+	 * differences from bounds[s] (inclusive) to bounds[s + 1] (exclusive). The bounds are chosen from an evenly
+	 * spaced sample of the pairs so that the shards are of roughly equal size.
+	 */
+	private long[] shardBounds() {
+		final int shardCount = pool == null ? 1 : pool.getParallelism() * SHARDS_PER_THREAD;
+		final int sampleCount = shardCount * SAMPLES_PER_SHARD;
+		if (shardCount == 1 || pairCount < sampleCount) {
+			return new long[] { Long.MIN_VALUE, Long.MAX_VALUE };
+		}
+
+		// Sample number s is the pair at index s * pairCount / sampleCount when the rows are laid out one after
+		// another.
+		final long[] samples = new long[sampleCount];
+		int sample = 0;
+		long rowStart = 0;
+		for (int row = 0; row < size - 1 && sample < sampleCount; ++row) {
+			final long rowEnd = rowStart + windowEnds[row] - row - 1;
+			long position = (long) sample * pairCount / sampleCount;
+			while (position < rowEnd) {
+				samples[sample] = difference(row, row + 1 + (int) (position - rowStart));
+				++sample;
+				if (sample == sampleCount) {
+					break;
+				}
+				position = (long) sample * pairCount / sampleCount;
+			}
+
+			rowStart = rowEnd;
+		}
+
+		Arrays.sort(samples);
+
+		final long[] bounds = new long[shardCount + 1];
+		bounds[0] = Long.MIN_VALUE;
+		int boundCount = 1;
+		for (int shard = 1; shard < shardCount; ++shard) {
+			final long bound = samples[shard * SAMPLES_PER_SHARD];
+			if (bound != bounds[boundCount - 1]) {
+				bounds[boundCount++] = bound;
+			}
+		}
+
+		bounds[boundCount++] = Long.MAX_VALUE;
+		return Arrays.copyOf(bounds, boundCount);
+	}
+
+	/**
+	 * Returns the index of the first point j in the row of the given point for which the difference from the point
+	 * to j is at least the given bound. Returns the end of the row if there is no such point.
+	 */
+	private int rowStart(int row, long bound) {
+		if (bound == Long.MIN_VALUE) {
+			return row + 1;
+		}
+
+		if (bound == Long.MAX_VALUE) {
+			return windowEnds[row];
+		}
+
+		int low = row + 1;
+		int high = windowEnds[row];
+		while (low < high) {
+			final int middle = (low + high) >>> 1;
+			if (difference(row, middle) < bound) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+
+		return low;
+	}
+
+	/**
+	 * Returns the number of pairs whose differences are in the given range.
+	 */
+	private int countPairs(long lowerBound, long upperBound) {
+		int count = 0;
+		for (int row = 0; row < size - 1; ++row) {
+			count += rowStart(row, upperBound) - rowStart(row, lowerBound);
+		}
+
+		return count;
+	}
+
+	/**
+	 * The groups of a shard. The starts of the groups are indices of the shared pairs array.
+	 */
+	private static final class Groups {
+		private long[] differences;
+		private int[] starts;
+		private int count;
+
+		Groups(int capacity) {
+			this.differences = new long[capacity];
+			this.starts = new int[capacity + 1];
+		}
+
+		void add(long difference, int start) {
+			if (count == differences.length) {
+				differences = Arrays.copyOf(differences, count * 2);
+				starts = Arrays.copyOf(starts, count * 2 + 1);
+			}
+
+			differences[count] = difference;
+			starts[count] = start;
+			++count;
+		}
+	}
+
+	/**
+	 * Groups the pairs whose differences are in the given range and writes them into the pairs array starting from
+	 * the given index. For each i the differences to the points j &gt; i are in ascending order, so the groups are
+	 * formed by merging the parts of these rows that are in the range with a heap that holds the next difference of
+	 * each row.
+	 */
+	private Groups groupShard(long lowerBound, long upperBound, int firstPair) {
+		final Groups groups = new Groups(Math.max(16, size / (pool == null ? 1 : pool.getParallelism())));
+
+		final int[] nextInRow = new int[size];
+		final int[] rowEnds = new int[size];
+		final long[] heapDifferences = new long[size];
+		final int[] heapRows = new int[size];
+		int heapSize = 0;
+
+		for (int row = 0; row < size - 1; ++row) {
+			nextInRow[row] = rowStart(row, lowerBound);
+			rowEnds[row] = rowStart(row, upperBound);
+			if (nextInRow[row] < rowEnds[row]) {
+				heapDifferences[heapSize] = difference(row, nextInRow[row]);
+				heapRows[heapSize] = row;
+				siftUp(heapDifferences, heapRows, heapSize);
+				++heapSize;
+			}
+		}
+
+		int pair = firstPair;
+		while (heapSize > 0) {
+			final long smallest = heapDifferences[0];
+			final int row = heapRows[0];
+
+			if (groups.count == 0 || groups.differences[groups.count - 1] != smallest) {
+				groups.add(smallest, pair);
+			}
+
+			pairs[pair] = row * stride + (nextInRow[row] - row - 1);
+			++pair;
+
+			++nextInRow[row];
+			if (nextInRow[row] < rowEnds[row]) {
+				heapDifferences[0] = difference(row, nextInRow[row]);
+			} else {
+				--heapSize;
+				heapDifferences[0] = heapDifferences[heapSize];
+				heapRows[0] = heapRows[heapSize];
+			}
+
+			siftDown(heapDifferences, heapRows, heapSize);
+		}
+
+		return groups;
+	}
+
+	/**
+	 * Runs the given action for each index from 0 (inclusive) to count (exclusive). The action is run concurrently
+	 * for different indices if a pool is used.
+	 */
+	private void forEachIndex(int count, IntConsumer action) {
+		if (pool == null) {
+			for (int i = 0; i < count; ++i) {
+				action.accept(i);
+			}
+
+			return;
+		}
+
+		final int taskSize = Math.max(1, count / (pool.getParallelism() * TASKS_PER_THREAD));
+		pool.invoke(new IndexRangeAction(0, count, taskSize, action));
+	}
+
+	/**
+	 * Runs an action for a range of indices by splitting the range until it is at most the given task size.
+	 */
+	private static final class IndexRangeAction extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final int from;
+		private final int to;
+		private final int taskSize;
+		private final transient IntConsumer action;
+
+		IndexRangeAction(int from, int to, int taskSize, IntConsumer action) {
+			this.from = from;
+			this.to = to;
+			this.taskSize = taskSize;
+			this.action = action;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= taskSize) {
+				for (int i = from; i < to; ++i) {
+					action.accept(i);
+				}
+
+				return;
+			}
+
+			final int middle = (from + to) >>> 1;
+			invokeAll(new IndexRangeAction(from, middle, taskSize, action),
+					new IndexRangeAction(middle, to, taskSize, action));
+		}
+	}
+
+	/**
+	 * Returns true if the heap element at index first precedes the heap element at index second. Elements are
+	 * ordered by difference and then by row, so that the pairs of a group are in ascending order of indices.
+	 */
+	private static boolean precedes(long[] heapDifferences, int[] heapRows, int first, int second) {
+		if (heapDifferences[first] != heapDifferences[second]) {
+			return heapDifferences[first] < heapDifferences[second];
+		}
+
+		return heapRows[first] < heapRows[second];
+	}
+
+	private static void swap(long[] heapDifferences, int[] heapRows, int first, int second) {
+		final long difference = heapDifferences[first];
+		heapDifferences[first] = heapDifferences[second];
+		heapDifferences[second] = difference;
+
+		final int row = heapRows[first];
+		heapRows[first] = heapRows[second];
+		heapRows[second] = row;
+	}
+
+	private static void siftUp(long[] heapDifferences, int[] heapRows, int index) {
+		int child = index;
+		while (child > 0) {
+			final int parent = (child - 1) / 2;
+			if (!precedes(heapDifferences, heapRows, child, parent)) {
+				return;
+			}
+
+			swap(heapDifferences, heapRows, child, parent);
+			child = parent;
+		}
+	}
+
+	private static void siftDown(long[] heapDifferences, int[] heapRows, int heapSize) {
+		int parent = 0;
+		while (true) {
+			int smallest = parent;
+			final int left = 2 * parent + 1;
+			final int right = left + 1;
+
+			if (left < heapSize && precedes(heapDifferences, heapRows, left, smallest)) {
+				smallest = left;
+			}
+
+			if (right < heapSize && precedes(heapDifferences, heapRows, right, smallest)) {
+				smallest = right;
+			}
+
+			if (smallest == parent) {
+				return;
+			}
+
+			swap(heapDifferences, heapRows, parent, smallest);
+			parent = smallest;
+		}
+	}
+
+	private int groupOf(long difference) {
+		return Arrays.binarySearch(groupDifferences, 0, groupCount, difference);
+	}
+
+	private int groupSize(int group) {
+		return groupStarts[group + 1] - groupStarts[group];
+	}
+
+	/**
+	 * Returns the TECs of the distinct MTPs whose compression ratio is at least the given minimum. The hashes of the
+	 * MTPs are computed and the distinct MTPs evaluated concurrently, but the duplicates are removed in the order of
+	 * the groups so that the TEC of an MTP is always computed from its first group.
+	 */
+	private List<Tec> computeTecs(double minCompressionRatio) {
+		groupHashes = new long[groupCount];
+		forEachIndex(groupCount, group -> groupHashes[group] = hashOfVectorizedMtp(group));
+
+		processedGroups = new int[Integer.highestOneBit(Math.max(1, groupCount)) * 4];
+		Arrays.fill(processedGroups, NO_GROUP);
+
+		final int[] distinctGroups = new int[groupCount];
+		int distinctCount = 0;
+		for (int group = 0; group < groupCount; ++group) {
+			if (markProcessed(group)) {
+				distinctGroups[distinctCount++] = group;
+			}
+		}
+
+		final Tec[] evaluated = new Tec[distinctCount];
+		forEachIndex(distinctCount, i -> evaluated[i] = evaluate(distinctGroups[i], minCompressionRatio));
+
+		final List<Tec> tecs = new ArrayList<>();
+		for (Tec tec : evaluated) {
+			if (tec != null) {
+				tecs.add(tec);
+			}
+		}
+
+		return tecs;
+	}
+
+	/**
+	 * Returns the TEC of the MTP of the given group if its compression ratio is at least the given minimum, and
+	 * null otherwise.
+	 */
+	private Tec evaluate(int group, double minCompressionRatio) {
+		if (upperBoundOnCompressionRatio(group) < minCompressionRatio) {
+			return null;
+		}
+
+		final int start = groupStarts[group];
+		final int patternSize = groupSize(group);
+
+		// The points of the MTP are the first points of the pairs in the group.
+		final long[] vectorized = new long[patternSize - 1];
+		for (int i = 1; i < patternSize; ++i) {
+			vectorized[i - 1] = difference(first(start + i - 1), first(start + i));
+		}
+
+		final int[] targets = findTranslatorTargets(group, vectorized);
+		if (compressionRatio(group, targets) < minCompressionRatio) {
+			return null;
+		}
+
+		return createTec(group, targets);
+	}
+
+	private long hashOfVectorizedMtp(int group) {
+		final int start = groupStarts[group];
+		final int end = groupStarts[group + 1];
+
+		long hash = end - start - 1;
+		for (int i = start + 1; i < end; ++i) {
+			hash = (hash + difference(first(i - 1), first(i))) * HASH_MULTIPLIER;
+			hash ^= hash >>> 29;
+		}
+
+		return hash;
+	}
+
+	/**
+	 * Adds the given group to the processed groups unless a group with the same vectorized MTP has already been
+	 * processed. Returns true if the group was added.
+	 */
+	private boolean markProcessed(int group) {
+		final long hash = groupHashes[group];
+		final int mask = processedGroups.length - 1;
+		int slot = (int) (hash >>> 32) & mask;
+		while (processedGroups[slot] != NO_GROUP) {
+			final int processed = processedGroups[slot];
+			if (groupHashes[processed] == hash && haveSameVectorizedMtp(processed, group)) {
+				return false;
+			}
+
+			slot = (slot + 1) & mask;
+		}
+
+		processedGroups[slot] = group;
+		return true;
+	}
+
+	/**
+	 * Returns true if the MTPs of the given groups have the same vectorized representation.
+	 */
+	private boolean haveSameVectorizedMtp(int group, int otherGroup) {
+		if (groupSize(group) != groupSize(otherGroup)) {
+			return false;
+		}
+
+		final int start = groupStarts[group];
+		final int otherStart = groupStarts[otherGroup];
+		for (int i = 1; i < groupSize(group); ++i) {
+			if (difference(first(start + i - 1), first(start + i))
+					!= difference(first(otherStart + i - 1), first(otherStart + i))) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns the indices of the points onto which the last point of the MTP of the given group, with the given
+	 * vectorized representation, can be translated so that all the points of the pattern are in the point set.
+	 */
+	private int[] findTranslatorTargets(int group, long[] vectorized) {
+		if (vectorized.length == 0) {
+			final int[] targets = new int[size];
+			for (int i = 0; i < size; ++i) {
+				targets[i] = i;
+			}
+
+			return targets;
+		}
+
+		// The targets are the points onto which the point of the pattern at index i can be translated.
+		final int start = groupStarts[group];
+		int[] targets;
+		int targetCount;
+
+		if (isWithinWindow(first(start), first(start + 1))) {
+			final int firstGroup = groupOf(vectorized[0]);
+			targets = new int[groupSize(firstGroup)];
+			for (int i = 0; i < targets.length; ++i) {
+				targets[i] = second(groupStarts[firstGroup] + i);
+			}
+
+			targetCount = targets.length;
+		} else {
+			targets = new int[size];
+			for (int i = 0; i < size; ++i) {
+				targets[i] = i;
+			}
+
+			targetCount = translateTargets(targets, size, first(start), first(start + 1));
+		}
+
+		for (int i = 1; i < vectorized.length; ++i) {
+			if (!isWithinWindow(first(start + i), first(start + i + 1))) {
+				targetCount = translateTargets(targets, targetCount, first(start + i), first(start + i + 1));
+				continue;
+			}
+
+			final int differenceGroup = groupOf(vectorized[i]);
+			final int groupEnd = groupStarts[differenceGroup + 1];
+			int newTargetCount = 0;
+
+			int j = 0;
+			int k = groupStarts[differenceGroup];
+			// The pairs whose first index is the target t are the ones from t * stride to (t + 1) * stride - 1, so
+			// the pairs are compared to the targets without dividing them.
+			while (j < targetCount && k < groupEnd) {
+				final int pairsOfTarget = targets[j] * stride;
+				if (pairs[k] < pairsOfTarget) {
+					++k;
+				} else if (pairs[k] >= pairsOfTarget + stride) {
+					++j;
+				} else {
+					targets[newTargetCount++] = targets[j] + 1 + pairs[k] - pairsOfTarget;
+					++j;
+					++k;
+				}
+			}
+
+			targetCount = newTargetCount;
+		}
+
+		return Arrays.copyOf(targets, targetCount);
+	}
+
+	/**
+	 * Replaces the given targets with the points onto which the point at index to is translated when the point at
+	 * index from is translated onto the targets, and returns the number of targets for which the translated point
+	 * is in the point set. Used for differences outside the window, whose pairs are not grouped.
+	 */
+	private int translateTargets(int[] targets, int targetCount, int from, int to) {
+		final long offsetDifference = offsets[to] - offsets[from];
+		final int pitchDifference = pitches[to] - pitches[from];
+		final int partDifference = parts[to] - parts[from];
+
+		int newTargetCount = 0;
+		for (int i = 0; i < targetCount; ++i) {
+			final long offset = offsets[targets[i]] + offsetDifference;
+			final int pitch = pitches[targets[i]] + pitchDifference;
+			final int part = parts[targets[i]] + partDifference;
+			if (!NoteEventVector.isPackable(offset, pitch, part)) {
+				continue;
+			}
+
+			int point = Arrays.binarySearch(packedPoints, NoteEventVector.pack(offset, pitch, part));
+			if (point >= 0) {
+				// Equal points are translated onto the first one of them, as when the pairs are grouped.
+				while (point > 0 && packedPoints[point - 1] == packedPoints[point]) {
+					--point;
+				}
+
+				targets[newTargetCount++] = point;
+			}
+		}
+
+		return newTargetCount;
+	}
+
+	/**
+	 * Returns an upper bound on the compression ratio of the MTP of the given group based on the number of
+	 * translatable points.
+	 */
+	private double upperBoundOnCompressionRatio(int group) {
+		final int patternSize = groupSize(group);
+		if (patternSize == 1) {
+			return 1.0;
+		}
+
+		final int start = groupStarts[group];
+		final int first = first(start);
+		final int last = first(start + patternSize - 1);
+
+		// Each occurrence of the pattern contains a pair with the difference between any two points of the pattern,
+		// but only the differences within the window have complete groups.
+		int occurrenceUpperBound = size;
+		if (isWithinWindow(first, last)) {
+			occurrenceUpperBound = groupSize(groupOf(difference(first, last)));
+		} else {
+			for (int i = start + 1; i < start + patternSize; ++i) {
+				if (isWithinWindow(first(i - 1), first(i))) {
+					occurrenceUpperBound = Math.min(occurrenceUpperBound,
+							groupSize(groupOf(difference(first(i - 1), first(i)))));
+				}
+			}
+		}
+
+		final double coverageUpperBound = (double) occurrenceUpperBound * patternSize;
+		return coverageUpperBound / (patternSize + occurrenceUpperBound - 1);
+	}
+
+	/**
+	 * Returns the compression ratio of the TEC of the MTP of the given group whose last point is translated onto
+	 * the points at the given target indices.
+	 */
+	private double compressionRatio(int group, int[] targets) {
+		final int start = groupStarts[group];
+		final int patternSize = groupSize(group);
+		final int last = first(start + patternSize - 1);
+
+		final long[] covered = new long[patternSize * targets.length];
+		int coveredCount = 0;
+		for (int target : targets) {
+			for (int i = start; i < start + patternSize; ++i) {
+				final int point = first(i);
+				covered[coveredCount++] = NoteEventVector.pack(offsets[point] + offsets[target] - offsets[last],
+						pitches[point] + pitches[target] - pitches[last], parts[point] + parts[target] - parts[last]);
+			}
+		}
+
+		Arrays.sort(covered);
+		int distinctCount = covered.length == 0 ? 0 : 1;
+		for (int i = 1; i < covered.length; ++i) {
+			if (covered[i] != covered[i - 1]) {
+				++distinctCount;
+			}
+		}
+
+		return (double) distinctCount / (patternSize + targets.length - 1);
+	}
+
+	private Tec createTec(int group, int[] targets) {
+		final int start = groupStarts[group];
+		final int patternSize = groupSize(group);
+
+		final List<NoteEventVector> patternPoints = new ArrayList<>(patternSize);
+		for (int i = start; i < start + patternSize; ++i) {
+			patternPoints.add(pointSet.get(first(i)));
+		}
+
+		final NoteEventVector lastPoint = patternPoints.get(patternSize - 1);
+		final List<NoteEventVector> translators = new ArrayList<>(targets.length);
+		for (int target : targets) {
+			translators.add(pointSet.get(target).subtract(lastPoint));
+		}
+
+		return new Tec(new PointPattern(patternPoints), translators);
+	}
+}
@@ -5,23 +5,30 @@ package org.wmn4j.mir.discovery;
 
 import org.wmn4j.mir.PatternPosition;
 import org.wmn4j.notation.Chord;
+import org.wmn4j.notation.Duration;
 import org.wmn4j.notation.Durational;
-import org.wmn4j.notation.Measure;
 import org.wmn4j.notation.Note;
 import org.wmn4j.notation.Score;
 import org.wmn4j.notation.access.Position;
-import org.wmn4j.notation.access.PositionalIterator;
+import org.wmn4j.notation.access.PositionalCursor;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Optional;
 
 /**
  * Point set representation of a score.
  * The points are sorted lexicographically in the point set.
  * <p>
+ * The offsets of the points can be represented exactly as multiples of a score-wide tick duration, whose resolution
+ * is the least common multiple of the denominators of the offsets. In that case the points are vectors with tick
+ * offsets that are compared and hashed exactly. Otherwise the points are vectors with rounded double offsets.
+ * <p>
  * This class is immutable.
  */
 final class PointSet {
@@ -29,9 +36,104 @@ final class PointSet {
 	private final List<NoteEventVector> points;
 	private final Map<NoteEventVector, Position> positions;
 
+	// The exact offsets of the points as multiples of the same tick duration, or null if the common denominator of
+	// the offsets does not fit in an int.
+	private final long[] offsetTicks;
+	private final int tickResolution;
+
+	/**
+	 * A point together with its exact offset and position, used while the point set is being built.
+	 */
+	private static final class Point {
+		private final double offset;
+		private final int offsetNumerator;
+		private final int offsetDenominator;
+		private final int pitch;
+		private final Position position;
+		private NoteEventVector vector;
+
+		Point(double offset, Optional<Duration> exactOffset, int pitch, Position position) {
+			this.offset = offset;
+			this.offsetNumerator = exactOffset.map(Duration::getNumerator).orElse(0);
+			this.offsetDenominator = exactOffset.map(Duration::getDenominator).orElse(1);
+			this.pitch = pitch;
+			this.position = position;
+		}
+	}
+
+	/**
+	 * Creates a point set whose points have rounded double offsets.
+	 */
 	PointSet(Score score) {
+		this(score, false);
+	}
+
+	/**
+	 * Creates a point set of the given score. If exact offsets are requested, the points have tick offsets whenever
+	 * the offsets of the score can be represented with a tick resolution that fits in an int and the coordinates of
+	 * the points can be packed.
+	 */
+	PointSet(Score score, boolean exactOffsets) {
+		final List<Point> noteEvents = noteEventsFromScore(score);
+		final long resolution = computeTickResolution(noteEvents);
+		final boolean hasTicks = resolution <= Integer.MAX_VALUE;
+		final boolean useTicks = exactOffsets && hasTicks && canBePacked(noteEvents, resolution);
+
+		for (Point point : noteEvents) {
+			final int part = point.position.getPartIndex();
+			point.vector = useTicks
+					? NoteEventVector.ofTicks(ticks(point, resolution), (int) resolution, point.pitch, part)
+					: new NoteEventVector(point.offset, point.pitch, part);
+		}
+
+		noteEvents.sort((first, second) -> first.vector.compareTo(second.vector));
+
+		if (hasTicks) {
+			this.tickResolution = (int) resolution;
+			this.offsetTicks = new long[noteEvents.size()];
+			for (int i = 0; i < offsetTicks.length; ++i) {
+				offsetTicks[i] = ticks(noteEvents.get(i), resolution);
+			}
+		} else {
+			this.tickResolution = 0;
+			this.offsetTicks = null;
+		}
+
+		this.points = new ArrayList<>(noteEvents.size());
 		this.positions = new HashMap<>();
-		this.points = this.pointsFromScore(score);
+		for (Point point : noteEvents) {
+			points.add(point.vector);
+			positions.put(point.vector, point.position);
+		}
+	}
+
+	private PointSet(List<NoteEventVector> points, Map<NoteEventVector, Position> positions, long[] offsetTicks,
+			int tickResolution) {
+		this.points = points;
+		this.positions = positions;
+		this.offsetTicks = offsetTicks;
+		this.tickResolution = tickResolution;
+	}
+
+	/**
+	 * Returns the point set that consists of the points of this point set at the given indices.
+	 */
+	PointSet subset(BitSet indices) {
+		final List<NoteEventVector> subsetPoints = new ArrayList<>(indices.cardinality());
+		final Map<NoteEventVector, Position> subsetPositions = new HashMap<>();
+		final long[] subsetOffsetTicks = offsetTicks == null ? null : new long[indices.cardinality()];
+
+		for (int i = indices.nextSetBit(0); i >= 0; i = indices.nextSetBit(i + 1)) {
+			final NoteEventVector point = points.get(i);
+			if (subsetOffsetTicks != null) {
+				subsetOffsetTicks[subsetPoints.size()] = offsetTicks[i];
+			}
+
+			subsetPoints.add(point);
+			subsetPositions.put(point, positions.get(point));
+		}
+
+		return new PointSet(subsetPoints, subsetPositions, subsetOffsetTicks, tickResolution);
 	}
 
 	int size() {
@@ -61,67 +163,125 @@ final class PointSet {
 		return this.points.get(index);
 	}
 
-	private List<NoteEventVector> pointsFromScore(Score score) {
-
-		final PositionalIterator positionalIterator = score.partwiseIterator();
-		Position prevPos = null;
-		double fullMeasuresOffset = 0.0;
-		double offsetWithinMeasure = 0.0;
-		final List<NoteEventVector> noteEvents = new ArrayList<>();
-
-		while (positionalIterator.hasNext()) {
-			final Durational dur = positionalIterator.next();
-			final Position pos = positionalIterator.getPositionOfPrevious();
-
-			// Part changes
-			if (prevPos != null && prevPos.getPartIndex() != pos.getPartIndex()) {
-				fullMeasuresOffset = 0.0;
-				offsetWithinMeasure = 0.0;
-			} else if (prevPos != null && prevPos.getMeasureNumber() != pos.getMeasureNumber()) {
-				// Measure changes.
-				final Measure prevMeasure = score.getPart(prevPos.getPartIndex()).getMeasure(prevPos.getStaffNumber(),
-						prevPos.getMeasureNumber());
-				final double prevMeasureDuration = prevMeasure.getTimeSignature().getTotalDuration().toDouble();
-				fullMeasuresOffset += prevMeasureDuration;
-				offsetWithinMeasure = 0.0;
-			} else if (prevPos != null && (prevPos.getVoiceNumber() != pos.getVoiceNumber()
-					|| prevPos.getStaffNumber() != pos.getStaffNumber())) {
-				// Voice or staff changes
-				offsetWithinMeasure = 0.0;
-			}
+	/**
+	 * Returns the index of the first point that is equal to the given vector, or -1 if there is no such point.
+	 */
+	int indexOf(NoteEventVector vector) {
+		int index = Collections.binarySearch(points, vector);
+		if (index < 0) {
+			return -1;
+		}
+
+		while (index > 0 && points.get(index - 1).equals(vector)) {
+			--index;
+		}
+
+		return index;
+	}
+
+	/**
+	 * Returns true if the exact offsets of the points are available through {@link #getOffsetTicks(int)}.
+	 */
+	boolean hasOffsetTicks() {
+		return this.offsetTicks != null;
+	}
+
+	/**
+	 * Returns the exact offset of the point at the given index as a number of ticks. All the offsets are multiples
+	 * of the same tick duration, so equal offsets have equal tick counts.
+	 */
+	long getOffsetTicks(int index) {
+		return this.offsetTicks[index];
+	}
+
+	/**
+	 * Returns the number of ticks in a unit of offset. Only defined if the exact offsets are available.
+	 */
+	int getTickResolution() {
+		return this.tickResolution;
+	}
+
+	private static List<Point> noteEventsFromScore(Score score) {
+
+		final PositionalCursor cursor = score.partwiseCursor();
+		final List<Point> noteEvents = new ArrayList<>();
+
+		while (cursor.advance()) {
+			final Durational dur = cursor.get();
 
 			if (hasOnset(dur)) {
-				final double totalOffset = fullMeasuresOffset + offsetWithinMeasure;
+				final double totalOffset = cursor.getOffsetAsDouble();
+				final Optional<Duration> exactOffset = cursor.getOffset();
 
 				if (dur instanceof Note) {
 					final int pitch = ((Note) dur).getPitch().toInt();
-					final NoteEventVector vector = new NoteEventVector(totalOffset, pitch, pos.getPartIndex());
-					noteEvents.add(vector);
-					positions.put(vector, pos);
+					noteEvents.add(new Point(totalOffset, exactOffset, pitch, cursor.toPosition()));
 				} else {
 					final Chord chord = (Chord) dur;
 					for (int chordIndex = 0; chordIndex < chord.getNoteCount(); ++chordIndex) {
 						final int pitch = chord.getNote(chordIndex).getPitch().toInt();
-						Position positionInChord = new Position(pos.getPartIndex(), pos.getStaffNumber(),
-								pos.getMeasureNumber(), pos.getVoiceNumber(), pos.getIndexInVoice(), chordIndex);
-						final NoteEventVector vector = new NoteEventVector(totalOffset, pitch,
-								positionInChord.getPartIndex());
-						noteEvents.add(vector);
-						positions.put(vector, positionInChord);
+						Position positionInChord = new Position(cursor.getPartIndex(), cursor.getStaffNumber(),
+								cursor.getMeasureNumber(), cursor.getVoiceNumber(), cursor.getIndexInVoice(),
+								chordIndex);
+						noteEvents.add(new Point(totalOffset, exactOffset, pitch, positionInChord));
 					}
 				}
 			}
-
-			// Update
-			offsetWithinMeasure += dur.getDuration().toDouble();
-			prevPos = pos;
 		}
 
-		noteEvents.sort(NoteEventVector::compareTo);
 		return noteEvents;
 	}
 
-	private boolean hasOnset(Durational dur) {
+	/**
+	 * Returns the least common multiple of the denominators of the offsets of the given points, or a value greater
+	 * than {@link Integer#MAX_VALUE} if it does not fit in an int.
+	 */
+	private static long computeTickResolution(List<Point> points) {
+		long tickResolution = 1;
+		for (Point point : points) {
+			final long denominator = point.offsetDenominator;
+			tickResolution = tickResolution / gcd(tickResolution, denominator) * denominator;
+			if (tickResolution > Integer.MAX_VALUE) {
+				return tickResolution;
+			}
+		}
+
+		return tickResolution;
+	}
+
+	private static long ticks(Point point, long tickResolution) {
+		return point.offsetNumerator * (tickResolution / point.offsetDenominator);
+	}
+
+	/**
+	 * Returns true if the coordinates of the given points are non-negative and can be packed, so that the
+	 * differences between the points can also be packed.
+	 */
+	private static boolean canBePacked(List<Point> points, long tickResolution) {
+		for (Point point : points) {
+			final long ticks = ticks(point, tickResolution);
+			final int part = point.position.getPartIndex();
+			if (ticks < 0 || point.pitch < 0 || part < 0 || !NoteEventVector.isPackable(ticks, point.pitch, part)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private static long gcd(long first, long second) {
+		long dividend = first;
+		long divisor = second;
+		while (divisor != 0) {
+			final long remainder = dividend % divisor;
+			dividend = divisor;
+			divisor = remainder;
+		}
+
+		return dividend;
+	}
+
+	private static boolean hasOnset(Durational dur) {
 		if (dur.isRest()) {
 			return false;
 		}
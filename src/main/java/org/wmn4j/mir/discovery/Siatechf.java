@@ -12,9 +12,20 @@ import java.util.Set;
 
 /**
  * Implementation of the SIATECHF algorithm.
+ * <p>
+ * The pairs of points can be limited to the ones whose offsets are within a window of each other, as in SIAR. The
+ * MTPs are then formed from the pairs within the window, and the translators of the MTPs are searched from the whole
+ * point set by looking up the translated points directly for the differences outside the window.
  */
 final class Siatechf {
 
+	private static final double NO_WINDOW = Double.POSITIVE_INFINITY;
+
+	/**
+	 * Tolerance for comparing the rounded offset differences of points to the window.
+	 */
+	private static final double WINDOW_TOLERANCE = 1e-8;
+
 	/**
 	 * Utility class for keeping track of a pair of indices.
 	 */
@@ -46,8 +57,24 @@ final class Siatechf {
 	 * given minimum
 	 */
 	static List<Tec> computeMtpTecs(PointSet pointSet, double minCompressionRatio) {
+		return computeWindowedMtpTecs(pointSet, minCompressionRatio, NO_WINDOW);
+	}
 
-		final Map<NoteEventVector, List<IndexPair>> mtpMap = computeMtpMap(pointSet);
+	/**
+	 * Returns all TECs whose compression ratio exceeds the given minimum of the MTPs
+	 * formed from the pairs of points whose offsets differ at most by the given window.
+	 * The translators of the MTPs are searched from the whole point set.
+	 *
+	 * @param pointSet            the point set for which tecs are computed
+	 * @param minCompressionRatio the minimum compression ratio of the given TECs
+	 * @param window              the largest offset difference of the pairs from which
+	 *                            MTPs are formed
+	 * @return all TECs of the MTPs within the window whose compression ratio exceeds
+	 * the given minimum
+	 */
+	static List<Tec> computeWindowedMtpTecs(PointSet pointSet, double minCompressionRatio, double window) {
+
+		final Map<NoteEventVector, List<IndexPair>> mtpMap = computeMtpMap(pointSet, window);
 
 		final List<Tec> tecs = new ArrayList<>();
 		final Set<PointPattern> vectorizedPatterns = new HashSet<>();
@@ -79,7 +106,7 @@ final class Siatechf {
 		return new PointPattern(patternPoints);
 	}
 
-	private static Map<NoteEventVector, List<IndexPair>> computeMtpMap(PointSet pointSet) {
+	private static Map<NoteEventVector, List<IndexPair>> computeMtpMap(PointSet pointSet, double window) {
 		final Map<NoteEventVector, List<IndexPair>> mtpMap = new HashMap<>();
 
 		for (int i = 0; i < pointSet.size() - 1; ++i) {
@@ -89,6 +116,11 @@ final class Siatechf {
 			for (int j = i + 1; j < pointSet.size(); ++j) {
 				final NoteEventVector diff = pointSet.get(j).subtract(origin);
 
+				// The points are ordered by offset, so the rest of the points are outside the window as well.
+				if (diff.getRoundedOffset() > window + WINDOW_TOLERANCE) {
+					break;
+				}
+
 				if (!mtpMap.containsKey(diff)) {
 					mtpMap.put(diff, new ArrayList<>());
 				}
@@ -115,12 +147,27 @@ final class Siatechf {
 		List<Integer> targetIndices = new ArrayList<>();
 		final PointPattern vectorizedPattern = pattern.vectorized();
 
-		for (IndexPair indexPair : mtpMap.get(vectorizedPattern.get(0))) {
-			targetIndices.add(indexPair.getSecond());
+		final List<IndexPair> firstIndexPairs = mtpMap.get(vectorizedPattern.get(0));
+		if (firstIndexPairs != null) {
+			for (IndexPair indexPair : firstIndexPairs) {
+				targetIndices.add(indexPair.getSecond());
+			}
+		} else {
+			for (int i = 0; i < pointSet.size(); ++i) {
+				targetIndices.add(i);
+			}
+
+			targetIndices = translateTargets(targetIndices, vectorizedPattern.get(0), pointSet);
 		}
 
 		for (int i = 1; i < vectorizedPattern.size(); ++i) {
 			final List<IndexPair> indexPairs = mtpMap.get(vectorizedPattern.get(i));
+			if (indexPairs == null) {
+				// The difference is outside the window, so its pairs are not in the map.
+				targetIndices = translateTargets(targetIndices, vectorizedPattern.get(i), pointSet);
+				continue;
+			}
+
 			final List<Integer> newTargetIndices = new ArrayList<>();
 
 			int j = 0;
@@ -151,6 +198,23 @@ final class Siatechf {
 		return translators;
 	}
 
+	/**
+	 * Returns the indices of the points onto which the points at the given target indices are translated by the
+	 * given difference, leaving out the targets whose translated point is not in the point set.
+	 */
+	private static List<Integer> translateTargets(List<Integer> targetIndices, NoteEventVector difference,
+			PointSet pointSet) {
+		final List<Integer> newTargetIndices = new ArrayList<>();
+		for (Integer i : targetIndices) {
+			final int index = pointSet.indexOf(pointSet.get(i).add(difference));
+			if (index >= 0) {
+				newTargetIndices.add(index);
+			}
+		}
+
+		return newTargetIndices;
+	}
+
 	/**
 	 * Returns an upper bound on the upper bound of the compression ratio of the pattern
 	 * based on the number of translatable points.
@@ -167,7 +231,13 @@ final class Siatechf {
 			return 1.0;
 		}
 
-		final double occurrenceUpperBound = mtpMap.get(pattern.get(patternSize - 1).subtract(pattern.get(0))).size();
+		final List<IndexPair> indexPairs = mtpMap.get(pattern.get(patternSize - 1).subtract(pattern.get(0)));
+		if (indexPairs == null) {
+			// The pattern spans more than the window, so the number of its occurrences is not bounded by a group.
+			return Double.POSITIVE_INFINITY;
+		}
+
+		final double occurrenceUpperBound = indexPairs.size();
 		final double coverageUpperBound = occurrenceUpperBound * patternSize;
 
 		return coverageUpperBound / (patternSize + occurrenceUpperBound - 1);
@@ -0,0 +1,220 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.mir.discovery;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Selection of TECs that cover a point set with a compact encoding, using the COSIATEC and SIATECCompress
+ * algorithms [1].
+ * <p>
+ * Both algorithms greedily select the best TECs, where TECs with higher compression ratios are better, and ties are
+ * broken by the number of covered points, the size of the pattern and the order in which the TECs were found. The
+ * points covered by the selected TECs are tracked in a bit set of point set indices.
+ * <p>
+ * [1] Meredith, David.
+ * COSIATEC and SIATECCompress: Pattern discovery by geometric compression.
+ * In Music Information Retrieval Evaluation Exchange (MIREX). 2013.
+ */
+final class TecSelection {
+
+	// TECs whose compression ratio is at most this do not make the encoding any shorter.
+	private static final double MIN_COMPRESSION_RATIO = 1.0;
+
+	private static final Comparator<Candidate> BY_QUALITY = TecSelection::compareQuality;
+
+	private final PointSet pointSet;
+
+	// Used for finding the distinct points covered by a TEC. All bits are cleared between uses.
+	private final BitSet scratch;
+
+	/**
+	 * A TEC together with the number of points it covers, its compression ratio and the order in which it was
+	 * found.
+	 */
+	private static final class Candidate {
+		private final Tec tec;
+		private final int coverage;
+		private final double compressionRatio;
+		private final int order;
+
+		Candidate(Tec tec, int coverage, int order) {
+			this.tec = tec;
+			this.coverage = coverage;
+			this.compressionRatio = (double) coverage / encodingLength(tec);
+			this.order = order;
+		}
+	}
+
+	/**
+	 * Compares the given candidates so that the better candidate comes first.
+	 */
+	private static int compareQuality(Candidate first, Candidate second) {
+		if (first.compressionRatio != second.compressionRatio) {
+			return Double.compare(second.compressionRatio, first.compressionRatio);
+		}
+
+		if (first.coverage != second.coverage) {
+			return Integer.compare(second.coverage, first.coverage);
+		}
+
+		if (first.tec.getPattern().size() != second.tec.getPattern().size()) {
+			return Integer.compare(second.tec.getPattern().size(), first.tec.getPattern().size());
+		}
+
+		return Integer.compare(first.order, second.order);
+	}
+
+	private TecSelection(PointSet pointSet) {
+		this.pointSet = pointSet;
+		this.scratch = new BitSet(pointSet.size());
+	}
+
+	/**
+	 * Returns the TECs selected with the COSIATEC algorithm in the order in which they were selected.
+	 * <p>
+	 * COSIATEC repeatedly computes the TECs of the points that are not yet covered, selects the best one of them
+	 * and removes the points it covers. The selection ends when all points are covered or none of the TECs of the
+	 * remaining points compresses them.
+	 *
+	 * @param pointSet the point set for which the TECs are selected
+	 * @return the TECs selected with the COSIATEC algorithm
+	 */
+	static List<Tec> cosiatec(PointSet pointSet) {
+		final TecSelection selection = new TecSelection(pointSet);
+		final BitSet remaining = new BitSet(pointSet.size());
+		remaining.set(0, pointSet.size());
+		final List<Tec> encoding = new ArrayList<>();
+
+		while (!remaining.isEmpty()) {
+			final List<Tec> tecs = PackedSiatechf.computeMtpTecs(pointSet.subset(remaining), MIN_COMPRESSION_RATIO);
+
+			Candidate best = null;
+			for (int i = 0; i < tecs.size(); ++i) {
+				final Candidate candidate = selection.toCandidate(tecs.get(i), i);
+				if (candidate.compressionRatio > MIN_COMPRESSION_RATIO
+						&& (best == null || BY_QUALITY.compare(candidate, best) < 0)) {
+					best = candidate;
+				}
+			}
+
+			if (best == null) {
+				break;
+			}
+
+			encoding.add(best.tec);
+			for (int index : selection.coveredIndices(best.tec)) {
+				selection.forEachEqualPoint(index, remaining::clear);
+			}
+		}
+
+		return encoding;
+	}
+
+	/**
+	 * Returns the TECs selected with the SIATECCompress algorithm in the order in which they were selected.
+	 * <p>
+	 * SIATECCompress computes the TECs of the whole point set once and goes through them from the best to the
+	 * worst. A TEC is selected if it covers more points that are not yet covered than are needed for encoding it.
+	 * The selection ends when all points are covered or all TECs have been gone through.
+	 *
+	 * @param pointSet the point set for which the TECs are selected
+	 * @return the TECs selected with the SIATECCompress algorithm
+	 */
+	static List<Tec> siatecCompress(PointSet pointSet) {
+		final TecSelection selection = new TecSelection(pointSet);
+		final List<Tec> tecs = PackedSiatechf.computeMtpTecs(pointSet, MIN_COMPRESSION_RATIO);
+
+		final List<Candidate> candidates = new ArrayList<>(tecs.size());
+		for (int i = 0; i < tecs.size(); ++i) {
+			final Candidate candidate = selection.toCandidate(tecs.get(i), i);
+			if (candidate.compressionRatio > MIN_COMPRESSION_RATIO) {
+				candidates.add(candidate);
+			}
+		}
+
+		candidates.sort(BY_QUALITY);
+
+		final BitSet covered = new BitSet(pointSet.size());
+		int coveredCount = 0;
+		final List<Tec> encoding = new ArrayList<>();
+
+		for (Candidate candidate : candidates) {
+			if (coveredCount == pointSet.size()) {
+				break;
+			}
+
+			final int[] indices = selection.coveredIndices(candidate.tec);
+			int newlyCovered = 0;
+			for (int index : indices) {
+				if (!covered.get(index)) {
+					++newlyCovered;
+				}
+			}
+
+			if (newlyCovered > encodingLength(candidate.tec)) {
+				encoding.add(candidate.tec);
+				for (int index : indices) {
+					selection.forEachEqualPoint(index, covered::set);
+				}
+
+				coveredCount = covered.cardinality();
+			}
+		}
+
+		return encoding;
+	}
+
+	/**
+	 * Returns the number of points needed for encoding the given TEC, which are the points of the pattern and the
+	 * translators other than the zero vector.
+	 */
+	private static int encodingLength(Tec tec) {
+		return tec.getPattern().size() + tec.getTranslators().size() - 1;
+	}
+
+	private Candidate toCandidate(Tec tec, int order) {
+		return new Candidate(tec, coveredIndices(tec).length, order);
+	}
+
+	/**
+	 * Returns the indices of the distinct points covered by the occurrences of the pattern of the given TEC. Equal
+	 * points are represented by the first one of them.
+	 */
+	private int[] coveredIndices(Tec tec) {
+		final int[] indices = new int[tec.getPattern().size() * tec.getTranslators().size()];
+		int count = 0;
+
+		for (NoteEventVector translator : tec.getTranslators()) {
+			for (NoteEventVector point : tec.getPattern()) {
+				final int index = pointSet.indexOf(point.add(translator));
+				if (index >= 0 && !scratch.get(index)) {
+					scratch.set(index);
+					indices[count++] = index;
+				}
+			}
+		}
+
+		for (int i = 0; i < count; ++i) {
+			scratch.clear(indices[i]);
+		}
+
+		return Arrays.copyOf(indices, count);
+	}
+
+	/**
+	 * Runs the given action for the index of the first one of equal points and all the points that are equal to it.
+	 */
+	private void forEachEqualPoint(int firstIndex, IntConsumer action) {
+		action.accept(firstIndex);
+		for (int i = firstIndex + 1; i < pointSet.size() && pointSet.get(i).equals(pointSet.get(firstIndex)); ++i) {
+			action.accept(i);
+		}
+	}
+}
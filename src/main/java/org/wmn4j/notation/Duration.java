@@ -3,14 +3,14 @@
  */
 package org.wmn4j.notation;
 
-import org.apache.commons.math3.fraction.Fraction;
-
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Represents the duration of any musical object with a duration such as a note
@@ -29,6 +29,10 @@ import java.util.Set;
  * information
  * can be checked with the {@link Duration#hasExpression()} method.
  * <p>
+ * Durations are interned: creating a duration that has the same numerator, denominator, dot count, and tuplet
+ * divisor as a previously created one usually returns the previously created instance. Equality is still based only
+ * on the length of the durations.
+ * <p>
  * This class is immutable.
  */
 public final class Duration implements Comparable<Duration> {
@@ -55,10 +59,89 @@ public final class Duration implements Comparable<Duration> {
 	// its mathematical duration.
 	private static final List<Integer> COMMON_TUPLET_DIVISORS = Arrays.asList(3, 5, 7, 11, 13);
 
-	private final Fraction fraction;
+	// Durations without expression information whose reduced numerator and denominator are within these limits are
+	// cached. The cache is filled lazily, which is safe without synchronization because durations are immutable.
+	private static final int CACHE_MAX_NUMERATOR = 16;
+	private static final int CACHE_MAX_DENOMINATOR = 128;
+	private static final Duration[] CACHE = new Duration[CACHE_MAX_NUMERATOR * CACHE_MAX_DENOMINATOR];
+
+	// Other durations, such as ones with dots or tuplets, are interned in a map keyed by all the values of the
+	// duration packed into a long. The number of interned durations is bounded so that reading unusual inputs cannot
+	// grow the map without limit. Durations created after the map is full are not interned.
+	private static final int MAX_INTERNED_COUNT = 4096;
+	private static final int INTERNED_MAX_VALUE = 0xFFFF;
+	private static final int INTERNED_VALUE_BITS = 16;
+	private static final int INTERNED_DOT_COUNT_BITS = 8;
+	private static final ConcurrentMap<Long, Duration> INTERNED = new ConcurrentHashMap<>();
+
+	// Decompositions are memoized for the durations and maximum durations for which they are computed. The number
+	// of memoized decompositions is bounded in the same way as the number of interned durations.
+	private static final int MAX_MEMOIZED_DECOMPOSITION_COUNT = 1024;
+	private static final ConcurrentMap<DecompositionKey, List<Duration>> DECOMPOSITIONS = new ConcurrentHashMap<>();
+
+	// Values of the lazily computed expression state.
+	private static final byte EXPRESSION_UNKNOWN = 0;
+	private static final byte HAS_EXPRESSION = 1;
+	private static final byte HAS_NO_EXPRESSION = 2;
+
+	/*
+	 * Intermediate rational numbers are packed into a single long with the numerator in the high 32 bits
+	 * and the denominator in the low 32 bits, so that arithmetic does not allocate any objects. Packed
+	 * rationals are always reduced and their denominators are always positive.
+	 */
+	private static final int DENOMINATOR_BITS = 32;
+	private static final long DENOMINATOR_MASK = 0xFFFFFFFFL;
+
+	/**
+	 * The packed rational zero from which sums are accumulated with {@link #addToSum(long, Duration)}.
+	 */
+	static final long ZERO_SUM = 1L;
+
+	private final int numerator;
+	private final int denominator;
 	private final int tupletDivisor;
 	private final int dotCount;
 
+	// Computed on first use. Racing threads compute the same value, so no synchronization is needed.
+	private byte expressionState = EXPRESSION_UNKNOWN;
+
+	/**
+	 * Key for a memoized decomposition. Unlike durations themselves, keys also compare expression information
+	 * because the decomposition depends on it.
+	 */
+	private static final class DecompositionKey {
+		private final Duration duration;
+		private final Duration maxDuration;
+
+		DecompositionKey(Duration duration, Duration maxDuration) {
+			this.duration = duration;
+			this.maxDuration = maxDuration;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+
+			if (!(o instanceof DecompositionKey)) {
+				return false;
+			}
+
+			final DecompositionKey other = (DecompositionKey) o;
+			return duration.hasSameExpression(other.duration) && maxDuration.hasSameExpression(other.maxDuration);
+		}
+
+		@Override
+		public int hashCode() {
+			int hash = 31 * duration.hashCode() + duration.dotCount;
+			hash = 31 * hash + duration.tupletDivisor;
+			hash = 31 * hash + maxDuration.hashCode();
+			hash = 31 * hash + maxDuration.dotCount;
+			return 31 * hash + maxDuration.tupletDivisor;
+		}
+	}
+
 	/**
 	 * Returns an instance with the given numerator and denominator. The numerator
 	 * and denominator must be at least 1.
@@ -68,7 +151,7 @@ public final class Duration implements Comparable<Duration> {
 	 * @return an instance with the given numerator and denominator
 	 */
 	public static Duration of(int numerator, int denominator) {
-		return create(new Fraction(numerator, denominator), DEFAULT_DOT_COUNT, DEFAULT_TUPLET_DIVISOR);
+		return create(pack(numerator, denominator), DEFAULT_DOT_COUNT, DEFAULT_TUPLET_DIVISOR);
 	}
 
 	/**
@@ -87,20 +170,19 @@ public final class Duration implements Comparable<Duration> {
 	 * @return an instance with the given numerator and denominator and expression information
 	 */
 	public static Duration of(int numerator, int denominator, int dotCount, int tupletDivisor) {
-		return create(new Fraction(numerator, denominator), dotCount, tupletDivisor);
+		return create(pack(numerator, denominator), dotCount, tupletDivisor);
 	}
 
 	/**
 	 * Private creator method.
 	 */
-	private static Duration create(Fraction fraction, int dotCount, int tupletDivisor) {
+	private static Duration create(long rational, int dotCount, int tupletDivisor) {
+		final int numerator = numeratorOf(rational);
+		final int denominator = denominatorOf(rational);
 
-		if (fraction.getNumerator() < 1) {
+		if (numerator < 1) {
 			throw new IllegalArgumentException("numerator must be at least 1");
 		}
-		if (fraction.getDenominator() < 1) {
-			throw new IllegalArgumentException("denominator must be at least 1");
-		}
 		if (dotCount < 0 || dotCount > MAX_DOT_COUNT) {
 			throw new IllegalArgumentException("dotCount must be at least zero and at most " + MAX_DOT_COUNT);
 		}
@@ -108,15 +190,189 @@ public final class Duration implements Comparable<Duration> {
 			throw new IllegalArgumentException("tupletDivisor must be positive");
 		}
 
-		return new Duration(fraction, dotCount, tupletDivisor);
+		if (dotCount == DEFAULT_DOT_COUNT && tupletDivisor == DEFAULT_TUPLET_DIVISOR
+				&& numerator <= CACHE_MAX_NUMERATOR && denominator <= CACHE_MAX_DENOMINATOR) {
+			final int cacheIndex = (numerator - 1) * CACHE_MAX_DENOMINATOR + denominator - 1;
+			Duration cached = CACHE[cacheIndex];
+			if (cached == null) {
+				cached = new Duration(numerator, denominator, dotCount, tupletDivisor);
+				CACHE[cacheIndex] = cached;
+			}
+
+			return cached;
+		}
+
+		if (numerator <= INTERNED_MAX_VALUE && denominator <= INTERNED_MAX_VALUE
+				&& tupletDivisor <= INTERNED_MAX_VALUE) {
+			final long key = ((((long) numerator << INTERNED_VALUE_BITS | denominator) << INTERNED_VALUE_BITS
+					| tupletDivisor) << INTERNED_DOT_COUNT_BITS) | dotCount;
+
+			final Duration interned = INTERNED.get(key);
+			if (interned != null) {
+				return interned;
+			}
+
+			final Duration duration = new Duration(numerator, denominator, dotCount, tupletDivisor);
+			if (INTERNED.size() < MAX_INTERNED_COUNT) {
+				final Duration previous = INTERNED.putIfAbsent(key, duration);
+				return previous != null ? previous : duration;
+			}
+
+			return duration;
+		}
+
+		return new Duration(numerator, denominator, dotCount, tupletDivisor);
+	}
+
+	/**
+	 * Returns the given rational number reduced and packed into a long.
+	 *
+	 * @throws IllegalArgumentException if the denominator is zero
+	 * @throws ArithmeticException      if the reduced numerator or denominator does not fit into an int
+	 */
+	private static long pack(long numerator, long denominator) throws IllegalArgumentException, ArithmeticException {
+		if (denominator == 0) {
+			throw new IllegalArgumentException("denominator must be at least 1");
+		}
+
+		long reducedNumerator = numerator;
+		long reducedDenominator = denominator;
+		if (denominator < 0) {
+			reducedNumerator = -reducedNumerator;
+			reducedDenominator = -reducedDenominator;
+		}
+
+		final long gcd = gcd(Math.abs(reducedNumerator), reducedDenominator);
+		reducedNumerator /= gcd;
+		reducedDenominator /= gcd;
+
+		return ((long) Math.toIntExact(reducedNumerator) << DENOMINATOR_BITS)
+				| (Math.toIntExact(reducedDenominator) & DENOMINATOR_MASK);
+	}
+
+	private static long gcd(long a, long b) {
+		long x = a;
+		long y = b;
+		while (y != 0) {
+			final long remainder = x % y;
+			x = y;
+			y = remainder;
+		}
+
+		return x;
+	}
+
+	private static int numeratorOf(long rational) {
+		return (int) (rational >> DENOMINATOR_BITS);
+	}
+
+	private static int denominatorOf(long rational) {
+		return (int) rational;
+	}
+
+	private static long add(long a, long b) {
+		return pack((long) numeratorOf(a) * denominatorOf(b) + (long) numeratorOf(b) * denominatorOf(a),
+				(long) denominatorOf(a) * denominatorOf(b));
+	}
+
+	private static long subtract(long a, long b) {
+		return pack((long) numeratorOf(a) * denominatorOf(b) - (long) numeratorOf(b) * denominatorOf(a),
+				(long) denominatorOf(a) * denominatorOf(b));
+	}
+
+	private static long multiply(long rational, long numerator, long denominator) {
+		return pack(numeratorOf(rational) * numerator, denominatorOf(rational) * denominator);
+	}
+
+	private long toRational() {
+		return ((long) numerator << DENOMINATOR_BITS) | denominator;
+	}
+
+	/**
+	 * Returns the packed rational sum of the given packed rational sum and duration. Together with
+	 * {@link #ZERO_SUM} and {@link #ofSum(long)} this allows summing durations without creating
+	 * intermediate objects.
+	 *
+	 * @param sum      the packed rational sum so far
+	 * @param duration the duration that is added to the sum
+	 * @return the packed rational sum of the given sum and duration
+	 */
+	static long addToSum(long sum, Duration duration) {
+		return add(sum, duration.toRational());
+	}
+
+	/**
+	 * Returns the duration of the given packed rational sum. The duration has no expression information.
+	 *
+	 * @param sum the packed rational sum accumulated with {@link #addToSum(long, Duration)}
+	 * @return the duration of the given packed rational sum
+	 * @throws IllegalArgumentException if the sum is not positive
+	 */
+	static Duration ofSum(long sum) throws IllegalArgumentException {
+		return create(sum, DEFAULT_DOT_COUNT, DEFAULT_TUPLET_DIVISOR);
+	}
+
+	/**
+	 * Returns the given packed rational sum as a double.
+	 *
+	 * @param sum the packed rational sum accumulated with {@link #addToSum(long, Duration)}
+	 * @return the given packed rational sum as a double
+	 */
+	static double sumToDouble(long sum) {
+		return (double) numeratorOf(sum) / (double) denominatorOf(sum);
+	}
+
+	/**
+	 * Returns true if the given packed rational sum is zero.
+	 *
+	 * @param sum the packed rational sum accumulated with {@link #addToSum(long, Duration)}
+	 * @return true if the given packed rational sum is zero
+	 */
+	static boolean isZeroSum(long sum) {
+		return numeratorOf(sum) == 0;
+	}
+
+	/**
+	 * Compares the given packed rational sum to the given duration.
+	 *
+	 * @param sum      the packed rational sum accumulated with {@link #addToSum(long, Duration)}
+	 * @param duration the duration to which the sum is compared
+	 * @return negative integer if the sum is less than the duration, positive integer if it is greater,
+	 * 0 if they are equal
+	 */
+	static int compareSum(long sum, Duration duration) {
+		return compareSums(sum, duration.toRational());
+	}
+
+	/**
+	 * Compares the given packed rational sums.
+	 *
+	 * @param a the first packed rational sum
+	 * @param b the second packed rational sum
+	 * @return negative integer if a is less than b, positive integer if a is greater than b, 0 if they are equal
+	 */
+	static int compareSums(long a, long b) {
+		return Long.compare((long) numeratorOf(a) * denominatorOf(b), (long) numeratorOf(b) * denominatorOf(a));
+	}
+
+	/**
+	 * Returns the packed rational sum of the given packed rational sums.
+	 *
+	 * @param a the first packed rational sum
+	 * @param b the second packed rational sum
+	 * @return the packed rational sum of the given sums
+	 */
+	static long addSums(long a, long b) {
+		return add(a, b);
 	}
 
 	/**
 	 * Constructor for the class. The constructor is private, to get a Duration
 	 * object use the static method {@link #of(int, int) getDuration}.
 	 */
-	private Duration(Fraction fraction, int dotCount, int tupletDivisor) {
-		this.fraction = fraction;
+	private Duration(int numerator, int denominator, int dotCount, int tupletDivisor) {
+		this.numerator = numerator;
+		this.denominator = denominator;
 		this.dotCount = dotCount;
 		this.tupletDivisor = tupletDivisor;
 	}
@@ -127,7 +383,7 @@ public final class Duration implements Comparable<Duration> {
 	 * @return the numerator of this duration
 	 */
 	public int getNumerator() {
-		return fraction.getNumerator();
+		return numerator;
 	}
 
 	/**
@@ -136,7 +392,7 @@ public final class Duration implements Comparable<Duration> {
 	 * @return the denominator of this duration.
 	 */
 	public int getDenominator() {
-		return fraction.getDenominator();
+		return denominator;
 	}
 
 	/**
@@ -158,12 +414,12 @@ public final class Duration implements Comparable<Duration> {
 
 		final Duration other = (Duration) o;
 
-		return this.fraction.equals(other.fraction);
+		return this.numerator == other.numerator && this.denominator == other.denominator;
 	}
 
 	@Override
 	public int hashCode() {
-		return fraction.hashCode();
+		return 37 * (37 * 17 + numerator) + denominator;
 	}
 
 	@Override
@@ -191,7 +447,7 @@ public final class Duration implements Comparable<Duration> {
 		 */
 		final int dotDurationDivisor = (1 << (dotCount + 2)) - 2;
 
-		final Fraction durationValue = this.fraction.add(this.fraction.divide(dotDurationDivisor));
+		final long durationValue = multiply(toRational(), dotDurationDivisor + 1, dotDurationDivisor);
 		return create(durationValue, dotCount + 1, tupletDivisor);
 	}
 
@@ -215,8 +471,8 @@ public final class Duration implements Comparable<Duration> {
 		 */
 		final int dotDurationDivisor = (1 << (dotCount + 1)) - 1;
 
-		final Fraction lastDotDuration = this.fraction.divide(dotDurationDivisor);
-		return create(this.fraction.subtract(lastDotDuration), dotCount - 1, tupletDivisor);
+		final long durationValue = multiply(toRational(), dotDurationDivisor - 1, dotDurationDivisor);
+		return create(durationValue, dotCount - 1, tupletDivisor);
 	}
 
 	/**
@@ -233,18 +489,18 @@ public final class Duration implements Comparable<Duration> {
 			return this;
 		}
 
-		Fraction durationWithoutDots = removeDots(this.fraction, dotCount);
+		final long durationWithoutDots = removeDots(toRational(), dotCount);
 		return create(durationWithoutDots, DEFAULT_DOT_COUNT, tupletDivisor);
 	}
 
-	private Fraction removeDots(Fraction withDots, int dotCount) {
+	private static long removeDots(long withDots, int dotCount) {
 		/*
 		 * If a duration d_n has n dots, then the duration d_0 that is produced by removing all dots is
 		 * d_0 = d_n / (2 - (1/2)^n). This is derived from the geometric sum produced by adding n dots to
 		 * a duration.
 		 */
-		Fraction divisor = new Fraction(2, 1).subtract(new Fraction(1, (1 << dotCount)));
-		return withDots.divide(divisor);
+		final int powerOfTwo = 1 << dotCount;
+		return multiply(withDots, powerOfTwo, 2 * powerOfTwo - 1);
 	}
 
 	/**
@@ -282,7 +538,7 @@ public final class Duration implements Comparable<Duration> {
 	 * @return the fraction numerator/denominator as double.
 	 */
 	public double toDouble() {
-		return fraction.doubleValue();
+		return (double) numerator / (double) denominator;
 	}
 
 	/**
@@ -296,7 +552,7 @@ public final class Duration implements Comparable<Duration> {
 	 * @return a Duration that is the sum of this and other.
 	 */
 	public Duration add(Duration other) {
-		return create(this.fraction.add(other.fraction), DEFAULT_DOT_COUNT, DEFAULT_TUPLET_DIVISOR);
+		return create(add(toRational(), other.toRational()), DEFAULT_DOT_COUNT, DEFAULT_TUPLET_DIVISOR);
 	}
 
 	/**
@@ -311,7 +567,7 @@ public final class Duration implements Comparable<Duration> {
 	 * @return a Duration that is this other minus other.
 	 */
 	public Duration subtract(Duration other) {
-		return create(this.fraction.subtract(other.fraction), DEFAULT_DOT_COUNT, DEFAULT_TUPLET_DIVISOR);
+		return create(subtract(toRational(), other.toRational()), DEFAULT_DOT_COUNT, DEFAULT_TUPLET_DIVISOR);
 	}
 
 	/**
@@ -327,7 +583,7 @@ public final class Duration implements Comparable<Duration> {
 	 * @throws IllegalArgumentException if multiplier is less than 1
 	 */
 	public Duration multiply(int multiplier) {
-		return create(this.fraction.multiply(multiplier), DEFAULT_DOT_COUNT, DEFAULT_TUPLET_DIVISOR);
+		return create(multiply(toRational(), multiplier, 1), DEFAULT_DOT_COUNT, DEFAULT_TUPLET_DIVISOR);
 	}
 
 	/**
@@ -347,7 +603,7 @@ public final class Duration implements Comparable<Duration> {
 			newTupletDivisor *= divisor;
 		}
 
-		return create(this.fraction.divide(divisor), dotCount, newTupletDivisor);
+		return create(multiply(toRational(), 1, divisor), dotCount, newTupletDivisor);
 	}
 
 	/**
@@ -379,7 +635,7 @@ public final class Duration implements Comparable<Duration> {
 	 */
 	@Override
 	public int compareTo(Duration other) {
-		return this.fraction.compareTo(other.fraction);
+		return Long.compare((long) this.numerator * other.denominator, (long) other.numerator * this.denominator);
 	}
 
 	/**
@@ -389,25 +645,33 @@ public final class Duration implements Comparable<Duration> {
 	 * @return true if this duration is expressible as a single notation symbol with contianed expression information.
 	 */
 	public boolean hasExpression() {
-		return isExpressible(fraction, dotCount, tupletDivisor);
+		if (expressionState == EXPRESSION_UNKNOWN) {
+			expressionState = isExpressible(toRational(), dotCount, tupletDivisor) ? HAS_EXPRESSION : HAS_NO_EXPRESSION;
+		}
+
+		return expressionState == HAS_EXPRESSION;
 	}
 
-	private boolean isExpressible(Fraction fraction, int dotCount, int tupletDivisor) {
+	private boolean hasSameExpression(Duration other) {
+		return this.equals(other) && this.dotCount == other.dotCount && this.tupletDivisor == other.tupletDivisor;
+	}
+
+	private static boolean isExpressible(long rational, int dotCount, int tupletDivisor) {
 		// Try to simpilify the duration to one corresponding to a basic notation symbol, i.e., one that
 		// is expressible as (1 / 2^n).
-		Fraction basicDuration = fraction;
+		long basicDuration = rational;
 		if (dotCount > 0) {
 			basicDuration = removeDots(basicDuration, dotCount);
 		}
 
-		int simplifiedDenominator = basicDuration.getDenominator();
+		int simplifiedDenominator = denominatorOf(basicDuration);
 
 		if (tupletDivisor > DEFAULT_TUPLET_DIVISOR) {
 			// Simplify the denominator using the tuplet divisor if it specifies a tuplet duration.
 			simplifiedDenominator /= tupletDivisor;
 
 			// Check that the division was even.
-			if (simplifiedDenominator * tupletDivisor != basicDuration.getDenominator()) {
+			if (simplifiedDenominator * tupletDivisor != denominatorOf(basicDuration)) {
 				return false;
 			}
 		}
@@ -416,7 +680,7 @@ public final class Duration implements Comparable<Duration> {
 		// numerator should be 1 (most durations), 2 (some durations like breve or 2/3),
 		// or 4 (longa, the longest note type),
 		// and the denominator should be a power of two if the expression information was correct.
-		boolean isNumeratorExpressible = EXPRESSIBLE_NUMERATORS.contains(basicDuration.getNumerator());
+		boolean isNumeratorExpressible = EXPRESSIBLE_NUMERATORS.contains(numeratorOf(basicDuration));
 		boolean isDenominatorExpressible =
 				isPowerOfTwo(simplifiedDenominator) && simplifiedDenominator <= MAX_EXPRESSIBLE_BASIC_DENOMINATOR;
 
@@ -430,6 +694,9 @@ public final class Duration implements Comparable<Duration> {
 	 * If this duration has an expression and max duration is greater than or equal to this,
 	 * then returns a list with this as its only element.
 	 * The durations of the decomposition should add up to this duration.
+	 * <p>
+	 * The returned list is unmodifiable. Decompositions are memoized, so decomposing equal durations with equal
+	 * expression information repeatedly does not repeat the computation.
 	 *
 	 * @param maxDuration the maximum duration to use in the sum decomposition
 	 * @return decomposition of this duration into expressible durations that are at most
@@ -440,31 +707,47 @@ public final class Duration implements Comparable<Duration> {
 			return Collections.singletonList(this);
 		}
 
+		final DecompositionKey key = new DecompositionKey(this, maxDuration);
+		final List<Duration> memoized = DECOMPOSITIONS.get(key);
+		if (memoized != null) {
+			return memoized;
+		}
+
+		final List<Duration> decomposition = Collections.unmodifiableList(computeDecomposition(maxDuration));
+		if (DECOMPOSITIONS.size() < MAX_MEMOIZED_DECOMPOSITION_COUNT) {
+			DECOMPOSITIONS.putIfAbsent(key, decomposition);
+		}
+
+		return decomposition;
+	}
+
+	private List<Duration> computeDecomposition(Duration maxDuration) {
 		List<Duration> maxDurationDecomposition = Collections.singletonList(maxDuration);
 		if (!maxDuration.hasExpression()) {
-			maxDurationDecomposition = decomposeFractionToExpressibleDurations(maxDuration.fraction);
+			maxDurationDecomposition = decomposeFractionToExpressibleDurations(maxDuration.toRational());
 		}
 
-		int maxDurationRepetitions = fraction.divide(maxDuration.fraction).intValue();
+		final int maxDurationRepetitions = (int) (((long) numerator * maxDuration.denominator)
+				/ ((long) denominator * maxDuration.numerator));
 		List<Duration> decomposition = new ArrayList<>();
 		for (int i = 0; i < maxDurationRepetitions; ++i) {
 			decomposition.addAll(maxDurationDecomposition);
 		}
 
-		Fraction leftOver = fraction.subtract(maxDuration.fraction.multiply(maxDurationRepetitions));
+		final long leftOver = subtract(toRational(), multiply(maxDuration.toRational(), maxDurationRepetitions, 1));
 		decomposition.addAll(decomposeFractionToExpressibleDurations(leftOver));
 
 		return decomposition;
 	}
 
-	private List<Duration> decomposeFractionToExpressibleDurations(Fraction durationFraction) {
+	private static List<Duration> decomposeFractionToExpressibleDurations(long durationFraction) {
 		List<Duration> decomposition = new ArrayList<>();
-		Fraction leftOver = durationFraction;
+		long leftOver = durationFraction;
 
 		// Repeat until there's no leftover duration
-		while (leftOver.compareTo(Fraction.ZERO) > 0) {
+		while (numeratorOf(leftOver) > 0) {
 			Duration largestFit = findLargestExpressibleDuration(leftOver);
-			leftOver = leftOver.subtract(largestFit.fraction);
+			leftOver = subtract(leftOver, largestFit.toRational());
 			decomposition.add(largestFit);
 		}
 
@@ -474,17 +757,17 @@ public final class Duration implements Comparable<Duration> {
 	/**
 	 * Tries to find and return the largest expressible duration that is at most the given fraction.
 	 */
-	private Duration findLargestExpressibleDuration(Fraction durationFraction) {
+	private static Duration findLargestExpressibleDuration(long durationFraction) {
 		if (isExpressible(durationFraction, DEFAULT_DOT_COUNT, DEFAULT_TUPLET_DIVISOR)) {
 			return create(durationFraction, DEFAULT_DOT_COUNT, DEFAULT_TUPLET_DIVISOR);
 		}
 
-		final int originalNumerator = durationFraction.getNumerator();
-		final int originalDenominator = durationFraction.getDenominator();
+		final int originalNumerator = numeratorOf(durationFraction);
+		final int originalDenominator = denominatorOf(durationFraction);
 
 		// Simplify the fraction first by seeing if it can be expressed as a dotted
 		// duration ant what the required dot count is.
-		Fraction dotlessFraction = durationFraction;
+		long dotlessFraction = durationFraction;
 		int dotCount = 0;
 
 		if (DOTTED_DURATION_NUMERATORS.contains(originalNumerator)) {
@@ -495,7 +778,7 @@ public final class Duration implements Comparable<Duration> {
 
 		// Use the fraction in the dotless form to find a suitable
 		// tuplet divisor.
-		final int dotlessDenominator = dotlessFraction.getDenominator();
+		final int dotlessDenominator = denominatorOf(dotlessFraction);
 		int tupletDivisor = 1;
 		if (!isPowerOfTwo(dotlessDenominator)) {
 			for (int divisor : COMMON_TUPLET_DIVISORS) {
@@ -526,15 +809,15 @@ public final class Duration implements Comparable<Duration> {
 		// dot count and tuplet divisor, find the largest duration that can be fitted
 		// into the fraction with the tuplet information.
 		if (originalNumerator > tupletDivisor) {
-			int coefficient = tupletDivisor != 1 ? tupletDivisor : Math.max(durationFraction.getDenominator() / 2, 1);
+			int coefficient = tupletDivisor != 1 ? tupletDivisor : Math.max(originalDenominator / 2, 1);
 
 			int largestFitNumerator = coefficient * (originalNumerator / coefficient);
-			Fraction largestFit = new Fraction(largestFitNumerator, durationFraction.getDenominator());
+			long largestFit = pack(largestFitNumerator, originalDenominator);
 
 			return create(largestFit, DEFAULT_DOT_COUNT, DEFAULT_TUPLET_DIVISOR);
 		}
 
-		return create(new Fraction(1, originalDenominator), 0, tupletDivisor);
+		return create(pack(1, originalDenominator), 0, tupletDivisor);
 	}
 
 	/**
@@ -550,16 +833,16 @@ public final class Duration implements Comparable<Duration> {
 	 */
 	public static Duration sum(Iterable<Duration> durations) {
 		Iterator<Duration> iterator = durations.iterator();
-		Fraction cumulatedDur = Fraction.ZERO;
+		long cumulatedDur = ZERO_SUM;
 
 		while (iterator.hasNext()) {
-			cumulatedDur = cumulatedDur.add(iterator.next().fraction);
+			cumulatedDur = addToSum(cumulatedDur, iterator.next());
 		}
 
-		return create(cumulatedDur, DEFAULT_DOT_COUNT, DEFAULT_TUPLET_DIVISOR);
+		return ofSum(cumulatedDur);
 	}
 
-	private boolean isPowerOfTwo(int number) {
+	private static boolean isPowerOfTwo(int number) {
 		return number > 0 && ((number & (number - 1)) == 0);
 	}
 }
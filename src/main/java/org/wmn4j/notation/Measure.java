@@ -8,14 +8,14 @@ import org.wmn4j.notation.access.Offset;
 import org.wmn4j.notation.directions.Direction;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
-import java.util.SortedMap;
-import java.util.TreeMap;
+import java.util.Optional;
 
 /**
  * Represents a measure. A measure may contain multiple voices that are referred
@@ -26,10 +26,34 @@ import java.util.TreeMap;
  */
 public final class Measure implements Iterable<Durational> {
 
+	private static final int[] NO_VOICE_NUMBERS = {};
+	private static final int[] NO_VOICE_STARTS = {0};
+	private static final Durational[] NO_ELEMENTS = {};
+
+	// Shared voice number arrays for measures with a single voice of a commonly used number.
+	private static final int[][] SINGLE_VOICE_NUMBERS = new int[8][];
+
+	static {
+		for (int voiceNumber = 0; voiceNumber < SINGLE_VOICE_NUMBERS.length; ++voiceNumber) {
+			SINGLE_VOICE_NUMBERS[voiceNumber] = new int[] {voiceNumber};
+		}
+	}
+
 	private final int number;
-	private final SortedMap<Integer, List<Durational>> voices;
 	private final MeasureAttributes measureAttr;
 
+	// The voices are stored one after the other in elements. The voice with the voice number at index i of
+	// voiceNumbers begins at index voiceStarts[i] of elements and ends before index voiceStarts[i + 1]. The voice
+	// numbers are in ascending order. Measures without voices share the same empty arrays.
+	private final int[] voiceNumbers;
+	private final int[] voiceStarts;
+	private final Durational[] elements;
+
+	// Cumulative onsets of the elements in each voice as packed rational sums (see Duration.addToSum). Each voice has
+	// one more onset than elements, the last one being the total duration of the voice, so the onsets of the voice at
+	// index i of voiceNumbers begin at index voiceStarts[i] + i. Built lazily on first use.
+	private volatile long[] onsets;
+
 	/**
 	 * Returns a measure with the given values.
 	 *
@@ -110,13 +134,38 @@ public final class Measure implements Iterable<Durational> {
 		}
 
 		this.number = number;
-		final SortedMap<Integer, List<Durational>> voicesCopy = new TreeMap<>();
 
-		for (Integer voiceNum : noteVoices.keySet()) {
-			voicesCopy.put(voiceNum, Collections.unmodifiableList(new ArrayList<>(noteVoices.get(voiceNum))));
-		}
+		if (noteVoices.isEmpty()) {
+			this.voiceNumbers = NO_VOICE_NUMBERS;
+			this.voiceStarts = NO_VOICE_STARTS;
+			this.elements = NO_ELEMENTS;
+		} else {
+			final int[] sortedVoiceNumbers = new int[noteVoices.size()];
+			int voiceIndex = 0;
+			int elementCount = 0;
+			for (Map.Entry<Integer, List<Durational>> voice : noteVoices.entrySet()) {
+				sortedVoiceNumbers[voiceIndex++] = voice.getKey();
+				elementCount += voice.getValue().size();
+			}
 
-		this.voices = Collections.unmodifiableSortedMap(voicesCopy);
+			Arrays.sort(sortedVoiceNumbers);
+
+			this.voiceStarts = new int[sortedVoiceNumbers.length + 1];
+			this.elements = new Durational[elementCount];
+			int elementIndex = 0;
+			for (voiceIndex = 0; voiceIndex < sortedVoiceNumbers.length; ++voiceIndex) {
+				this.voiceStarts[voiceIndex] = elementIndex;
+				for (Durational durational : noteVoices.get(sortedVoiceNumbers[voiceIndex])) {
+					this.elements[elementIndex++] = durational;
+				}
+			}
+
+			this.voiceStarts[sortedVoiceNumbers.length] = elementIndex;
+			this.voiceNumbers = sortedVoiceNumbers.length == 1 && sortedVoiceNumbers[0] >= 0
+					&& sortedVoiceNumbers[0] < SINGLE_VOICE_NUMBERS.length
+					? SINGLE_VOICE_NUMBERS[sortedVoiceNumbers[0]]
+					: sortedVoiceNumbers;
+		}
 
 		this.measureAttr = Objects.requireNonNull(measureAttr);
 
@@ -132,7 +181,50 @@ public final class Measure implements Iterable<Durational> {
 	 * @return list of the voice numbers used in this measure.
 	 */
 	public List<Integer> getVoiceNumbers() {
-		return new ArrayList<>(this.voices.keySet());
+		final List<Integer> numbers = new ArrayList<>(this.voiceNumbers.length);
+		for (int voiceNumber : this.voiceNumbers) {
+			numbers.add(voiceNumber);
+		}
+
+		return numbers;
+	}
+
+	/**
+	 * Returns the voice number at the given index of the voice numbers of this measure in ascending order.
+	 */
+	int getVoiceNumberAt(int voiceIndex) {
+		return this.voiceNumbers[voiceIndex];
+	}
+
+	/**
+	 * Returns the number of elements in the voice at the given index of the voice numbers in ascending order.
+	 */
+	int getVoiceSizeAt(int voiceIndex) {
+		return this.voiceStarts[voiceIndex + 1] - this.voiceStarts[voiceIndex];
+	}
+
+	/**
+	 * Returns the element at the given index in the voice at the given index of the voice numbers in ascending
+	 * order. The indices are not checked.
+	 */
+	Durational getAtVoiceIndex(int voiceIndex, int index) {
+		return this.elements[this.voiceStarts[voiceIndex] + index];
+	}
+
+	/**
+	 * Returns true if this measure has a voice with the given number.
+	 */
+	boolean hasVoice(int voiceNumber) {
+		return Arrays.binarySearch(this.voiceNumbers, voiceNumber) >= 0;
+	}
+
+	private int voiceIndexOf(int voiceNumber) throws NoSuchElementException {
+		final int voiceIndex = Arrays.binarySearch(this.voiceNumbers, voiceNumber);
+		if (voiceIndex < 0) {
+			throw new NoSuchElementException("No voice with number " + voiceNumber + " in measure");
+		}
+
+		return voiceIndex;
 	}
 
 	/**
@@ -143,7 +235,7 @@ public final class Measure implements Iterable<Durational> {
 	 * @return the number of elements in the voice with voiceNumber
 	 */
 	public int getVoiceSize(int voiceNumber) {
-		return this.voices.get(voiceNumber).size();
+		return getVoiceSizeAt(voiceIndexOf(voiceNumber));
 	}
 
 	/**
@@ -152,7 +244,7 @@ public final class Measure implements Iterable<Durational> {
 	 * @return number of voices in this measure
 	 */
 	public int getVoiceCount() {
-		return this.voices.keySet().size();
+		return this.voiceNumbers.length;
 	}
 
 	/**
@@ -284,16 +376,115 @@ public final class Measure implements Iterable<Durational> {
 	 *                                if the index is out of range
 	 */
 	public Durational get(int voiceNumber, int index) throws NoSuchElementException {
-		if (!this.voices.keySet().contains(voiceNumber)) {
+		final int voiceIndex = voiceIndexOf(voiceNumber);
+		if (index < 0 || index >= getVoiceSizeAt(voiceIndex)) {
 			throw new NoSuchElementException();
 		}
 
-		final List<Durational> voice = this.voices.get(voiceNumber);
-		if (index < 0 || index >= voice.size()) {
+		return getAtVoiceIndex(voiceIndex, index);
+	}
+
+	/**
+	 * Returns the onset of the {@link Durational} at the given index on the given voice number, measured from the
+	 * beginning of this measure. The onset is empty for the first element of the voice, because durations cannot
+	 * be zero.
+	 *
+	 * @param voiceNumber the number of the voice of the element
+	 * @param index       index of the element on the voice
+	 * @return the onset of the element from the beginning of this measure, empty if the onset is at the beginning
+	 * @throws NoSuchElementException if there is no voice with the given number or if the index is out of range
+	 */
+	public Optional<Duration> onsetOf(int voiceNumber, int index) throws NoSuchElementException {
+		final int voiceIndex = voiceIndexOf(voiceNumber);
+		if (index < 0 || index >= getVoiceSizeAt(voiceIndex)) {
 			throw new NoSuchElementException();
 		}
 
-		return voice.get(index);
+		final long onset = getOnsets()[onsetIndexOf(voiceIndex) + index];
+		if (Duration.isZeroSum(onset)) {
+			return Optional.empty();
+		}
+
+		return Optional.of(Duration.ofSum(onset));
+	}
+
+	/**
+	 * Returns the {@link Durational} that is sounding at the given offset from the beginning of this measure on the
+	 * given voice. An element is sounding at the offset if it begins at or before the offset and ends after it. The
+	 * element is found with a binary search over the onsets of the voice.
+	 *
+	 * @param voiceNumber the number of the voice from which to get the element
+	 * @param offset      the offset from the beginning of this measure, null for the beginning of the measure
+	 * @return the element sounding at the given offset on the given voice, empty if the voice ends before the offset
+	 * @throws NoSuchElementException if there is no voice with the given number
+	 */
+	public Optional<Durational> getAtOffset(int voiceNumber, Duration offset) throws NoSuchElementException {
+		final int voiceIndex = voiceIndexOf(voiceNumber);
+		final long[] allOnsets = getOnsets();
+		final int firstOnset = onsetIndexOf(voiceIndex);
+		final int voiceSize = getVoiceSizeAt(voiceIndex);
+		if (voiceSize == 0
+				|| (offset != null && Duration.compareSum(allOnsets[firstOnset + voiceSize], offset) <= 0)) {
+			return Optional.empty();
+		}
+
+		if (offset == null) {
+			return Optional.of(getAtVoiceIndex(voiceIndex, 0));
+		}
+
+		// Find the last element whose onset is at or before the offset.
+		int low = 0;
+		int high = voiceSize - 1;
+		while (low < high) {
+			final int middle = (low + high + 1) >>> 1;
+			if (Duration.compareSum(allOnsets[firstOnset + middle], offset) <= 0) {
+				low = middle;
+			} else {
+				high = middle - 1;
+			}
+		}
+
+		return Optional.of(getAtVoiceIndex(voiceIndex, low));
+	}
+
+	/**
+	 * Returns the total duration of the longest voice in this measure as a packed rational sum (see
+	 * {@link Duration#addToSum(long, Duration)}). The sum is zero if this measure has no voices.
+	 */
+	long getLongestVoiceDurationSum() {
+		long longest = Duration.ZERO_SUM;
+		final long[] allOnsets = getOnsets();
+		for (int voiceIndex = 0; voiceIndex < voiceNumbers.length; ++voiceIndex) {
+			final long voiceDuration = allOnsets[onsetIndexOf(voiceIndex) + getVoiceSizeAt(voiceIndex)];
+			if (Duration.compareSums(voiceDuration, longest) > 0) {
+				longest = voiceDuration;
+			}
+		}
+
+		return longest;
+	}
+
+	private int onsetIndexOf(int voiceIndex) {
+		return voiceStarts[voiceIndex] + voiceIndex;
+	}
+
+	private long[] getOnsets() {
+		long[] allOnsets = onsets;
+		if (allOnsets == null) {
+			allOnsets = new long[elements.length + voiceNumbers.length];
+			for (int voiceIndex = 0; voiceIndex < voiceNumbers.length; ++voiceIndex) {
+				int onsetIndex = onsetIndexOf(voiceIndex);
+				allOnsets[onsetIndex] = Duration.ZERO_SUM;
+				for (int i = voiceStarts[voiceIndex]; i < voiceStarts[voiceIndex + 1]; ++i) {
+					allOnsets[onsetIndex + 1] = Duration.addToSum(allOnsets[onsetIndex], elements[i].getDuration());
+					++onsetIndex;
+				}
+			}
+
+			onsets = allOnsets;
+		}
+
+		return allOnsets;
 	}
 
 	/**
@@ -302,7 +493,7 @@ public final class Measure implements Iterable<Durational> {
 	 * @return true if this measure is a full measure rest
 	 */
 	public boolean isFullMeasureRest() {
-		return this.voices.isEmpty();
+		return this.voiceNumbers.length == 0;
 	}
 
 	@Override
@@ -310,11 +501,11 @@ public final class Measure implements Iterable<Durational> {
 		final StringBuilder strBuilder = new StringBuilder();
 		strBuilder.append("Measure ").append(this.number).append(", ").append(this.measureAttr).append(":\n");
 
-		for (Integer i : this.voices.keySet()) {
-			strBuilder.append("Voice ").append(i).append(": ");
-			for (int j = 0; j < voices.get(i).size(); ++j) {
-				strBuilder.append(voices.get(i).get(j).toString());
-				if (j != voices.get(i).size() - 1) {
+		for (int i = 0; i < this.voiceNumbers.length; ++i) {
+			strBuilder.append("Voice ").append(this.voiceNumbers[i]).append(": ");
+			for (int j = 0; j < getVoiceSizeAt(i); ++j) {
+				strBuilder.append(getAtVoiceIndex(i, j).toString());
+				if (j != getVoiceSizeAt(i) - 1) {
 					strBuilder.append(", ");
 				}
 			}
@@ -339,7 +530,6 @@ public final class Measure implements Iterable<Durational> {
 	}
 
 	private static class Iter implements MeasureIterator {
-		private final List<Integer> voiceNumbers;
 		private final Measure measure;
 		private int voiceNumberIndex = 0;
 		private int positionInVoice = 0;
@@ -353,7 +543,6 @@ public final class Measure implements Iterable<Durational> {
 		 */
 		Iter(Measure measure) {
 			this.measure = measure;
-			this.voiceNumbers = measure.getVoiceNumbers();
 		}
 
 		@Override
@@ -368,12 +557,11 @@ public final class Measure implements Iterable<Durational> {
 
 		@Override
 		public boolean hasNext() {
-			if (voiceNumberIndex >= this.voiceNumbers.size()) {
+			if (voiceNumberIndex >= this.measure.getVoiceCount()) {
 				return false;
 			}
 
-			final int voiceNumber = this.voiceNumbers.get(this.voiceNumberIndex);
-			return this.measure.getVoiceSize(voiceNumber) > 0;
+			return this.measure.getVoiceSizeAt(this.voiceNumberIndex) > 0;
 		}
 
 		@Override
@@ -382,12 +570,12 @@ public final class Measure implements Iterable<Durational> {
 				throw new NoSuchElementException();
 			}
 
-			this.prevVoiceNumber = this.voiceNumbers.get(this.voiceNumberIndex);
+			this.prevVoiceNumber = this.measure.getVoiceNumberAt(this.voiceNumberIndex);
 			this.prevPositionInVoice = this.positionInVoice;
-			final Durational next = measure.get(prevVoiceNumber, prevPositionInVoice);
+			final Durational next = measure.getAtVoiceIndex(this.voiceNumberIndex, prevPositionInVoice);
 
 			++this.positionInVoice;
-			if (this.positionInVoice == measure.getVoiceSize(prevVoiceNumber)) {
+			if (this.positionInVoice == measure.getVoiceSizeAt(this.voiceNumberIndex)) {
 				++this.voiceNumberIndex;
 				this.positionInVoice = 0;
 			}
@@ -288,12 +288,12 @@ public class MeasureBuilder {
 	 * @return sum of the durations of the in the voice
 	 */
 	public Duration totalDurationOfVoice(int voice) {
-		final List<Duration> durations = new ArrayList<>();
+		long sum = Duration.ZERO_SUM;
 		for (DurationalBuilder d : this.voices.get(voice)) {
-			durations.add(d.getDuration());
+			sum = Duration.addToSum(sum, d.getDuration());
 		}
 
-		return Duration.sum(durations);
+		return Duration.ofSum(sum);
 	}
 
 	/**
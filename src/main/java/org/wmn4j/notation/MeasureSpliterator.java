@@ -0,0 +1,91 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.notation;
+
+import org.wmn4j.notation.access.Offset;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator over the measures of a {@link Part} in the same order as {@link Part#getPartIterator()}: measure by
+ * measure, and for measures with the same number staff by staff. Each measure is given together with the time at
+ * which it begins, which is looked up from the timeline of the part. Splitting is done on measure numbers, so all
+ * the staves of a measure number are always in the same half.
+ * <p>
+ * Instances of this class are not thread-safe.
+ */
+final class MeasureSpliterator implements Spliterator<Offset<Measure>> {
+
+	private final Part part;
+	private final PartTimeline timeline;
+	private final List<Integer> staffNumbers;
+	private int measureNumber;
+	private int staffPosition;
+	private final int lastMeasure;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param part         the part whose measures are traversed
+	 * @param firstMeasure the number of the first measure to be included
+	 * @param lastMeasure  the number of the last measure to be included
+	 */
+	MeasureSpliterator(Part part, int firstMeasure, int lastMeasure) {
+		this(part, PartTimeline.forPart(part), firstMeasure, lastMeasure);
+	}
+
+	private MeasureSpliterator(Part part, PartTimeline timeline, int firstMeasure, int lastMeasure) {
+		this.part = part;
+		this.timeline = timeline;
+		this.staffNumbers = part.getStaffNumbers();
+		this.measureNumber = firstMeasure;
+		this.lastMeasure = lastMeasure;
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super Offset<Measure>> action) {
+		if (measureNumber > lastMeasure) {
+			return false;
+		}
+
+		action.accept(new Offset<>(part.getMeasure(staffNumbers.get(staffPosition), measureNumber),
+				timeline.startOf(measureNumber).orElse(null)));
+
+		++staffPosition;
+		if (staffPosition == staffNumbers.size()) {
+			staffPosition = 0;
+			++measureNumber;
+		}
+
+		return true;
+	}
+
+	@Override
+	public Spliterator<Offset<Measure>> trySplit() {
+		if (staffPosition != 0 || lastMeasure - measureNumber < 1) {
+			return null;
+		}
+
+		final int middle = measureNumber + (lastMeasure - measureNumber + 1) / 2;
+		final Spliterator<Offset<Measure>> prefix = new MeasureSpliterator(part, timeline, measureNumber, middle - 1);
+		measureNumber = middle;
+		return prefix;
+	}
+
+	@Override
+	public long estimateSize() {
+		if (measureNumber > lastMeasure) {
+			return 0;
+		}
+
+		return (long) (lastMeasure - measureNumber + 1) * staffNumbers.size() - staffPosition;
+	}
+
+	@Override
+	public int characteristics() {
+		return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+	}
+}
@@ -26,6 +26,9 @@ public final class MultiStaffPart implements Part {
 	private final Map<Part.Attribute, String> partAttributes;
 	private final SortedMap<Integer, Staff> staves;
 
+	// Computed on first use.
+	private volatile PartTimeline timeline;
+
 	/**
 	 * Returns a part with multiple staves with the given values. The staves are
 	 * associated with numbers which are to be given as keys in the map parameter.
@@ -118,6 +121,29 @@ public final class MultiStaffPart implements Part {
 		return this.staves.get(staffNumber).getMeasure(measureNumber);
 	}
 
+	@Override
+	public Optional<Duration> startOf(int measureNumber) throws NoSuchElementException {
+		return getTimeline().startOf(measureNumber);
+	}
+
+	@Override
+	public int measureAt(Duration time) throws NoSuchElementException {
+		return getTimeline().measureAt(time);
+	}
+
+	/**
+	 * Returns the timeline of this part, computing it on first use.
+	 */
+	PartTimeline getTimeline() {
+		PartTimeline partTimeline = timeline;
+		if (partTimeline == null) {
+			partTimeline = PartTimeline.of(this);
+			timeline = partTimeline;
+		}
+
+		return partTimeline;
+	}
+
 	@Override
 	public PartIterator getPartIterator() {
 		return new MultiStaffPart.Iter(this, hasPickupMeasure() ? 0 : 1, getFullMeasureCount());
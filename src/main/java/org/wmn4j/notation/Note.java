@@ -453,15 +453,15 @@ public final class Note implements Durational, Pitched, Notation.Connectable {
 	 * @return the total duration of tied notes starting from the onset of this note
 	 */
 	public Duration getTiedDuration() {
-		final List<Duration> tiedDurations = new ArrayList<>();
+		long tiedDuration = Duration.ZERO_SUM;
 
 		Optional<Note> currentNote = Optional.of(this);
 		while (currentNote.isPresent()) {
-			tiedDurations.add(currentNote.get().getDuration());
+			tiedDuration = Duration.addToSum(tiedDuration, currentNote.get().getDuration());
 			currentNote = currentNote.get().getFollowingTiedNote();
 		}
 
-		return Duration.sum(tiedDurations);
+		return Duration.ofSum(tiedDuration);
 	}
 
 	/**
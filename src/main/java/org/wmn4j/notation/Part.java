@@ -3,12 +3,15 @@
  */
 package org.wmn4j.notation;
 
+import org.wmn4j.notation.access.Offset;
 import org.wmn4j.notation.access.PartIterator;
 
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Represents a part in a score.
@@ -102,6 +105,35 @@ public interface Part extends Iterable<Measure> {
 	 */
 	Measure getMeasure(int staffNumber, int measureNumber) throws NoSuchElementException;
 
+	/**
+	 * Returns the time at which the measure with the given number begins, measured from the beginning of this
+	 * part. Full measures last for the total duration of their time signature and a pickup measure lasts for the
+	 * duration of its longest voice. The time is empty for the first measure of the part.
+	 * <p>
+	 * The parts of this library compute the start times of the measures once and look them up in constant time.
+	 * The default implementation computes the start times of all measures on every call.
+	 *
+	 * @param measureNumber the number of the measure
+	 * @return the time at which the measure begins, empty if it begins at the beginning of this part
+	 * @throws NoSuchElementException if there is no measure with the given number in this part
+	 */
+	default Optional<Duration> startOf(int measureNumber) throws NoSuchElementException {
+		return PartTimeline.forPart(this).startOf(measureNumber);
+	}
+
+	/**
+	 * Returns the number of the measure that is in progress at the given time, measured from the beginning of this
+	 * part. A measure is in progress at the time at which it begins but not at the time at which it ends. The
+	 * measure is found with a binary search over the start times of the measures.
+	 *
+	 * @param time the time from the beginning of this part, null for the beginning of this part
+	 * @return the number of the measure that is in progress at the given time
+	 * @throws NoSuchElementException if this part has ended at the given time
+	 */
+	default int measureAt(Duration time) throws NoSuchElementException {
+		return PartTimeline.forPart(this).measureAt(time);
+	}
+
 	/**
 	 * Returns a part iterator that can be used to iterate through the measures in
 	 * this part.
@@ -122,6 +154,28 @@ public interface Part extends Iterable<Measure> {
 	 */
 	PartIterator getPartIterator(int firstMeasure, int lastMeasure);
 
+	/**
+	 * Returns a sequential stream of the measures in this part in the same order as {@link #getPartIterator()}.
+	 * Each measure is offset by the time at which it begins, as given by {@link #startOf(int)}.
+	 *
+	 * @return a sequential stream of the measures in this part offset by the times at which they begin
+	 */
+	default Stream<Offset<Measure>> stream() {
+		return StreamSupport.stream(
+				new MeasureSpliterator(this, hasPickupMeasure() ? 0 : 1, getFullMeasureCount()), false);
+	}
+
+	/**
+	 * Returns a possibly parallel stream of the measures in this part offset by the times at which they begin. The
+	 * stream is split on measure numbers, so the measures with the same number in different staves are always
+	 * processed by the same thread.
+	 *
+	 * @return a possibly parallel stream of the measures in this part offset by the times at which they begin
+	 */
+	default Stream<Offset<Measure>> parallelStream() {
+		return stream().parallel();
+	}
+
 	@Override
 	default Iterator<Measure> iterator() {
 		return getPartIterator();
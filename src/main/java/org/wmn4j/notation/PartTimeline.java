@@ -0,0 +1,177 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.notation;
+
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Index of the times at which the measures of a part or a staff begin. The times are measured from the beginning of
+ * the part or the staff.
+ * <p>
+ * A full measure lasts for the total duration of its time signature. A pickup measure lasts for the duration of
+ * its longest voice, because pickup measures are normally shorter than their time signature.
+ * <p>
+ * This class is immutable.
+ */
+final class PartTimeline {
+
+	private final int firstMeasureNumber;
+
+	// Start times of the measures as packed rational sums (see Duration.addToSum). The last element is the end of
+	// the part.
+	private final long[] starts;
+
+	private PartTimeline(int firstMeasureNumber, long[] starts) {
+		this.firstMeasureNumber = firstMeasureNumber;
+		this.starts = starts;
+	}
+
+	/**
+	 * Returns the timeline of the given part.
+	 *
+	 * @param part the part whose timeline is returned
+	 * @return the timeline of the given part
+	 */
+	static PartTimeline of(Part part) {
+		return of(part.hasPickupMeasure(), part.getFullMeasureCount(),
+				measureNumber -> measureDurationSum(part, measureNumber));
+	}
+
+	/**
+	 * Returns the timeline of the given staff. The times are measured from the beginning of the staff and a pickup
+	 * measure lasts for the duration of its longest voice in the staff.
+	 *
+	 * @param staff the staff whose timeline is returned
+	 * @return the timeline of the given staff
+	 */
+	static PartTimeline of(Staff staff) {
+		return of(staff.hasPickupMeasure(), staff.getFullMeasureCount(),
+				measureNumber -> measureDurationSum(staff.getMeasure(measureNumber)));
+	}
+
+	private static PartTimeline of(boolean hasPickupMeasure, int fullMeasureCount,
+			IntToLongFunction measureDurationSum) {
+		final int firstMeasureNumber = hasPickupMeasure ? 0 : 1;
+		final int measureCount = fullMeasureCount - firstMeasureNumber + 1;
+		final long[] starts = new long[measureCount + 1];
+		starts[0] = Duration.ZERO_SUM;
+
+		for (int i = 0; i < measureCount; ++i) {
+			starts[i + 1] = Duration.addSums(starts[i], measureDurationSum.applyAsLong(firstMeasureNumber + i));
+		}
+
+		return new PartTimeline(firstMeasureNumber, starts);
+	}
+
+	private static long measureDurationSum(Measure measure) {
+		if (measure.isPickup()) {
+			return measure.getLongestVoiceDurationSum();
+		}
+
+		return Duration.addToSum(Duration.ZERO_SUM, measure.getTimeSignature().getTotalDuration());
+	}
+
+	private static long measureDurationSum(Part part, int measureNumber) {
+		final int firstStaffNumber = part.getStaffNumbers().get(0);
+		final Measure firstStaffMeasure = part.getMeasure(firstStaffNumber, measureNumber);
+
+		if (!firstStaffMeasure.isPickup()) {
+			return measureDurationSum(firstStaffMeasure);
+		}
+
+		long longest = Duration.ZERO_SUM;
+		for (int staffNumber : part.getStaffNumbers()) {
+			final long staffDuration = part.getMeasure(staffNumber, measureNumber).getLongestVoiceDurationSum();
+			if (Duration.compareSums(staffDuration, longest) > 0) {
+				longest = staffDuration;
+			}
+		}
+
+		return longest;
+	}
+
+	/**
+	 * Returns the cached timeline of the given part, or computes it if the part does not cache it.
+	 *
+	 * @param part the part whose timeline is returned
+	 * @return the timeline of the given part
+	 */
+	static PartTimeline forPart(Part part) {
+		if (part instanceof SingleStaffPart) {
+			return ((SingleStaffPart) part).getTimeline();
+		}
+
+		if (part instanceof MultiStaffPart) {
+			return ((MultiStaffPart) part).getTimeline();
+		}
+
+		return of(part);
+	}
+
+	/**
+	 * Returns the time at which the measure with the given number begins as a packed rational sum (see
+	 * {@link Duration#addToSum(long, Duration)}).
+	 *
+	 * @param measureNumber the number of the measure
+	 * @return the time at which the measure begins as a packed rational sum
+	 * @throws NoSuchElementException if there is no measure with the given number
+	 */
+	long startSumOf(int measureNumber) throws NoSuchElementException {
+		final int index = measureNumber - firstMeasureNumber;
+		if (index < 0 || index >= starts.length - 1) {
+			throw new NoSuchElementException("No measure with number " + measureNumber + " in part");
+		}
+
+		return starts[index];
+	}
+
+	/**
+	 * Returns the time at which the measure with the given number begins, or empty for the first measure.
+	 *
+	 * @param measureNumber the number of the measure
+	 * @return the time at which the measure begins, empty if it begins at the beginning of the part
+	 * @throws NoSuchElementException if there is no measure with the given number
+	 */
+	Optional<Duration> startOf(int measureNumber) throws NoSuchElementException {
+		final long start = startSumOf(measureNumber);
+		if (Duration.isZeroSum(start)) {
+			return Optional.empty();
+		}
+
+		return Optional.of(Duration.ofSum(start));
+	}
+
+	/**
+	 * Returns the number of the measure that is in progress at the given time.
+	 *
+	 * @param time the time from the beginning of the part, null for the beginning
+	 * @return the number of the measure that is in progress at the given time
+	 * @throws NoSuchElementException if the part has ended at the given time
+	 */
+	int measureAt(Duration time) throws NoSuchElementException {
+		if (starts.length == 1 || (time != null && Duration.compareSum(starts[starts.length - 1], time) <= 0)) {
+			throw new NoSuchElementException("Part has ended at time " + time);
+		}
+
+		if (time == null) {
+			return firstMeasureNumber;
+		}
+
+		// Find the last measure that begins at or before the time.
+		int low = 0;
+		int high = starts.length - 2;
+		while (low < high) {
+			final int middle = (low + high + 1) >>> 1;
+			if (Duration.compareSum(starts[middle], time) <= 0) {
+				low = middle;
+			} else {
+				high = middle - 1;
+			}
+		}
+
+		return firstMeasureNumber + low;
+	}
+}
@@ -0,0 +1,197 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.notation;
+
+import org.wmn4j.notation.access.Position;
+import org.wmn4j.notation.access.PositionalCursor;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Cursor that moves through a {@link Score} in the same partwise order as {@link PartwisePositionalIterator}: part
+ * by part, measure by measure, staff by staff, and voice by voice.
+ * <p>
+ * The cursor keeps its position in primitive fields and reads the voices of the measures by their indices, so
+ * advancing it does not create objects.
+ * <p>
+ * Instances of this class are not thread-safe.
+ */
+final class PartwisePositionalCursor implements PositionalCursor {
+
+	private static final String NOT_AT_ELEMENT_MESSAGE = "Cursor is not at an element";
+
+	private final Score score;
+	private final List<Integer> partIndices;
+	private final int firstMeasure;
+	private final int lastMeasure;
+
+	private int partPosition;
+	private Part part;
+	private PartTimeline timeline;
+	private List<Integer> staffNumbers;
+	private int staffPosition;
+	private int measureNumber;
+	private Measure measure;
+	private int voicePosition;
+	private int index;
+	private Durational current;
+
+	// The offset of the current element from the beginning of its part as a packed rational sum.
+	private long offset;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param score        the score that this moves through
+	 * @param firstMeasure the number of the first measure to be included
+	 * @param lastMeasure  the number of the last measure to be included
+	 * @param partIndices  the indices of the parts included
+	 */
+	PartwisePositionalCursor(Score score, int firstMeasure, int lastMeasure, List<Integer> partIndices) {
+		this.score = score;
+		this.firstMeasure = firstMeasure;
+		this.lastMeasure = lastMeasure;
+		this.partIndices = partIndices;
+		reset();
+	}
+
+	@Override
+	public void reset() {
+		partPosition = -1;
+		part = null;
+		measure = null;
+		current = null;
+	}
+
+	@Override
+	public boolean advance() {
+		if (current != null) {
+			offset = Duration.addToSum(offset, current.getDuration());
+			++index;
+			if (index < measure.getVoiceSizeAt(voicePosition)) {
+				current = measure.getAtVoiceIndex(voicePosition, index);
+				return true;
+			}
+
+			++voicePosition;
+		}
+
+		current = null;
+		while (measure != null || moveToNextMeasure()) {
+			while (voicePosition < measure.getVoiceCount()) {
+				if (measure.getVoiceSizeAt(voicePosition) > 0) {
+					index = 0;
+					offset = timeline.startSumOf(measureNumber);
+					current = measure.getAtVoiceIndex(voicePosition, 0);
+					return true;
+				}
+
+				++voicePosition;
+			}
+
+			if (!moveToNextMeasure()) {
+				return false;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Moves to the next measure in partwise order. Returns false if there are no more measures.
+	 */
+	private boolean moveToNextMeasure() {
+		if (part != null) {
+			++staffPosition;
+			if (staffPosition == staffNumbers.size()) {
+				staffPosition = 0;
+				++measureNumber;
+			}
+		}
+
+		if (part == null || measureNumber > lastMeasure) {
+			++partPosition;
+			if (partPosition >= partIndices.size()) {
+				part = null;
+				measure = null;
+				partPosition = partIndices.size();
+				return false;
+			}
+
+			part = score.getPart(partIndices.get(partPosition));
+			timeline = PartTimeline.forPart(part);
+			staffNumbers = part.getStaffNumbers();
+			staffPosition = 0;
+			measureNumber = firstMeasure;
+		}
+
+		measure = part.getMeasure(staffNumbers.get(staffPosition), measureNumber);
+		voicePosition = 0;
+		return true;
+	}
+
+	private void checkAtElement() {
+		if (current == null) {
+			throw new IllegalStateException(NOT_AT_ELEMENT_MESSAGE);
+		}
+	}
+
+	@Override
+	public Durational get() {
+		checkAtElement();
+		return current;
+	}
+
+	@Override
+	public int getPartIndex() {
+		checkAtElement();
+		return partIndices.get(partPosition);
+	}
+
+	@Override
+	public int getStaffNumber() {
+		checkAtElement();
+		return staffNumbers.get(staffPosition);
+	}
+
+	@Override
+	public int getMeasureNumber() {
+		checkAtElement();
+		return measureNumber;
+	}
+
+	@Override
+	public int getVoiceNumber() {
+		checkAtElement();
+		return measure.getVoiceNumberAt(voicePosition);
+	}
+
+	@Override
+	public int getIndexInVoice() {
+		checkAtElement();
+		return index;
+	}
+
+	@Override
+	public Optional<Duration> getOffset() {
+		checkAtElement();
+		if (Duration.isZeroSum(offset)) {
+			return Optional.empty();
+		}
+
+		return Optional.of(Duration.ofSum(offset));
+	}
+
+	@Override
+	public double getOffsetAsDouble() {
+		checkAtElement();
+		return Duration.sumToDouble(offset);
+	}
+
+	@Override
+	public Position toPosition() {
+		return new Position(getPartIndex(), getStaffNumber(), getMeasureNumber(), getVoiceNumber(), getIndexInVoice());
+	}
+}
@@ -22,12 +22,14 @@ import java.util.NoSuchElementException;
  * Iterates through a {@link Score} in part wise order. Starts by iterating
  * through the part with the smallest number. Iterates through parts starting
  * from smallest measure number. Iterates through measure voice by voice.
+ * The part indices of the positions are the indices of the parts in the score.
  * <p>
  * Instances of this class are not thread-safe.
  */
 final class PartwisePositionalIterator implements PositionalIterator {
 
-	private final Iterator<Part> scoreIterator;
+	private final Score score;
+	private final Iterator<Integer> partIndexIterator;
 
 	private PartIterator currentPartIterator;
 	private MeasureIterator currentMeasureIterator;
@@ -55,19 +57,18 @@ final class PartwisePositionalIterator implements PositionalIterator {
 	 */
 	PartwisePositionalIterator(Score score, int firstMeasure, int lastMeasure, List<Integer> partIndices) {
 
-		if (partIndices.isEmpty()) {
-			this.scoreIterator = score.iterator();
-		} else {
-			List<Part> selectedParts = new ArrayList<>();
-			for (Integer index : partIndices) {
-				selectedParts.add(score.getPart(index));
+		List<Integer> selectedIndices = partIndices;
+		if (selectedIndices.isEmpty()) {
+			selectedIndices = new ArrayList<>(score.getPartCount());
+			for (int i = 0; i < score.getPartCount(); ++i) {
+				selectedIndices.add(i);
 			}
-
-			this.scoreIterator = selectedParts.iterator();
 		}
 
-		this.prevPart = this.scoreIterator.next();
-		this.prevPartIndex = 0;
+		this.score = score;
+		this.partIndexIterator = selectedIndices.iterator();
+		this.prevPartIndex = this.partIndexIterator.next();
+		this.prevPart = score.getPart(this.prevPartIndex);
 		this.firstMeasure = firstMeasure;
 		this.lastMeasure = lastMeasure;
 		this.currentPartIterator = this.prevPart.getPartIterator(this.firstMeasure, this.lastMeasure);
@@ -77,7 +78,7 @@ final class PartwisePositionalIterator implements PositionalIterator {
 	@Override
 	public boolean hasNext() {
 		return this.currentMeasureIterator.hasNext() || this.currentPartIterator.hasNext()
-				|| this.scoreIterator.hasNext();
+				|| this.partIndexIterator.hasNext();
 	}
 
 	@Override
@@ -88,8 +89,8 @@ final class PartwisePositionalIterator implements PositionalIterator {
 
 		if (!this.currentMeasureIterator.hasNext()) {
 			if (!this.currentPartIterator.hasNext()) {
-				this.prevPart = this.scoreIterator.next();
-				++this.prevPartIndex;
+				this.prevPartIndex = this.partIndexIterator.next();
+				this.prevPart = this.score.getPart(this.prevPartIndex);
 				this.currentPartIterator = this.prevPart.getPartIterator(this.firstMeasure, this.lastMeasure);
 			}
 
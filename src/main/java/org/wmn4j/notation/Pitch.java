@@ -112,12 +112,30 @@ public final class Pitch implements Comparable<Pitch> {
 	 */
 	public static final int MAX_OCTAVE = 10;
 
+	private static final Base[] BASES = Base.values();
+	private static final Accidental[] ACCIDENTALS = Accidental.values();
+	private static final int OCTAVE_COUNT = MAX_OCTAVE + 1;
+
+	// All possible pitches indexed by base, accidental, and octave. Pitch.of
+	// returns these instances so that no two equal pitches are ever allocated.
+	private static final Pitch[] PITCHES = new Pitch[BASES.length * ACCIDENTALS.length * OCTAVE_COUNT];
+
+	static {
+		for (Base base : BASES) {
+			for (Accidental accidental : ACCIDENTALS) {
+				for (int octave = 0; octave <= MAX_OCTAVE; ++octave) {
+					PITCHES[indexOf(base, accidental, octave)] = new Pitch(base, accidental, octave);
+				}
+			}
+		}
+	}
+
 	private final Base pitchBase;
 	private final Accidental accidental;
 	private final int octave;
 
 	/**
-	 * Returns an instance.
+	 * Returns an instance. Equal pitches are always the same instance.
 	 *
 	 * @param pitchName  the letter on which the name of the pitch is based
 	 * @param accidental the accidental to use or natural if this pitch is not sharp or flat
@@ -131,7 +149,11 @@ public final class Pitch implements Comparable<Pitch> {
 			throw new IllegalArgumentException("octave was " + octave + ". octave must be between 0 and " + MAX_OCTAVE);
 		}
 
-		return new Pitch(Objects.requireNonNull(pitchName), Objects.requireNonNull(accidental), octave);
+		return PITCHES[indexOf(Objects.requireNonNull(pitchName), Objects.requireNonNull(accidental), octave)];
+	}
+
+	private static int indexOf(Base pitchName, Accidental accidental, int octave) {
+		return (pitchName.ordinal() * ACCIDENTALS.length + accidental.ordinal()) * OCTAVE_COUNT + octave;
 	}
 
 	/**
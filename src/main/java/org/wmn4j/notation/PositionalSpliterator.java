@@ -0,0 +1,119 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.notation;
+
+import org.wmn4j.notation.access.PositionalElement;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator over the {@link Durational} objects of a selection of a {@link Score} in the same partwise order as
+ * {@link PartwisePositionalIterator}. The elements are given together with their positions and offsets.
+ * <p>
+ * The selection is divided into units that each contain one measure number of one part. Splitting is done on the
+ * boundaries of these units, preferring the boundaries between parts, so that the elements of a measure are always
+ * traversed by the same spliterator. The units of each part are traversed with a {@link PartwisePositionalCursor}.
+ * <p>
+ * Instances of this class are not thread-safe.
+ */
+final class PositionalSpliterator implements Spliterator<PositionalElement> {
+
+	private final Score score;
+	private final List<Integer> partIndices;
+	private final int firstMeasure;
+	private final int measuresPerPart;
+
+	// The range of units that have not yet been traversed, first inclusive and last exclusive.
+	private int nextUnit;
+	private final int endUnit;
+
+	private PartwisePositionalCursor cursor;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param score        the score whose elements are traversed
+	 * @param firstMeasure the number of the first measure to be included
+	 * @param lastMeasure  the number of the last measure to be included
+	 * @param partIndices  the indices of the parts included
+	 */
+	PositionalSpliterator(Score score, int firstMeasure, int lastMeasure, List<Integer> partIndices) {
+		this(score, firstMeasure, lastMeasure - firstMeasure + 1, partIndices, 0,
+				(lastMeasure - firstMeasure + 1) * partIndices.size());
+	}
+
+	private PositionalSpliterator(Score score, int firstMeasure, int measuresPerPart, List<Integer> partIndices,
+			int nextUnit, int endUnit) {
+		this.score = score;
+		this.firstMeasure = firstMeasure;
+		this.measuresPerPart = measuresPerPart;
+		this.partIndices = partIndices;
+		this.nextUnit = nextUnit;
+		this.endUnit = endUnit;
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super PositionalElement> action) {
+		while (cursor == null || !cursor.advance()) {
+			if (nextUnit >= endUnit) {
+				cursor = null;
+				return false;
+			}
+
+			moveToNextPart();
+		}
+
+		action.accept(new PositionalElement(cursor.get(), cursor.toPosition(), cursor.getOffset().orElse(null)));
+		return true;
+	}
+
+	/**
+	 * Places the cursor before the remaining units of the part of the next unit.
+	 */
+	private void moveToNextPart() {
+		final int partPosition = nextUnit / measuresPerPart;
+		final int partEndUnit = Math.min(endUnit, (partPosition + 1) * measuresPerPart);
+		final int first = firstMeasure + nextUnit % measuresPerPart;
+		final int last = firstMeasure + (partEndUnit - 1) % measuresPerPart;
+
+		cursor = new PartwisePositionalCursor(score, first, last,
+				Collections.singletonList(partIndices.get(partPosition)));
+		nextUnit = partEndUnit;
+	}
+
+	@Override
+	public Spliterator<PositionalElement> trySplit() {
+		if (cursor != null || endUnit - nextUnit < 2) {
+			return null;
+		}
+
+		int middle = nextUnit + (endUnit - nextUnit) / 2;
+		if (nextUnit / measuresPerPart != (endUnit - 1) / measuresPerPart) {
+			final int partBoundary = Math.round((float) middle / measuresPerPart) * measuresPerPart;
+			if (partBoundary > nextUnit && partBoundary < endUnit) {
+				middle = partBoundary;
+			}
+		}
+
+		final Spliterator<PositionalElement> prefix = new PositionalSpliterator(score, firstMeasure,
+				measuresPerPart, partIndices, nextUnit, middle);
+		nextUnit = middle;
+		return prefix;
+	}
+
+	@Override
+	public long estimateSize() {
+		// The number of elements in a measure is not known without traversing it, so the number of remaining units
+		// is used as the estimate.
+		return endUnit - nextUnit + (cursor == null ? 0 : 1);
+	}
+
+	@Override
+	public int characteristics() {
+		return ORDERED | NONNULL | IMMUTABLE;
+	}
+}
@@ -7,8 +7,11 @@ import org.wmn4j.mir.Pattern;
 import org.wmn4j.mir.PatternPosition;
 import org.wmn4j.notation.access.MeasureIterator;
 import org.wmn4j.notation.access.Position;
+import org.wmn4j.notation.access.PositionalCursor;
+import org.wmn4j.notation.access.PositionalElement;
 import org.wmn4j.notation.access.PositionalIterator;
 import org.wmn4j.notation.access.Selection;
+import org.wmn4j.notation.access.TimewiseIterator;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -25,6 +28,7 @@ import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Represents a score.
@@ -259,6 +263,55 @@ public final class Score implements Iterable<Part> {
 		return new PartwisePositionalIterator(this, hasPickupMeasure() ? 0 : 1, getFullMeasureCount());
 	}
 
+	/**
+	 * Returns an iterator that iterates the durational notation objects of all parts together in timewise order.
+	 * <p>
+	 * Elements are returned in the order of their offsets from the beginning of their parts, so that simultaneous
+	 * elements in different parts, staves, and voices are returned one after the other. Elements with equal offsets
+	 * are returned in the order of part index, staff number, and voice number. The iterator holds only one element
+	 * per voice at a time instead of collecting and sorting the whole score.
+	 *
+	 * @return an iterator that iterates the durational notation objects in timewise order
+	 */
+	public TimewiseIterator timewiseIterator() {
+		return toSelection().timewiseIterator();
+	}
+
+	/**
+	 * Returns a cursor that moves through the durational notation objects in the same partwise order as
+	 * {@link #partwiseIterator()}. The cursor gives the position and offset of the current element through
+	 * primitive getters, so moving through the score with it does not create objects for each element.
+	 *
+	 * @return a cursor that moves through the durational notation objects in partwise order
+	 */
+	public PositionalCursor partwiseCursor() {
+		return toSelection().partwiseCursor();
+	}
+
+	/**
+	 * Returns a sequential stream of the durational notation objects in this score together with their positions
+	 * and offsets. The elements are in the same partwise order as in {@link #partwiseIterator()}.
+	 * <p>
+	 * Unlike the iterator of this score, which iterates the parts, the stream contains the individual elements of
+	 * the parts.
+	 *
+	 * @return a sequential stream of the durational notation objects in this score with their positions and offsets
+	 */
+	public Stream<PositionalElement> stream() {
+		return toSelection().stream();
+	}
+
+	/**
+	 * Returns a possibly parallel stream of the durational notation objects in this score together with their
+	 * positions and offsets. The stream is split on the boundaries of parts and measures, so the elements of a
+	 * measure are always processed by the same thread.
+	 *
+	 * @return a possibly parallel stream of the durational notation objects in this score
+	 */
+	public Stream<PositionalElement> parallelStream() {
+		return toSelection().parallelStream();
+	}
+
 	private int getFirstMeasureNumber() {
 		return hasPickupMeasure() ? 0 : 1;
 	}
@@ -3,8 +3,11 @@
  */
 package org.wmn4j.notation;
 
+import org.wmn4j.notation.access.PositionalCursor;
+import org.wmn4j.notation.access.PositionalElement;
 import org.wmn4j.notation.access.PositionalIterator;
 import org.wmn4j.notation.access.Selection;
+import org.wmn4j.notation.access.TimewiseIterator;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -14,6 +17,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Implementation of Selection.
@@ -101,6 +106,22 @@ final class SelectionImpl implements Selection {
 		return new PartwisePositionalIterator(this.score, this.first, this.last, this.partIndices);
 	}
 
+	@Override
+	public TimewiseIterator timewiseIterator() {
+		return new TimewisePositionalIterator(this.score, this.first, this.last, this.partIndices);
+	}
+
+	@Override
+	public PositionalCursor partwiseCursor() {
+		return new PartwisePositionalCursor(this.score, this.first, this.last, this.partIndices);
+	}
+
+	@Override
+	public Stream<PositionalElement> stream() {
+		return StreamSupport.stream(new PositionalSpliterator(this.score, this.first, this.last, this.partIndices),
+				false);
+	}
+
 	@Override
 	public Selection subSelection(int firstMeasure, int lastMeasure) {
 		return new SelectionImpl(this.score, firstMeasure, lastMeasure, partIndices);
@@ -27,6 +27,9 @@ public final class SingleStaffPart implements Part {
 	private final Map<Part.Attribute, String> partAttributes;
 	private final Staff staff;
 
+	// Computed on first use.
+	private volatile PartTimeline timeline;
+
 	/**
 	 * Returns a part with a single staff with the given name and staff.
 	 *
@@ -109,6 +112,29 @@ public final class SingleStaffPart implements Part {
 		return this.staff;
 	}
 
+	@Override
+	public Optional<Duration> startOf(int measureNumber) throws NoSuchElementException {
+		return getTimeline().startOf(measureNumber);
+	}
+
+	@Override
+	public int measureAt(Duration time) throws NoSuchElementException {
+		return getTimeline().measureAt(time);
+	}
+
+	/**
+	 * Returns the timeline of this part, computing it on first use.
+	 */
+	PartTimeline getTimeline() {
+		PartTimeline partTimeline = timeline;
+		if (partTimeline == null) {
+			partTimeline = PartTimeline.of(this);
+			timeline = partTimeline;
+		}
+
+		return partTimeline;
+	}
+
 	@Override
 	public PartIterator getPartIterator() {
 		return new SingleStaffPart.Iter(this, hasPickupMeasure() ? 0 : 1, getFullMeasureCount());
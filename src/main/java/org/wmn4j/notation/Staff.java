@@ -3,11 +3,15 @@
  */
 package org.wmn4j.notation;
 
+import org.wmn4j.notation.access.Offset;
+
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Represents a staff in a score.
@@ -134,6 +138,29 @@ public final class Staff implements Iterable<Measure> {
 		return strBuilder.toString();
 	}
 
+	/**
+	 * Returns a sequential stream of the measures in this staff in the order of their numbers. Each measure is
+	 * offset by the time at which it begins, measured from the beginning of this staff. Full measures last for the
+	 * total duration of their time signature and a pickup measure lasts for the duration of its longest voice.
+	 *
+	 * @return a sequential stream of the measures in this staff offset by the times at which they begin
+	 */
+	public Stream<Offset<Measure>> stream() {
+		final PartTimeline timeline = PartTimeline.of(this);
+		return IntStream.rangeClosed(hasPickupMeasure() ? 0 : 1, getFullMeasureCount())
+				.mapToObj(number -> new Offset<>(getMeasure(number), timeline.startOf(number).orElse(null)));
+	}
+
+	/**
+	 * Returns a possibly parallel stream of the measures in this staff offset by the times at which they begin. The
+	 * stream is split on measure numbers.
+	 *
+	 * @return a possibly parallel stream of the measures in this staff offset by the times at which they begin
+	 */
+	public Stream<Offset<Measure>> parallelStream() {
+		return stream().parallel();
+	}
+
 	@Override
 	public Iterator<Measure> iterator() {
 		final Iterator<Measure> iter = this.measures.iterator();
@@ -0,0 +1,197 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.notation;
+
+import org.wmn4j.notation.access.Position;
+import org.wmn4j.notation.access.TimewiseIterator;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Iterates through a {@link Score} in timewise order. Elements are returned in the order of their offsets from
+ * the beginning of their parts. Elements with equal offsets are returned in the order of part index, staff number,
+ * and voice number.
+ * <p>
+ * The iterator merges the voices of the score with one cursor per voice, so it only holds as many elements as
+ * there are voices at any time.
+ * <p>
+ * Instances of this class are not thread-safe.
+ */
+final class TimewisePositionalIterator implements TimewiseIterator {
+
+	private static final Comparator<VoiceCursor> CURSOR_ORDER = (a, b) -> {
+		final int offsetComparison = Duration.compareSums(a.getOffset(), b.getOffset());
+		if (offsetComparison != 0) {
+			return offsetComparison;
+		}
+
+		return Integer.compare(a.order, b.order);
+	};
+
+	private final PriorityQueue<VoiceCursor> cursors = new PriorityQueue<>(CURSOR_ORDER);
+
+	private boolean nextCalled;
+	private int prevPartIndex;
+	private int prevStaffNumber;
+	private int prevMeasureNumber;
+	private int prevVoice;
+	private int prevIndex;
+	private long prevOffset;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param score        the score that this iterates through
+	 * @param firstMeasure the number of the first measure to be included in iteration
+	 * @param lastMeasure  the number of the last measure to be included in iteration
+	 * @param partIndices  the indices of the parts included in iteration
+	 */
+	TimewisePositionalIterator(Score score, int firstMeasure, int lastMeasure, List<Integer> partIndices) {
+		int order = 0;
+		for (int partIndex : partIndices) {
+			final Part part = score.getPart(partIndex);
+			for (int staffNumber : part.getStaffNumbers()) {
+				final SortedSet<Integer> voiceNumbers = new TreeSet<>();
+				for (int measureNumber = firstMeasure; measureNumber <= lastMeasure; ++measureNumber) {
+					voiceNumbers.addAll(part.getMeasure(staffNumber, measureNumber).getVoiceNumbers());
+				}
+
+				for (int voiceNumber : voiceNumbers) {
+					final VoiceCursor cursor = new VoiceCursor(part, partIndex, staffNumber, voiceNumber, lastMeasure,
+							order++);
+					if (cursor.moveToMeasure(firstMeasure)) {
+						cursors.add(cursor);
+					}
+				}
+			}
+		}
+	}
+
+	@Override
+	public boolean hasNext() {
+		return !cursors.isEmpty();
+	}
+
+	@Override
+	public Durational next() {
+		if (!this.hasNext()) {
+			throw new NoSuchElementException();
+		}
+
+		final VoiceCursor cursor = cursors.poll();
+		final Durational next = cursor.getCurrent();
+
+		nextCalled = true;
+		prevPartIndex = cursor.partIndex;
+		prevStaffNumber = cursor.staffNumber;
+		prevMeasureNumber = cursor.measureNumber;
+		prevVoice = cursor.voiceNumber;
+		prevIndex = cursor.index;
+		prevOffset = cursor.getOffset();
+
+		if (cursor.advance()) {
+			cursors.add(cursor);
+		}
+
+		return next;
+	}
+
+	@Override
+	public Position getPositionOfPrevious() {
+		checkNextCalled();
+		return new Position(prevPartIndex, prevStaffNumber, prevMeasureNumber, prevVoice, prevIndex);
+	}
+
+	@Override
+	public Optional<Duration> getOffsetOfPrevious() {
+		checkNextCalled();
+		if (Duration.isZeroSum(prevOffset)) {
+			return Optional.empty();
+		}
+
+		return Optional.of(Duration.ofSum(prevOffset));
+	}
+
+	private void checkNextCalled() {
+		if (!nextCalled) {
+			throw new IllegalStateException("no previous position available because next has not been called yet");
+		}
+	}
+
+	/**
+	 * Cursor that goes through a single voice of a staff measure by measure.
+	 */
+	private static final class VoiceCursor {
+		private final Part part;
+		private final PartTimeline timeline;
+		private final int partIndex;
+		private final int staffNumber;
+		private final int voiceNumber;
+		private final int lastMeasure;
+		private final int order;
+
+		private Measure measure;
+		private int measureNumber;
+		private int index;
+
+		// The offset of the current element from the beginning of the part as a packed rational sum.
+		private long offset;
+
+		VoiceCursor(Part part, int partIndex, int staffNumber, int voiceNumber, int lastMeasure, int order) {
+			this.part = part;
+			this.timeline = PartTimeline.forPart(part);
+			this.partIndex = partIndex;
+			this.staffNumber = staffNumber;
+			this.voiceNumber = voiceNumber;
+			this.lastMeasure = lastMeasure;
+			this.order = order;
+		}
+
+		/**
+		 * Moves to the first element of the voice in the first measure at or after the given measure number that
+		 * contains the voice. Returns false if there is no such measure.
+		 */
+		boolean moveToMeasure(int firstMeasureNumber) {
+			for (int number = firstMeasureNumber; number <= lastMeasure; ++number) {
+				final Measure candidate = part.getMeasure(staffNumber, number);
+				if (candidate.hasVoice(voiceNumber) && candidate.getVoiceSize(voiceNumber) > 0) {
+					measure = candidate;
+					measureNumber = number;
+					index = 0;
+					offset = timeline.startSumOf(number);
+					return true;
+				}
+			}
+
+			return false;
+		}
+
+		/**
+		 * Moves to the next element of the voice. Returns false if the voice has no more elements.
+		 */
+		boolean advance() {
+			offset = Duration.addToSum(offset, getCurrent().getDuration());
+			++index;
+			if (index < measure.getVoiceSize(voiceNumber)) {
+				return true;
+			}
+
+			return moveToMeasure(measureNumber + 1);
+		}
+
+		Durational getCurrent() {
+			return measure.get(voiceNumber, index);
+		}
+
+		long getOffset() {
+			return offset;
+		}
+	}
+}
@@ -0,0 +1,39 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.notation.access;
+
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator over the elements of a {@link PositionalCursor} together with their positions and offsets. This is
+ * the default spliterator of selections that do not provide one that splits on the boundaries of measures.
+ * Splitting is done by copying batches of elements, so the elements of a measure can be split between threads.
+ * <p>
+ * Instances of this class are not thread-safe.
+ */
+final class CursorSpliterator extends Spliterators.AbstractSpliterator<PositionalElement> {
+
+	private final PositionalCursor cursor;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param cursor the cursor whose elements are traversed, placed before its first element
+	 */
+	CursorSpliterator(PositionalCursor cursor) {
+		super(Long.MAX_VALUE, ORDERED | NONNULL | IMMUTABLE);
+		this.cursor = cursor;
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super PositionalElement> action) {
+		if (!cursor.advance()) {
+			return false;
+		}
+
+		action.accept(new PositionalElement(cursor.get(), cursor.toPosition(), cursor.getOffset().orElse(null)));
+		return true;
+	}
+}
@@ -0,0 +1,165 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.notation.access;
+
+import org.wmn4j.notation.Duration;
+import org.wmn4j.notation.Durational;
+
+import java.util.Optional;
+
+/**
+ * Cursor that moves through the elements of a {@link Selection} using its {@link Selection#positionalIterator()}.
+ * This is the default cursor of selections that do not provide a faster one.
+ * <p>
+ * A selection does not give access to the time signatures of its measures, so the offsets are computed from the
+ * durations of the elements: each measure lasts for the duration of its longest voice, and the offsets are
+ * measured from the beginning of the first measure in the selection.
+ * <p>
+ * Instances of this class are not thread-safe.
+ */
+final class IteratingPositionalCursor implements PositionalCursor {
+
+	private final Selection selection;
+	private PositionalIterator iterator;
+
+	private Durational current;
+	private Position position;
+	private Duration offset;
+
+	// Start of the current measure and the offsets within it. Null durations are zero.
+	private int partIndex;
+	private int measureNumber;
+	private int staffNumber;
+	private int voiceNumber;
+	private Duration measureStart;
+	private Duration longestVoice;
+	private Duration voiceEnd;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param selection the selection whose elements the cursor moves through
+	 */
+	IteratingPositionalCursor(Selection selection) {
+		this.selection = selection;
+		reset();
+	}
+
+	@Override
+	public boolean advance() {
+		if (!iterator.hasNext()) {
+			current = null;
+			return false;
+		}
+
+		current = iterator.next();
+		position = iterator.getPositionOfPrevious();
+
+		if (position.getPartIndex() != partIndex) {
+			partIndex = position.getPartIndex();
+			measureStart = null;
+			moveToMeasure(position.getMeasureNumber());
+		} else if (position.getMeasureNumber() != measureNumber) {
+			measureStart = add(measureStart, longestVoice);
+			moveToMeasure(position.getMeasureNumber());
+		} else if (position.getStaffNumber() != staffNumber || position.getVoiceNumber() != voiceNumber) {
+			moveToVoice();
+		}
+
+		offset = add(measureStart, voiceEnd);
+		voiceEnd = add(voiceEnd, current.getDuration());
+		if (longestVoice == null || voiceEnd.isLongerThan(longestVoice)) {
+			longestVoice = voiceEnd;
+		}
+
+		return true;
+	}
+
+	private void moveToMeasure(int number) {
+		measureNumber = number;
+		longestVoice = null;
+		moveToVoice();
+	}
+
+	private void moveToVoice() {
+		staffNumber = position.getStaffNumber();
+		voiceNumber = position.getVoiceNumber();
+		voiceEnd = null;
+	}
+
+	private static Duration add(Duration first, Duration second) {
+		if (first == null) {
+			return second;
+		}
+
+		return second == null ? first : first.add(second);
+	}
+
+	@Override
+	public void reset() {
+		iterator = selection.positionalIterator();
+		current = null;
+		partIndex = -1;
+	}
+
+	private void checkCurrent() {
+		if (current == null) {
+			throw new IllegalStateException("Cursor is not at an element");
+		}
+	}
+
+	@Override
+	public Durational get() throws IllegalStateException {
+		checkCurrent();
+		return current;
+	}
+
+	@Override
+	public int getPartIndex() throws IllegalStateException {
+		checkCurrent();
+		return position.getPartIndex();
+	}
+
+	@Override
+	public int getStaffNumber() throws IllegalStateException {
+		checkCurrent();
+		return position.getStaffNumber();
+	}
+
+	@Override
+	public int getMeasureNumber() throws IllegalStateException {
+		checkCurrent();
+		return position.getMeasureNumber();
+	}
+
+	@Override
+	public int getVoiceNumber() throws IllegalStateException {
+		checkCurrent();
+		return position.getVoiceNumber();
+	}
+
+	@Override
+	public int getIndexInVoice() throws IllegalStateException {
+		checkCurrent();
+		return position.getIndexInVoice();
+	}
+
+	@Override
+	public Optional<Duration> getOffset() throws IllegalStateException {
+		checkCurrent();
+		return Optional.ofNullable(offset);
+	}
+
+	@Override
+	public double getOffsetAsDouble() throws IllegalStateException {
+		checkCurrent();
+		return offset == null ? 0.0 : offset.toDouble();
+	}
+
+	@Override
+	public Position toPosition() throws IllegalStateException {
+		checkCurrent();
+		return position;
+	}
+}
@@ -0,0 +1,108 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.notation.access;
+
+import org.wmn4j.notation.Duration;
+import org.wmn4j.notation.Durational;
+
+import java.util.Optional;
+
+/**
+ * Interface for moving through the {@link Durational} objects in a {@link org.wmn4j.notation.Score} with a single
+ * mutable cursor. Unlike a {@link PositionalIterator}, a cursor gives the position of the current element through
+ * primitive getters, so moving through a score with a cursor does not create objects for each element.
+ * <p>
+ * A cursor is initially placed before the first element. Calling {@link #advance()} moves the cursor to the next
+ * element and the getters then return the values of that element.
+ * <p>
+ * Implementations of this interface are not guaranteed to be thread-safe.
+ */
+public interface PositionalCursor {
+
+	/**
+	 * Moves this cursor to the next element.
+	 *
+	 * @return true if this cursor was moved to the next element, false if there are no more elements
+	 */
+	boolean advance();
+
+	/**
+	 * Moves this cursor back before the first element so that the same elements can be traversed again.
+	 */
+	void reset();
+
+	/**
+	 * Returns the element at which this cursor is.
+	 *
+	 * @return the element at which this cursor is
+	 * @throws IllegalStateException if this cursor is not at an element
+	 */
+	Durational get() throws IllegalStateException;
+
+	/**
+	 * Returns the index of the part of the element at which this cursor is.
+	 *
+	 * @return the index of the part of the current element
+	 * @throws IllegalStateException if this cursor is not at an element
+	 */
+	int getPartIndex() throws IllegalStateException;
+
+	/**
+	 * Returns the number of the staff of the element at which this cursor is.
+	 *
+	 * @return the number of the staff of the current element
+	 * @throws IllegalStateException if this cursor is not at an element
+	 */
+	int getStaffNumber() throws IllegalStateException;
+
+	/**
+	 * Returns the number of the measure of the element at which this cursor is.
+	 *
+	 * @return the number of the measure of the current element
+	 * @throws IllegalStateException if this cursor is not at an element
+	 */
+	int getMeasureNumber() throws IllegalStateException;
+
+	/**
+	 * Returns the number of the voice of the element at which this cursor is.
+	 *
+	 * @return the number of the voice of the current element
+	 * @throws IllegalStateException if this cursor is not at an element
+	 */
+	int getVoiceNumber() throws IllegalStateException;
+
+	/**
+	 * Returns the index in its voice of the element at which this cursor is.
+	 *
+	 * @return the index in its voice of the current element
+	 * @throws IllegalStateException if this cursor is not at an element
+	 */
+	int getIndexInVoice() throws IllegalStateException;
+
+	/**
+	 * Returns the offset of the element at which this cursor is, measured from the beginning of its part. The
+	 * offset is empty for elements at the beginning of the part.
+	 *
+	 * @return the offset of the current element from the beginning of its part
+	 * @throws IllegalStateException if this cursor is not at an element
+	 */
+	Optional<Duration> getOffset() throws IllegalStateException;
+
+	/**
+	 * Returns the offset of the element at which this cursor is as a double, measured from the beginning of its
+	 * part. Unlike {@link #getOffset()}, this method does not create any objects.
+	 *
+	 * @return the offset of the current element from the beginning of its part as a double
+	 * @throws IllegalStateException if this cursor is not at an element
+	 */
+	double getOffsetAsDouble() throws IllegalStateException;
+
+	/**
+	 * Returns the position of the element at which this cursor is.
+	 *
+	 * @return the position of the current element
+	 * @throws IllegalStateException if this cursor is not at an element
+	 */
+	Position toPosition() throws IllegalStateException;
+}
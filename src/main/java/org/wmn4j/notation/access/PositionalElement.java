@@ -0,0 +1,89 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.notation.access;
+
+import org.wmn4j.notation.Duration;
+import org.wmn4j.notation.Durational;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Represents a {@link Durational} together with its position in a {@link org.wmn4j.notation.Score} and its offset
+ * from the beginning of its part. The offset is a {@link Duration} or empty if the offset is zero.
+ * <p>
+ * This class is immutable.
+ */
+public final class PositionalElement {
+
+	private final Durational element;
+	private final Position position;
+	private final Duration offset;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param element  the element, must be non-null
+	 * @param position the position of the element, must be non-null
+	 * @param offset   the offset of the element from the beginning of its part, can be null for zero offset
+	 */
+	public PositionalElement(Durational element, Position position, Duration offset) {
+		this.element = Objects.requireNonNull(element);
+		this.position = Objects.requireNonNull(position);
+		this.offset = offset;
+	}
+
+	/**
+	 * Returns the element.
+	 *
+	 * @return the element
+	 */
+	public Durational get() {
+		return element;
+	}
+
+	/**
+	 * Returns the position of the element.
+	 *
+	 * @return the position of the element
+	 */
+	public Position getPosition() {
+		return position;
+	}
+
+	/**
+	 * Returns the offset of the element from the beginning of its part if the offset is non-zero, otherwise returns
+	 * empty.
+	 *
+	 * @return the offset of the element from the beginning of its part, empty if the offset is zero
+	 */
+	public Optional<Duration> getOffset() {
+		return Optional.ofNullable(offset);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+
+		if (!(o instanceof PositionalElement)) {
+			return false;
+		}
+
+		final PositionalElement other = (PositionalElement) o;
+		return element.equals(other.element) && position.equals(other.position)
+				&& Objects.equals(offset, other.offset);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(element, position, offset);
+	}
+
+	@Override
+	public String toString() {
+		return element + " at " + position + ", offset: " + getOffset().map(Duration::toString).orElse("0");
+	}
+}
@@ -7,6 +7,8 @@ import org.wmn4j.notation.Durational;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Represents a selection of notation objects from a score.
@@ -43,12 +45,69 @@ public interface Selection extends Iterable<Durational> {
 
 	/**
 	 * Returns an iterator that also provides access to the positions of the {@link Durational}
-	 * objects in this selection.
+	 * objects in this selection. The part indices of the positions are the indices of the parts
+	 * in the score, also when only some of the parts are selected.
 	 *
 	 * @return an iterator that also provides access to the positions
 	 */
 	PositionalIterator positionalIterator();
 
+	/**
+	 * Returns an iterator that iterates the {@link Durational} objects of all parts in this selection together in
+	 * the order of their onsets, and also provides access to their positions and offsets.
+	 * <p>
+	 * The default implementation sorts the elements given by {@link #partwiseCursor()} by their offsets, so it
+	 * holds all the elements of this selection in memory. It uses the offsets of the cursor, which can differ from
+	 * the offsets of the selections of this library as described in {@link #partwiseCursor()}.
+	 *
+	 * @return an iterator that iterates the elements in this selection in the order of their onsets
+	 */
+	default TimewiseIterator timewiseIterator() {
+		return new SortedTimewiseIterator(partwiseCursor());
+	}
+
+	/**
+	 * Returns a cursor that moves through the {@link Durational} objects in this selection in the same order as
+	 * {@link #positionalIterator()} without creating objects for each element.
+	 * <p>
+	 * The default implementation moves through the elements with {@link #positionalIterator()}, so it creates
+	 * objects for each element. It does not have access to the time signatures of the measures, so it computes the
+	 * offsets from the durations of the elements: each measure lasts for the duration of its longest voice and the
+	 * offsets are measured from the beginning of the first measure in this selection. Its offsets are therefore
+	 * not the same as the ones of the selections of this library, which are measured from the beginning of the
+	 * part, if this selection does not begin at the first measure of the score or if the voices of a full measure
+	 * are shorter than its time signature. The positions are the same.
+	 *
+	 * @return a cursor that moves through the elements in this selection
+	 */
+	default PositionalCursor partwiseCursor() {
+		return new IteratingPositionalCursor(this);
+	}
+
+	/**
+	 * Returns a sequential stream of the {@link Durational} objects in this selection together with their positions
+	 * and offsets. The elements are in the same order as in {@link #positionalIterator()}.
+	 * <p>
+	 * The default implementation traverses the elements with {@link #partwiseCursor()}. When it is made parallel,
+	 * it is split into batches of elements regardless of the boundaries of measures.
+	 *
+	 * @return a sequential stream of the elements in this selection with their positions and offsets
+	 */
+	default Stream<PositionalElement> stream() {
+		return StreamSupport.stream(new CursorSpliterator(partwiseCursor()), false);
+	}
+
+	/**
+	 * Returns a possibly parallel stream of the {@link Durational} objects in this selection together with their
+	 * positions and offsets. The streams of the selections of this library are split on the boundaries of parts and
+	 * measures, so the elements of a measure are always processed by the same thread.
+	 *
+	 * @return a possibly parallel stream of the elements in this selection with their positions and offsets
+	 */
+	default Stream<PositionalElement> parallelStream() {
+		return stream().parallel();
+	}
+
 	/**
 	 * Returns a selection of measures from this selection.
 	 *
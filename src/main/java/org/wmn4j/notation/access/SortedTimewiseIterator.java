@@ -0,0 +1,80 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.notation.access;
+
+import org.wmn4j.notation.Duration;
+import org.wmn4j.notation.Durational;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Timewise iterator that collects the elements of a {@link PositionalCursor} and sorts them by their offsets.
+ * Elements with equal offsets are returned in the order of part index, staff number, and voice number. This is
+ * the default timewise iterator of selections that do not provide one that merges their voices.
+ * <p>
+ * Unlike a merging iterator, this holds all the elements of the selection in memory.
+ * <p>
+ * Instances of this class are not thread-safe.
+ */
+final class SortedTimewiseIterator implements TimewiseIterator {
+
+	private static final Comparator<PositionalElement> TIMEWISE_ORDER = Comparator
+			.comparing((PositionalElement element) -> element.getOffset().orElse(null),
+					Comparator.nullsFirst(Comparator.naturalOrder()))
+			.thenComparingInt(element -> element.getPosition().getPartIndex())
+			.thenComparingInt(element -> element.getPosition().getStaffNumber())
+			.thenComparingInt(element -> element.getPosition().getVoiceNumber());
+
+	private final Iterator<PositionalElement> elements;
+	private PositionalElement previous;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param cursor the cursor whose elements this iterates through, placed before its first element
+	 */
+	SortedTimewiseIterator(PositionalCursor cursor) {
+		final List<PositionalElement> sorted = new ArrayList<>();
+		while (cursor.advance()) {
+			sorted.add(new PositionalElement(cursor.get(), cursor.toPosition(), cursor.getOffset().orElse(null)));
+		}
+
+		// The sort is stable, so the elements of a voice stay in the order of the cursor.
+		sorted.sort(TIMEWISE_ORDER);
+		this.elements = sorted.iterator();
+	}
+
+	@Override
+	public boolean hasNext() {
+		return elements.hasNext();
+	}
+
+	@Override
+	public Durational next() {
+		previous = elements.next();
+		return previous.get();
+	}
+
+	private void checkNextCalled() {
+		if (previous == null) {
+			throw new IllegalStateException("no previous position available because next has not been called yet");
+		}
+	}
+
+	@Override
+	public Position getPositionOfPrevious() throws IllegalStateException {
+		checkNextCalled();
+		return previous.getPosition();
+	}
+
+	@Override
+	public Optional<Duration> getOffsetOfPrevious() throws IllegalStateException {
+		checkNextCalled();
+		return previous.getOffset();
+	}
+}
@@ -0,0 +1,29 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.notation.access;
+
+import org.wmn4j.notation.Duration;
+
+import java.util.Optional;
+
+/**
+ * Interface for iterating {@link org.wmn4j.notation.Durational} objects of all the parts, staves, and voices of a
+ * {@link org.wmn4j.notation.Score} together in the order of their onsets. Simultaneous elements are returned one
+ * after the other, so that all elements that begin at the same time are returned before any element that begins
+ * later.
+ * <p>
+ * Implementations of this interface are not guaranteed to be thread-safe.
+ */
+public interface TimewiseIterator extends PositionalIterator {
+
+	/**
+	 * Returns the offset of the {@link org.wmn4j.notation.Durational} returned by the last call of
+	 * {@link #next() next}, measured from the beginning of its part. The offset is empty for elements at the
+	 * beginning of the part. This method should only be called after {@link #next() next} has been called.
+	 *
+	 * @return the offset of the previously returned durational notation element
+	 * @throws IllegalStateException if {@link #next() next} has not been called on the iterator
+	 */
+	Optional<Duration> getOffsetOfPrevious() throws IllegalStateException;
+}
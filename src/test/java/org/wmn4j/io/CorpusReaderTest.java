@@ -0,0 +1,150 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.io;
+
+import org.junit.jupiter.api.Test;
+import org.wmn4j.TestHelper;
+import org.wmn4j.io.musicxml.MusicXmlReader;
+import org.wmn4j.notation.Score;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class CorpusReaderTest {
+
+	private static final Path MUSICXML_PATH = Paths.get(TestHelper.TESTFILE_PATH, "musicxml");
+
+	private static final List<Path> PATHS = Arrays.asList(
+			MUSICXML_PATH.resolve("singleC.xml"),
+			MUSICXML_PATH.resolve("singleCInvalidMusicXml.xml"),
+			MUSICXML_PATH.resolve("twoPartsAndMeasures.xml"),
+			MUSICXML_PATH.resolve("nonexistent.xml"),
+			MUSICXML_PATH.resolve("ornament_test.mxl"));
+
+	private static void assertResultsAreCorrect(Stream<CorpusReader.Result> results) {
+		final List<CorpusReader.Result> resultList = results.collect(Collectors.toList());
+		assertEquals(PATHS, resultList.stream().map(CorpusReader.Result::getPath).collect(Collectors.toList()));
+
+		assertTrue(resultList.get(0).isSuccessful());
+		assertEquals(1, resultList.get(0).getScore().get().getPartCount());
+
+		assertFalse(resultList.get(1).isSuccessful());
+		assertFalse(resultList.get(1).getScore().isPresent());
+		assertTrue(resultList.get(1).getFailure().get() instanceof ParsingFailureException);
+
+		assertTrue(resultList.get(2).isSuccessful());
+		assertEquals(2, resultList.get(2).getScore().get().getPartCount());
+
+		assertFalse(resultList.get(3).isSuccessful());
+		assertTrue(resultList.get(3).getFailure().get() instanceof IOException);
+
+		assertTrue(resultList.get(4).isSuccessful());
+	}
+
+	@Test
+	void testGivenPathsWhenReadingWithParallelismThenResultsAreInOrderAndFailuresAreCaptured() {
+		try (Stream<CorpusReader.Result> results = CorpusReader
+				.withParallelism(MusicXmlReader::streamingReaderFor, 3).read(PATHS)) {
+			assertResultsAreCorrect(results);
+		}
+	}
+
+	@Test
+	void testGivenAllResultsIteratedWithoutClosingStreamThenReaderThreadsAreStopped() throws InterruptedException {
+		final Iterator<CorpusReader.Result> results = CorpusReader
+				.withParallelism(MusicXmlReader::readerFor, 2).read(PATHS).iterator();
+		while (results.hasNext()) {
+			results.next();
+		}
+
+		for (Thread thread : Thread.getAllStackTraces().keySet()) {
+			if (thread.getName().equals(CorpusReader.class.getSimpleName())) {
+				thread.join(5000);
+				assertFalse(thread.isAlive());
+			}
+		}
+
+		assertFalse(CorpusReader.withParallelism(MusicXmlReader::readerFor, 2).read(List.of()).iterator().hasNext());
+	}
+
+	@Test
+	void testGivenExecutorThenFilesAreReadOnExecutorAndExecutorIsNotShutDown() {
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try (Stream<CorpusReader.Result> results = CorpusReader
+				.withExecutor(MusicXmlReader::readerFor, executor, 2).read(PATHS)) {
+			assertResultsAreCorrect(results);
+		}
+
+		assertFalse(executor.isShutdown());
+		executor.shutdown();
+	}
+
+	@Test
+	void testGivenMaxInFlightThenAtMostMaxInFlightFilesAreReadAheadOfConsumer() {
+		final int maxInFlight = 2;
+		final AtomicInteger readCount = new AtomicInteger();
+		final CorpusReader corpusReader = CorpusReader.withExecutor(path -> {
+			readCount.incrementAndGet();
+			return MusicXmlReader.nonValidatingStreamingReaderFor(path);
+		}, Runnable::run, maxInFlight);
+
+		final List<Path> paths = Arrays.asList(PATHS.get(0), PATHS.get(0), PATHS.get(0), PATHS.get(0), PATHS.get(0));
+		try (Stream<CorpusReader.Result> results = corpusReader.read(paths)) {
+			final Score first = results.findFirst().get().getScore().get();
+			assertEquals(1, first.getPartCount());
+			assertEquals(maxInFlight + 1, readCount.get());
+		}
+	}
+
+	@Test
+	void testGivenDirectoryAndGlobThenMatchingFilesAreRead() throws IOException {
+		try (Stream<CorpusReader.Result> results = CorpusReader
+				.withParallelism(MusicXmlReader::nonValidatingStreamingReaderFor, 2).read(MUSICXML_PATH, "*.mxl")) {
+			final List<CorpusReader.Result> resultList = results.collect(Collectors.toList());
+			assertEquals(1, resultList.size());
+			assertEquals(MUSICXML_PATH.resolve("ornament_test.mxl"), resultList.get(0).getPath());
+			assertTrue(resultList.get(0).isSuccessful());
+		}
+	}
+
+	@Test
+	void testGivenVirtualThreadsAvailableThenFilesAreReadOnVirtualThreads() {
+		assumeTrue(CorpusReader.isVirtualThreadModeAvailable());
+		try (Stream<CorpusReader.Result> results = CorpusReader
+				.withVirtualThreads(MusicXmlReader::streamingReaderFor, 4).read(PATHS)) {
+			assertResultsAreCorrect(results);
+		}
+	}
+
+	@Test
+	void testGivenVirtualThreadsNotAvailableThenExceptionIsThrown() {
+		assumeFalse(CorpusReader.isVirtualThreadModeAvailable());
+		assertThrows(UnsupportedOperationException.class,
+				() -> CorpusReader.withVirtualThreads(MusicXmlReader::streamingReaderFor, 4));
+	}
+
+	@Test
+	void testGivenInvalidLimitsThenExceptionIsThrown() {
+		assertThrows(IllegalArgumentException.class,
+				() -> CorpusReader.withParallelism(MusicXmlReader::readerFor, 0));
+		assertThrows(IllegalArgumentException.class,
+				() -> CorpusReader.withExecutor(MusicXmlReader::readerFor, Runnable::run, 0));
+	}
+}
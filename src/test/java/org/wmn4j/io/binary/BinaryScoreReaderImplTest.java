@@ -0,0 +1,263 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.io.binary;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.wmn4j.TestHelper;
+import org.wmn4j.io.ParsingFailureException;
+import org.wmn4j.io.musicxml.MusicXmlReader;
+import org.wmn4j.notation.Durational;
+import org.wmn4j.notation.Durations;
+import org.wmn4j.notation.Measure;
+import org.wmn4j.notation.MeasureBuilder;
+import org.wmn4j.notation.Notation;
+import org.wmn4j.notation.Note;
+import org.wmn4j.notation.NoteBuilder;
+import org.wmn4j.notation.Part;
+import org.wmn4j.notation.PartBuilder;
+import org.wmn4j.notation.Pitch;
+import org.wmn4j.notation.RestBuilder;
+import org.wmn4j.notation.Score;
+import org.wmn4j.notation.ScoreBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class BinaryScoreReaderImplTest {
+
+	private static final String MUSICXML_FILE_PATH = "musicxml/";
+
+	@TempDir
+	Path temporaryDirectory;
+
+	private Score readMusicXmlTestFile(String testFileName) {
+		final Path path = Paths.get(TestHelper.TESTFILE_PATH + MUSICXML_FILE_PATH + testFileName);
+
+		try {
+			return MusicXmlReader.nonValidatingReaderFor(path).readScore();
+		} catch (final IOException | ParsingFailureException e) {
+			fail("Parsing failed with exception " + e);
+		}
+
+		return null;
+	}
+
+	private Score writeAndReadScore(Score score) {
+		final Path file = temporaryDirectory.resolve("file.wmnb");
+		BinaryScoreWriter.writerFor(score).write(file);
+
+		try {
+			return BinaryScoreReader.readerFor(file).readScore();
+		} catch (final IOException | ParsingFailureException e) {
+			fail("Reading binary score failed with exception " + e);
+		}
+
+		return null;
+	}
+
+	private static byte[] encode(Score score) throws IOException {
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		new ScoreEncoder(score).encode(output);
+		return output.toByteArray();
+	}
+
+	private void assertRoundTripPreservesScore(String testFileName) {
+		final Score score = readMusicXmlTestFile(testFileName);
+		assertScoresEqual(score, writeAndReadScore(score));
+	}
+
+	static void assertScoresEqual(Score expected, Score actual) {
+		for (Score.Attribute attribute : Score.Attribute.values()) {
+			assertEquals(expected.getAttribute(attribute), actual.getAttribute(attribute));
+		}
+
+		assertEquals(expected.getPartCount(), actual.getPartCount());
+		for (int i = 0; i < expected.getPartCount(); ++i) {
+			assertPartsEqual(expected.getPart(i), actual.getPart(i));
+		}
+	}
+
+	private static void assertPartsEqual(Part expected, Part actual) {
+		for (Part.Attribute attribute : Part.Attribute.values()) {
+			assertEquals(expected.getAttribute(attribute), actual.getAttribute(attribute));
+		}
+
+		assertEquals(expected.getStaffNumbers(), actual.getStaffNumbers());
+		assertEquals(expected.getMeasureCount(), actual.getMeasureCount());
+		assertEquals(expected.hasPickupMeasure(), actual.hasPickupMeasure());
+
+		final int firstMeasure = expected.hasPickupMeasure() ? 0 : 1;
+		for (int staffNumber : expected.getStaffNumbers()) {
+			for (int number = firstMeasure; number <= expected.getFullMeasureCount(); ++number) {
+				assertMeasuresEqual(expected.getMeasure(staffNumber, number),
+						actual.getMeasure(staffNumber, number));
+			}
+		}
+	}
+
+	private static void assertMeasuresEqual(Measure expected, Measure actual) {
+		assertEquals(expected.getNumber(), actual.getNumber());
+		assertEquals(expected.getTimeSignature(), actual.getTimeSignature());
+		assertEquals(expected.getKeySignature(), actual.getKeySignature());
+		assertEquals(expected.getClef(), actual.getClef());
+		assertEquals(expected.getLeftBarline(), actual.getLeftBarline());
+		assertEquals(expected.getRightBarline(), actual.getRightBarline());
+		assertEquals(expected.getClefChanges(), actual.getClefChanges());
+		assertEquals(expected.getDirections(), actual.getDirections());
+		assertEquals(expected.getVoiceNumbers(), actual.getVoiceNumbers());
+
+		for (int voice : expected.getVoiceNumbers()) {
+			assertEquals(expected.getVoiceSize(voice), actual.getVoiceSize(voice));
+			for (int i = 0; i < expected.getVoiceSize(voice); ++i) {
+				assertDurationalsEqual(expected.get(voice, i), actual.get(voice, i));
+			}
+		}
+	}
+
+	private static void assertDurationalsEqual(Durational expected, Durational actual) {
+		assertEquals(expected, actual);
+		assertEquals(expected.getDuration().getDotCount(), actual.getDuration().getDotCount());
+		assertEquals(expected.getDuration().getTupletDivisor(), actual.getDuration().getTupletDivisor());
+
+		if (expected instanceof Note) {
+			final Note expectedNote = (Note) expected;
+			final Note actualNote = (Note) actual;
+			assertEquals(expectedNote.isTiedToFollowing(), actualNote.isTiedToFollowing());
+			assertEquals(expectedNote.isTiedFromPrevious(), actualNote.isTiedFromPrevious());
+
+			for (Notation.Type type : Notation.Type.values()) {
+				assertEquals(expectedNote.beginsNotation(type), actualNote.beginsNotation(type));
+				assertEquals(expectedNote.endsNotation(type), actualNote.endsNotation(type));
+			}
+		}
+	}
+
+	@Test
+	void testRoundTripOfMultiplePartsAndMeasures() {
+		assertRoundTripPreservesScore("twoPartsAndMeasures.xml");
+		assertRoundTripPreservesScore("scoreIteratorTesting.xml");
+	}
+
+	@Test
+	void testRoundTripOfMultipleStaves() {
+		assertRoundTripPreservesScore("multistaff.xml");
+		assertRoundTripPreservesScore("multiStaffClefs.xml");
+	}
+
+	@Test
+	void testRoundTripOfMeasureAttributes() {
+		assertRoundTripPreservesScore("attribute_reading_test.xml");
+		assertRoundTripPreservesScore("barlines.xml");
+		assertRoundTripPreservesScore("clefs.xml");
+		assertRoundTripPreservesScore("keysigs.xml");
+		assertRoundTripPreservesScore("timesigs.xml");
+		assertRoundTripPreservesScore("pickup_measure_test.xml");
+		assertRoundTripPreservesScore("directions_test.musicxml");
+	}
+
+	@Test
+	void testRoundTripOfDurations() {
+		assertRoundTripPreservesScore("dotted_note_test.musicxml");
+		assertRoundTripPreservesScore("tuplet_test.musicxml");
+	}
+
+	@Test
+	void testRoundTripOfNotations() {
+		assertRoundTripPreservesScore("tieTesting.xml");
+		assertRoundTripPreservesScore("articulations.xml");
+		assertRoundTripPreservesScore("single_staff_single_voice_notation_test.musicxml");
+		assertRoundTripPreservesScore("multi_staff_multi_voice_notation_test.xml");
+	}
+
+	@Test
+	void testRoundTripOfOrnamentsAndGraceNotes() {
+		assertRoundTripPreservesScore("ornament_test.musicxml");
+		assertRoundTripPreservesScore("grace_note_test.musicxml");
+		assertRoundTripPreservesScore("grace_note_chord_test.musicxml");
+	}
+
+	@Test
+	void testRoundTripOfNegativeAndZeroVoiceAndStaffNumbers() {
+		final PartBuilder partBuilder = new PartBuilder("Part");
+		for (int staffNumber : new int[] {-2, 1}) {
+			final MeasureBuilder measureBuilder = new MeasureBuilder(1);
+			measureBuilder.addToVoice(-1, new RestBuilder(Durations.WHOLE));
+			measureBuilder.addToVoice(0, new NoteBuilder(Pitch.of(Pitch.Base.C, Pitch.Accidental.NATURAL, 4),
+					Durations.WHOLE));
+			partBuilder.addToStaff(staffNumber, measureBuilder);
+		}
+
+		final ScoreBuilder scoreBuilder = new ScoreBuilder();
+		scoreBuilder.addPart(partBuilder);
+		final Score score = scoreBuilder.build();
+
+		final Score readScore = writeAndReadScore(score);
+		assertScoresEqual(score, readScore);
+		assertEquals(Arrays.asList(-2, 1), readScore.getPart(0).getStaffNumbers());
+		assertEquals(Arrays.asList(-1, 0), readScore.getPart(0).getMeasure(-2, 1).getVoiceNumbers());
+	}
+
+	@Test
+	void testWritingToOutputStream() throws Exception {
+		final Score score = readMusicXmlTestFile("twoPartsAndMeasures.xml");
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		BinaryScoreWriter.writerFor(score).write(output);
+
+		assertArrayEquals(encode(score), output.toByteArray());
+		assertScoresEqual(score, BinaryScoreReader.readerFor(ByteBuffer.wrap(output.toByteArray())).readScore());
+	}
+
+	@Test
+	void testWritingSameScoreTwiceProducesSameBytes() throws IOException {
+		final Score score = readMusicXmlTestFile("multi_staff_multi_voice_notation_test.xml");
+		assertTrue(Arrays.equals(encode(score), encode(score)));
+	}
+
+	@Test
+	void testReadingFromBufferDoesNotChangeBufferPosition() throws Exception {
+		final Score score = readMusicXmlTestFile("twoPartsAndMeasures.xml");
+		final byte[] bytes = encode(score);
+		final ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length + 2);
+		buffer.put((byte) 0);
+		buffer.put(bytes);
+		buffer.flip();
+		buffer.position(1);
+
+		assertScoresEqual(score, BinaryScoreReader.readerFor(buffer).readScore());
+		assertEquals(1, buffer.position());
+	}
+
+	@Test
+	void testReadingInvalidInputThrows() throws IOException {
+		final Path musicXmlFile = Paths.get(TestHelper.TESTFILE_PATH + MUSICXML_FILE_PATH + "singleC.xml");
+		assertThrows(ParsingFailureException.class, () -> BinaryScoreReader.readerFor(musicXmlFile).readScore());
+
+		final byte[] bytes = encode(readMusicXmlTestFile("twoPartsAndMeasures.xml"));
+		final ByteBuffer truncated = ByteBuffer.wrap(Arrays.copyOf(bytes, bytes.length / 2));
+		assertThrows(ParsingFailureException.class, () -> BinaryScoreReader.readerFor(truncated).readScore());
+
+		final byte[] unsupportedVersion = Arrays.copyOf(bytes, bytes.length);
+		unsupportedVersion[BinaryFormat.MAGIC.length] = BinaryFormat.VERSION + 1;
+		assertThrows(ParsingFailureException.class,
+				() -> BinaryScoreReader.readerFor(ByteBuffer.wrap(unsupportedVersion)).readScore());
+
+		final ByteBuffer onlyMagic = ByteBuffer.wrap(Arrays.copyOf(BinaryFormat.MAGIC, BinaryFormat.MAGIC.length));
+		assertThrows(ParsingFailureException.class, () -> BinaryScoreReader.readerFor(onlyMagic).readScore());
+
+		final Path emptyFile = Files.createFile(temporaryDirectory.resolve("empty.wmnb"));
+		assertThrows(ParsingFailureException.class, () -> BinaryScoreReader.readerFor(emptyFile).readScore());
+	}
+}
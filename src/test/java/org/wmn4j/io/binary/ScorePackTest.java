@@ -0,0 +1,120 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.io.binary;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.wmn4j.TestHelper;
+import org.wmn4j.io.ParsingFailureException;
+import org.wmn4j.io.musicxml.MusicXmlReader;
+import org.wmn4j.notation.Score;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScorePackTest {
+
+	private static final Path MUSICXML_PATH = Paths.get(TestHelper.TESTFILE_PATH, "musicxml");
+
+	private static final List<String> FILE_NAMES = Arrays.asList("singleC.xml", "twoPartsAndMeasures.xml",
+			"multistaff.xml", "tieTesting.xml", "grace_note_test.musicxml");
+
+	@TempDir
+	Path temporaryDirectory;
+
+	private Map<String, Score> writePack(Path packPath) throws IOException, ParsingFailureException {
+		final Map<String, Score> scores = new LinkedHashMap<>();
+		for (String fileName : FILE_NAMES) {
+			scores.put(fileName, MusicXmlReader.nonValidatingReaderFor(MUSICXML_PATH.resolve(fileName)).readScore());
+		}
+
+		try (ScorePackWriter writer = ScorePackWriter.create(packPath)) {
+			for (Map.Entry<String, Score> score : scores.entrySet()) {
+				writer.add(score.getKey(), score.getValue());
+			}
+		}
+
+		return scores;
+	}
+
+	@Test
+	void testReadingScoresFromPack() throws IOException, ParsingFailureException {
+		final Path packPath = temporaryDirectory.resolve("corpus.wmnp");
+		final Map<String, Score> scores = writePack(packPath);
+
+		try (ScorePack pack = ScorePack.open(packPath)) {
+			assertEquals(FILE_NAMES, pack.getIds());
+			assertEquals(FILE_NAMES.size(), pack.size());
+			assertTrue(pack.contains("multistaff.xml"));
+			assertFalse(pack.contains("nonexistent.xml"));
+
+			// Read in reverse order to check that scores are read independently of each other.
+			for (int i = FILE_NAMES.size() - 1; i >= 0; --i) {
+				final String id = FILE_NAMES.get(i);
+				BinaryScoreReaderImplTest.assertScoresEqual(scores.get(id), pack.getScore(id));
+			}
+
+			assertThrows(NoSuchElementException.class, () -> pack.getScore("nonexistent.xml"));
+		}
+	}
+
+	@Test
+	void testReadingScoresFromPackMappedInSegments() throws IOException, ParsingFailureException {
+		final Path packPath = temporaryDirectory.resolve("corpus.wmnp");
+		final Map<String, Score> scores = writePack(packPath);
+
+		// Each score is larger than half of the segment size, so every score is mapped into its own segment.
+		final long maxScoreSize = Files.size(packPath) / 2;
+		try (ScorePack pack = ScorePack.open(packPath, maxScoreSize)) {
+			for (String id : FILE_NAMES) {
+				BinaryScoreReaderImplTest.assertScoresEqual(scores.get(id), pack.getScore(id));
+			}
+		}
+	}
+
+	@Test
+	void testEmptyPack() throws IOException, ParsingFailureException {
+		final Path packPath = temporaryDirectory.resolve("empty.wmnp");
+		ScorePackWriter.create(packPath).close();
+
+		try (ScorePack pack = ScorePack.open(packPath)) {
+			assertEquals(0, pack.size());
+			assertTrue(pack.getIds().isEmpty());
+		}
+	}
+
+	@Test
+	void testAddingScoreWithExistingIdThrows() throws IOException, ParsingFailureException {
+		final Score score = MusicXmlReader.nonValidatingReaderFor(MUSICXML_PATH.resolve("singleC.xml")).readScore();
+
+		try (ScorePackWriter writer = ScorePackWriter.create(temporaryDirectory.resolve("corpus.wmnp"))) {
+			writer.add("score", score);
+			assertThrows(IllegalArgumentException.class, () -> writer.add("score", score));
+		}
+	}
+
+	@Test
+	void testOpeningInvalidPackThrows() throws IOException, ParsingFailureException {
+		assertThrows(ParsingFailureException.class, () -> ScorePack.open(MUSICXML_PATH.resolve("singleC.xml")));
+
+		final Path packPath = temporaryDirectory.resolve("corpus.wmnp");
+		writePack(packPath);
+		final byte[] bytes = Files.readAllBytes(packPath);
+		final Path truncatedPath = Files.write(temporaryDirectory.resolve("truncated.wmnp"),
+				Arrays.copyOf(bytes, bytes.length - 1));
+		assertThrows(ParsingFailureException.class, () -> ScorePack.open(truncatedPath));
+	}
+}
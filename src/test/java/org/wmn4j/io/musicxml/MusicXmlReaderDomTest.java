@@ -6,13 +6,21 @@ package org.wmn4j.io.musicxml;
 import org.junit.jupiter.api.Test;
 import org.wmn4j.TestHelper;
 import org.wmn4j.io.ParsingFailureException;
+import org.wmn4j.notation.Clefs;
+import org.wmn4j.notation.Durations;
+import org.wmn4j.notation.KeySignatures;
+import org.wmn4j.notation.access.Offset;
 import org.wmn4j.notation.Score;
 import org.wmn4j.notation.ScoreBuilder;
+import org.wmn4j.notation.SingleStaffPart;
+import org.wmn4j.notation.TimeSignatures;
 
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Collections;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -24,9 +32,17 @@ class MusicXmlReaderDomTest {
 		return new MusicXmlReaderDom(path, validate);
 	}
 
+	MusicXmlReader getMusicXmlReader(Path path, boolean validate, ReadSelection selection) {
+		return new MusicXmlReaderDom(MusicXmlInput.of(path), validate, selection);
+	}
+
 	Score readScore(String testFileName, boolean validate) {
+		return readScore(testFileName, validate, ReadSelection.all());
+	}
+
+	Score readScore(String testFileName, boolean validate, ReadSelection selection) {
 		final Path path = Paths.get(TestHelper.TESTFILE_PATH + MUSICXML_FILE_PATH + testFileName);
-		final MusicXmlReader reader = getMusicXmlReader(path, validate);
+		final MusicXmlReader reader = getMusicXmlReader(path, validate, selection);
 		Score score = null;
 
 		try {
@@ -400,4 +416,57 @@ class MusicXmlReaderDomTest {
 		Score scoreWithDirections = readScore("directions_test.musicxml", true);
 		MusicXmlFileChecks.assertDirectionsCorrect(scoreWithDirections);
 	}
+
+	@Test
+	void testGivenCompressedFileThenContentsAreReadCorrectly() {
+		Score scoreWithOrnaments = readScore("ornament_test.mxl", true);
+		MusicXmlFileChecks.assertOrnamentsAreCorrect(scoreWithOrnaments);
+	}
+
+	@Test
+	void testGivenPartIdSelectionThenOnlySelectedPartIsRead() {
+		final Score score = readScore("twoPartsAndMeasures.xml", true,
+				ReadSelection.all().withPartIds(Collections.singleton("P2")));
+
+		assertEquals(1, score.getPartCount());
+		assertEquals("Part2", score.getPart(0).getName().get());
+		assertEquals(2, score.getPart(0).getMeasureCount());
+		assertEquals("TestFile Composer", score.getAttribute(Score.Attribute.COMPOSER).get());
+	}
+
+	@Test
+	void testGivenPartIndexSelectionThenOnlySelectedPartIsRead() {
+		final Score score = readScore("twoPartsAndMeasures.xml", false,
+				ReadSelection.all().withParts(Collections.singleton(0)));
+
+		assertEquals(1, score.getPartCount());
+		assertEquals("Part1", score.getPart(0).getName().get());
+	}
+
+	@Test
+	void testGivenMeasureRangeThenOnlyMeasuresInRangeAreReadWithAttributesOfPrecedingMeasures() {
+		final Score score = readScore("clefs.xml", false, ReadSelection.all().withRange(5, 5));
+		final SingleStaffPart part = (SingleStaffPart) score.getPart(0);
+
+		assertEquals(1, part.getMeasureCount());
+		assertEquals(1, part.getMeasure(1).getNumber());
+
+		// The clef is changed in the middle of the preceding measure.
+		assertEquals(Clefs.PERCUSSION, part.getMeasure(1).getClef());
+		assertEquals(2, part.getMeasure(1).getClefChanges().size());
+		assertEquals(new Offset<>(Clefs.G, Durations.QUARTER), part.getMeasure(1).getClefChanges().get(0));
+	}
+
+	@Test
+	void testGivenMeasureRangeAndPartSelectionThenSelectedMeasuresOfSelectedPartAreRead() {
+		final Score score = readScore("twoPartsAndMeasures.xml", true,
+				ReadSelection.all().withRange(1, 1).withPartIds(Collections.singleton("P2")));
+
+		assertEquals(1, score.getPartCount());
+		final SingleStaffPart part = (SingleStaffPart) score.getPart(0);
+		assertEquals(1, part.getMeasureCount());
+		assertEquals(Clefs.F, part.getMeasure(1).getClef());
+		assertEquals(TimeSignatures.THREE_FOUR, part.getMeasure(1).getTimeSignature());
+		assertEquals(KeySignatures.GMAJ_EMIN, part.getMeasure(1).getKeySignature());
+	}
 }
@@ -0,0 +1,108 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.io.musicxml;
+
+import org.junit.jupiter.api.Test;
+import org.wmn4j.TestHelper;
+import org.wmn4j.io.ParsingFailureException;
+import org.wmn4j.notation.Score;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class MusicXmlReaderStaxTest extends MusicXmlReaderDomTest {
+
+	@Override
+	MusicXmlReader getMusicXmlReader(Path path, boolean validate) {
+		return new MusicXmlReaderStax(path, validate);
+	}
+
+	@Override
+	MusicXmlReader getMusicXmlReader(Path path, boolean validate, ReadSelection selection) {
+		return new MusicXmlReaderStax(MusicXmlInput.of(path), validate, selection);
+	}
+
+	private static byte[] readTestFileBytes(String testFileName) {
+		try {
+			return Files.readAllBytes(Paths.get(TestHelper.TESTFILE_PATH + "musicxml/" + testFileName));
+		} catch (IOException e) {
+			fail("Reading test file failed with " + e);
+		}
+
+		return null;
+	}
+
+	private static Score readScore(MusicXmlReader reader) {
+		try {
+			return reader.readScore();
+		} catch (IOException | ParsingFailureException e) {
+			fail("Reading score failed with " + e);
+		}
+
+		return null;
+	}
+
+	@Test
+	void testGivenInputStreamThenContentsAreReadCorrectlyAndStreamIsNotClosed() throws IOException {
+		final boolean[] closed = {false};
+		final InputStream input = new ByteArrayInputStream(readTestFileBytes("twoPartsAndMeasures.xml")) {
+			@Override
+			public void close() throws IOException {
+				closed[0] = true;
+				super.close();
+			}
+		};
+
+		MusicXmlFileChecks.assertScoreWithMultiplePartsReadCorrectly(readScore(MusicXmlReader.readerFor(input)));
+		assertEquals(false, closed[0]);
+		input.close();
+	}
+
+	@Test
+	void testGivenByteArrayThenContentsAreReadCorrectly() {
+		final byte[] bytes = readTestFileBytes("twoPartsAndMeasures.xml");
+		MusicXmlFileChecks.assertScoreWithMultiplePartsReadCorrectly(readScore(MusicXmlReader.readerFor(bytes)));
+		MusicXmlFileChecks.assertScoreWithMultiplePartsReadCorrectly(
+				readScore(MusicXmlReader.nonValidatingReaderFor(bytes)));
+	}
+
+	@Test
+	void testGivenDirectByteBufferThenContentsAreReadCorrectlyAndPositionIsUnchanged() {
+		final byte[] bytes = readTestFileBytes("twoPartsAndMeasures.xml");
+		final ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length + 1);
+		buffer.put((byte) 0);
+		buffer.put(bytes);
+		buffer.flip();
+		buffer.position(1);
+
+		MusicXmlFileChecks.assertScoreWithMultiplePartsReadCorrectly(readScore(MusicXmlReader.readerFor(buffer)));
+		assertEquals(1, buffer.position());
+
+		// The same buffer can be read again.
+		MusicXmlFileChecks.assertScoreWithMultiplePartsReadCorrectly(readScore(MusicXmlReader.readerFor(buffer)));
+	}
+
+	@Test
+	void testGivenCompressedBytesThenContentsAreReadCorrectly() {
+		final byte[] bytes = readTestFileBytes("ornament_test.mxl");
+		MusicXmlFileChecks.assertOrnamentsAreCorrect(readScore(MusicXmlReader.readerFor(bytes)));
+		MusicXmlFileChecks.assertOrnamentsAreCorrect(
+				readScore(MusicXmlReader.readerFor(new ByteArrayInputStream(bytes))));
+	}
+
+	@Test
+	void testGivenInvalidBytesThenExceptionIsThrown() {
+		final byte[] bytes = readTestFileBytes("singleCInvalidMusicXml.xml");
+		assertThrows(ParsingFailureException.class, () -> MusicXmlReader.readerFor(bytes).readScore());
+	}
+}
@@ -0,0 +1,46 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.io.musicxml;
+
+import org.junit.jupiter.api.Test;
+import org.xml.sax.SAXException;
+
+import javax.xml.validation.ValidatorHandler;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class MusicXmlSchemaTest {
+
+	@Test
+	void testSchemaIsCompiledOnlyOnce() throws SAXException {
+		assertNotNull(MusicXmlSchema.INSTANCE.getSchema());
+		assertSame(MusicXmlSchema.INSTANCE.getSchema(), MusicXmlSchema.INSTANCE.getSchema());
+	}
+
+	@Test
+	void testValidatorHandlerIsReusedWithinThread() throws SAXException {
+		assertSame(MusicXmlSchema.INSTANCE.getValidatorHandler(), MusicXmlSchema.INSTANCE.getValidatorHandler());
+	}
+
+	@Test
+	void testValidatorHandlerIsNotSharedBetweenThreads()
+			throws SAXException, InterruptedException, ExecutionException {
+		final ValidatorHandler validatorHandler = MusicXmlSchema.INSTANCE.getValidatorHandler();
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+		try {
+			final ValidatorHandler otherValidatorHandler = executor
+					.submit(() -> MusicXmlSchema.INSTANCE.getValidatorHandler()).get();
+			assertNotNull(otherValidatorHandler);
+			assertNotSame(validatorHandler, otherValidatorHandler);
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
@@ -26,7 +26,9 @@ import org.wmn4j.notation.ScoreBuilder;
 import org.wmn4j.notation.SingleStaffPart;
 import org.wmn4j.notation.access.PositionalIterator;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.text.DateFormat;
@@ -35,8 +37,11 @@ import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
+import java.util.zip.ZipFile;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
@@ -216,6 +221,28 @@ class MusicXmlScoreWriterDomTest {
 		MusicXmlFileChecks.assertOrnamentsAreCorrect(writtenScore);
 	}
 
+	@Test
+	void testWritingCompressedFile() throws IOException {
+		Score score = readMusicXmlTestFile("ornament_test.musicxml", false);
+		Path file = temporaryDirectory.resolve("file.mxl");
+		MusicXmlWriter.writerFor(score).write(file);
+
+		try (ZipFile zipFile = new ZipFile(file.toFile())) {
+			assertEquals("mimetype", zipFile.entries().nextElement().getName());
+			assertNotNull(zipFile.getEntry("META-INF/container.xml"));
+			assertNotNull(zipFile.getEntry("file.xml"));
+		}
+
+		Score writtenScore = null;
+		try {
+			writtenScore = MusicXmlReader.readerFor(file).readScore();
+		} catch (final ParsingFailureException e) {
+			fail("Reading compressed score failed with exception " + e);
+		}
+
+		MusicXmlFileChecks.assertOrnamentsAreCorrect(writtenScore);
+	}
+
 	@Test
 	void testWritingBasicNoteAppearances() {
 		final Score score = readMusicXmlTestFile("basic_duration_appearances.xml", false);
@@ -457,4 +484,26 @@ class MusicXmlScoreWriterDomTest {
 		Score writtenScore = writeAndReadScore(score);
 		MusicXmlFileChecks.assertDirectionsCorrect(writtenScore);
 	}
+
+	@Test
+	void testWritingToOutputStream() throws IOException, ParsingFailureException {
+		final Score score = readMusicXmlTestFile("multistaff.xml", true);
+		final Path file = temporaryDirectory.resolve("file.xml");
+		final MusicXmlWriter writer = MusicXmlWriter.writerFor(score);
+		writer.write(file);
+
+		final AtomicBoolean closed = new AtomicBoolean(false);
+		final ByteArrayOutputStream output = new ByteArrayOutputStream() {
+			@Override
+			public void close() {
+				closed.set(true);
+			}
+		};
+		writer.write(output);
+
+		assertFalse(closed.get());
+		assertArrayEquals(Files.readAllBytes(file), output.toByteArray());
+		final Score writtenScore = MusicXmlReader.readerFor(output.toByteArray()).readScore();
+		MusicXmlFileChecks.assertMultiStaffPartReadCorrectly(writtenScore);
+	}
 }
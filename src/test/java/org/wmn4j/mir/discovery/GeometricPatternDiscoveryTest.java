@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 import org.wmn4j.mir.Pattern;
 import org.wmn4j.mir.PatternPosition;
 import org.wmn4j.TestHelper;
+import org.wmn4j.notation.Duration;
 import org.wmn4j.notation.Durations;
 import org.wmn4j.notation.Note;
 import org.wmn4j.notation.Pitch;
@@ -18,7 +19,9 @@ import java.util.Collection;
 import java.util.Iterator;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class GeometricPatternDiscoveryTest {
@@ -220,4 +223,73 @@ public class GeometricPatternDiscoveryTest {
 				), patterns);
 	}
 
+	@Test
+	void testGivenMultipleThreadsThenSiatechfReturnsSamePatternsInSameOrder() {
+		final Score score = PackedSiatechfTest.getRepeatedMotifScore(64);
+		final int noteCount = new PointSet(score).size();
+		assertTrue(noteCount * (noteCount - 1L) / 2 >= PackedSiatechf.MIN_PARALLEL_PAIRS);
+
+		final Collection<Collection<Pattern>> expected = GeometricPatternDiscovery.withSiatechf(score, 2.0)
+				.getPatterns();
+		assertFalse(expected.isEmpty());
+
+		assertEquals(expected, GeometricPatternDiscovery.withSiatechf(score, 2.0, 1).getPatterns());
+		assertEquals(expected, GeometricPatternDiscovery.withSiatechf(score, 2.0, 4).getPatterns());
+	}
+
+	@Test
+	void testGivenInvalidParallelismThenExceptionIsThrown() {
+		final Score score = TestHelper.readScore("musicxml/multi_part_pattern_position_test.xml");
+		assertThrows(IllegalArgumentException.class, () -> GeometricPatternDiscovery.withSiatechf(score, 0.0, 0));
+	}
+
+	@Test
+	void testGivenWindowThenSiatechfReturnsPatternsOccurringFurtherApartThanWindow() {
+		final Score score = TestHelper.readScore("musicxml/pattern_discovery/monophonic_pattern_discovery_test.xml");
+
+		assertEquals(GeometricPatternDiscovery.withSiatechf(score, 0.0).getPatterns(),
+				GeometricPatternDiscovery.withWindowedSiatechf(score, 0.0, Duration.of(100, 1)).getPatterns());
+
+		final Collection<Collection<Pattern>> patterns = GeometricPatternDiscovery
+				.withWindowedSiatechf(score, 6.0 / 4.0 - 1e-7, Durations.QUARTER).getPatterns();
+
+		// The notes of the pattern and its occurrences are further apart than the window.
+		assertExpectedPatternCollectionFoundInPatterns(
+				Arrays.asList(
+						Pattern.of(Arrays.asList(
+								Note.of(Pitch.of(Pitch.Base.C, Pitch.Accidental.NATURAL, 4), Durations.EIGHTH),
+								Rest.of(Durations.EIGHTH),
+								Rest.of(Durations.EIGHTH),
+								Rest.of(Durations.EIGHTH),
+								Note.of(Pitch.of(Pitch.Base.C, Pitch.Accidental.NATURAL, 4), Durations.EIGHTH)
+						)),
+						Pattern.of(Arrays.asList(
+								Note.of(Pitch.of(Pitch.Base.D, Pitch.Accidental.NATURAL, 4), Durations.EIGHTH),
+								Rest.of(Durations.EIGHTH),
+								Rest.of(Durations.EIGHTH),
+								Rest.of(Durations.EIGHTH),
+								Note.of(Pitch.of(Pitch.Base.D, Pitch.Accidental.NATURAL, 4), Durations.EIGHTH)
+						)),
+						Pattern.of(Arrays.asList(
+								Note.of(Pitch.of(Pitch.Base.E, Pitch.Accidental.NATURAL, 4), Durations.EIGHTH),
+								Rest.of(Durations.EIGHTH),
+								Rest.of(Durations.EIGHTH),
+								Rest.of(Durations.EIGHTH),
+								Note.of(Pitch.of(Pitch.Base.E, Pitch.Accidental.NATURAL, 4), Durations.EIGHTH)
+						))
+				), patterns);
+	}
+
+	@Test
+	void testGivenRepeatedMotifThenCosiatecAndSiatecCompressReturnOnlyMotif() {
+		final Score score = TestHelper.readScore("musicxml/pattern_discovery/monophonic_pattern_discovery_test.xml");
+		final Pattern motif = Pattern.of(Arrays.asList(
+				Note.of(Pitch.of(Pitch.Base.C, Pitch.Accidental.NATURAL, 4), Durations.EIGHTH),
+				Note.of(Pitch.of(Pitch.Base.D, Pitch.Accidental.NATURAL, 4), Durations.EIGHTH),
+				Note.of(Pitch.of(Pitch.Base.E, Pitch.Accidental.NATURAL, 4), Durations.EIGHTH)));
+		final Collection<Collection<Pattern>> expected = Arrays.asList(Arrays.asList(motif, motif));
+
+		assertEquals(expected, GeometricPatternDiscovery.withCosiatec(score).getPatterns());
+		assertEquals(expected, GeometricPatternDiscovery.withSiatecCompress(score).getPatterns());
+	}
 }
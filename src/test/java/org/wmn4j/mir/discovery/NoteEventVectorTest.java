@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class NoteEventVectorTest {
@@ -127,4 +128,67 @@ class NoteEventVectorTest {
 
 		assertEquals(new NoteEventVector(4.0, 0, 0).hashCode(), shouldSumToFour.hashCode());
 	}
+
+	@Test
+	void testTickOffsetsAreAddedAndSubtractedExactly() {
+		final NoteEventVector tripletOffset = NoteEventVector.ofTicks(1, 3, 0, 0);
+		final NoteEventVector sum = tripletOffset.add(tripletOffset).add(tripletOffset);
+
+		assertEquals(NoteEventVector.ofTicks(3, 3, 0, 0), sum);
+		assertEquals(NoteEventVector.ofTicks(3, 3, 0, 0).hashCode(), sum.hashCode());
+		assertEquals(1.0, sum.getRoundedOffset());
+		assertEquals(3, sum.getOffsetTicks());
+
+		final NoteEventVector difference = NoteEventVector.ofTicks(2, 3, 60, 1)
+				.subtract(NoteEventVector.ofTicks(5, 3, 64, 2));
+		assertTrue(difference.hasOffsetTicks());
+		assertEquals(NoteEventVector.ofTicks(-3, 3, -4, -1), difference);
+		assertEquals(-3, difference.getOffsetTicks());
+		assertEquals(-4, difference.getPitch());
+		assertEquals(-1, difference.getPart());
+	}
+
+	@Test
+	void testTickOffsetsAreOrderedLexicographically() {
+		final NoteEventVector negative = NoteEventVector.ofTicks(-1, 4, 100, 5);
+		final NoteEventVector zero = NoteEventVector.ofTicks(0, 4, -5, 0);
+		final NoteEventVector higherPitch = NoteEventVector.ofTicks(0, 4, 3, -2);
+		final NoteEventVector higherPart = NoteEventVector.ofTicks(0, 4, 3, 1);
+
+		assertTrue(negative.compareTo(zero) < 0);
+		assertTrue(zero.compareTo(higherPitch) < 0);
+		assertTrue(higherPitch.compareTo(higherPart) < 0);
+		assertTrue(higherPart.compareTo(negative) > 0);
+		assertEquals(0, zero.compareTo(NoteEventVector.ofTicks(0, 4, -5, 0)));
+	}
+
+	@Test
+	void testVectorsWithDifferentOffsetRepresentationsAreNotEqual() {
+		assertNotEquals(new NoteEventVector(1.0, 0, 0), NoteEventVector.ofTicks(3, 3, 0, 0));
+		assertNotEquals(NoteEventVector.ofTicks(3, 3, 0, 0), new NoteEventVector(1.0, 0, 0));
+		assertNotEquals(NoteEventVector.ofTicks(2, 2, 0, 0), NoteEventVector.ofTicks(3, 3, 0, 0));
+	}
+
+	@Test
+	void testVectorsWithDifferentOffsetRepresentationsAreOrderedConsistentlyWithEquals() {
+		final NoteEventVector doubleOffset = new NoteEventVector(1.0, 0, 0);
+		final NoteEventVector halves = NoteEventVector.ofTicks(2, 2, 0, 0);
+		final NoteEventVector thirds = NoteEventVector.ofTicks(3, 3, 0, 0);
+
+		assertTrue(doubleOffset.compareTo(halves) < 0);
+		assertTrue(halves.compareTo(doubleOffset) > 0);
+		assertTrue(halves.compareTo(thirds) < 0);
+		assertTrue(thirds.compareTo(halves) > 0);
+
+		assertTrue(NoteEventVector.ofTicks(1, 3, 0, 0).compareTo(halves) < 0);
+		assertTrue(halves.compareTo(new NoteEventVector(0.5, 1, 0)) > 0);
+	}
+
+	@Test
+	void testGivenInvalidTickVectorThenExceptionIsThrown() {
+		assertThrows(IllegalArgumentException.class, () -> NoteEventVector.ofTicks(0, 0, 0, 0));
+		assertThrows(IllegalArgumentException.class, () -> NoteEventVector.ofTicks(1L << 40, 1, 0, 0));
+		assertThrows(IllegalArgumentException.class, () -> NoteEventVector.ofTicks(0, 1, 5000, 0));
+		assertThrows(IllegalArgumentException.class, () -> NoteEventVector.ofTicks(0, 1, 0, -5000));
+	}
 }
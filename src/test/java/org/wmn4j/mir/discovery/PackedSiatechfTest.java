@@ -0,0 +1,248 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.mir.discovery;
+
+import org.junit.jupiter.api.Test;
+import org.wmn4j.TestHelper;
+import org.wmn4j.notation.Clefs;
+import org.wmn4j.notation.Duration;
+import org.wmn4j.notation.Durational;
+import org.wmn4j.notation.Durations;
+import org.wmn4j.notation.KeySignatures;
+import org.wmn4j.notation.Measure;
+import org.wmn4j.notation.Note;
+import org.wmn4j.notation.Pitch;
+import org.wmn4j.notation.Score;
+import org.wmn4j.notation.SingleStaffPart;
+import org.wmn4j.notation.Staff;
+import org.wmn4j.notation.TimeSignatures;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PackedSiatechfTest {
+
+	/*
+	 * The TECs are compared as the sets of translated pattern instances, because the
+	 * choice of the pattern and translators of a TEC can differ between the implementations.
+	 */
+	private static Set<List<NoteEventVector>> expandTec(Tec tec) {
+		final Set<List<NoteEventVector>> patterns = new HashSet<>();
+
+		for (NoteEventVector translator : tec.getTranslators()) {
+			final List<NoteEventVector> translatedPatternPoints = new ArrayList<>(tec.getPattern().size());
+			for (NoteEventVector patternPoint : tec.getPattern()) {
+				translatedPatternPoints.add(patternPoint.add(translator));
+			}
+
+			patterns.add(translatedPatternPoints);
+		}
+
+		return patterns;
+	}
+
+	private static Set<Set<List<NoteEventVector>>> expandTecs(Collection<Tec> tecs) {
+		final Set<Set<List<NoteEventVector>>> expanded = new HashSet<>();
+		for (Tec tec : tecs) {
+			expanded.add(expandTec(tec));
+		}
+
+		return expanded;
+	}
+
+	private static void assertSameTecsAsSiatechf(String scorePath, double minCompressionRatio) {
+		final Score score = TestHelper.readScore(scorePath);
+		for (PointSet pointSet : Arrays.asList(new PointSet(score), new PointSet(score, true))) {
+			assertTrue(pointSet.hasOffsetTicks());
+
+			final List<Tec> expected = Siatechf.computeMtpTecs(pointSet, minCompressionRatio);
+			final List<Tec> actual = PackedSiatechf.computeMtpTecs(pointSet, minCompressionRatio);
+
+			assertEquals(expected.size(), actual.size());
+			assertEquals(expandTecs(expected), expandTecs(actual));
+		}
+	}
+
+	@Test
+	void testGivenMonophonicScoreThenTecsAreSameAsWithSiatechf() {
+		assertSameTecsAsSiatechf("musicxml/pattern_discovery/monophonic_pattern_discovery_test.xml", 0.0);
+		assertSameTecsAsSiatechf("musicxml/pattern_discovery/monophonic_pattern_discovery_test.xml",
+				6.0 / 4.0 - 1e-7);
+	}
+
+	@Test
+	void testGivenScoresWithTupletsAndMultiplePartsThenTecsAreSameAsWithSiatechf() {
+		assertSameTecsAsSiatechf("musicxml/pattern_discovery/basic_point_set_test.xml", 0.0);
+		assertSameTecsAsSiatechf("musicxml/pattern_discovery/multipart_point_set_test.xml", 0.0);
+		assertSameTecsAsSiatechf("musicxml/multi_part_pattern_position_test.xml", 0.0);
+		assertSameTecsAsSiatechf("musicxml/multi_part_pattern_position_test.xml", 2.0);
+		assertSameTecsAsSiatechf("musicxml/tuplet_test.musicxml", 1.5);
+	}
+
+	private static void assertSameTecs(List<Tec> expected, List<Tec> actual) {
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); ++i) {
+			assertEquals(expected.get(i).getPattern(), actual.get(i).getPattern());
+			assertEquals(expected.get(i).getTranslators(), actual.get(i).getTranslators());
+		}
+	}
+
+	private static void assertSameTecsWhenComputedInParallel(String scorePath, double minCompressionRatio) {
+		final PointSet pointSet = new PointSet(TestHelper.readScore(scorePath));
+		final List<Tec> expected = PackedSiatechf.computeMtpTecs(pointSet, minCompressionRatio);
+
+		for (int parallelism = 2; parallelism <= 3; ++parallelism) {
+			final ForkJoinPool pool = new ForkJoinPool(parallelism);
+			try {
+				assertSameTecs(expected, PackedSiatechf.computeMtpTecs(pointSet, minCompressionRatio, pool));
+			} finally {
+				pool.shutdown();
+			}
+		}
+	}
+
+	@Test
+	void testGivenPoolThenTecsAreSameAndInSameOrderAsWhenComputedSequentially() {
+		assertSameTecsWhenComputedInParallel("musicxml/pattern_discovery/monophonic_pattern_discovery_test.xml", 0.0);
+		assertSameTecsWhenComputedInParallel("musicxml/multi_part_pattern_position_test.xml", 0.0);
+		assertSameTecsWhenComputedInParallel("musicxml/multi_part_pattern_position_test.xml", 2.0);
+		assertSameTecsWhenComputedInParallel("musicxml/tuplet_test.musicxml", 1.5);
+	}
+
+	/**
+	 * Returns a score of a melody of the given number of measures in which a varied motif of eight notes is
+	 * repeated in every measure at a random transposition.
+	 */
+	static Score getRepeatedMotifScore(int measureCount) {
+		final int[] motif = {0, 1, 2, 3, 4, 3, 2, 1};
+		final Random random = new Random(7);
+		final List<Measure> measures = new ArrayList<>();
+
+		for (int number = 1; number <= measureCount; ++number) {
+			final int transposition = random.nextInt(5);
+			final List<Durational> voice = new ArrayList<>();
+			for (int step : motif) {
+				final int variedStep = step + transposition + (random.nextInt(6) == 0 ? 1 : 0);
+				voice.add(Note.of(Pitch.of(Pitch.Base.values()[variedStep % 7], Pitch.Accidental.NATURAL,
+						4 + variedStep / 7), Durations.EIGHTH));
+			}
+
+			measures.add(Measure.of(number, Map.of(1, voice), TimeSignatures.FOUR_FOUR, KeySignatures.CMAJ_AMIN,
+					Clefs.G));
+		}
+
+		return Score.of(Map.of(), List.of(SingleStaffPart.of("Melody", Staff.of(measures))));
+	}
+
+	@Test
+	void testGivenPointSetLargeEnoughToSplitThenTecsAreSameForAllParallelisms() {
+		final PointSet pointSet = new PointSet(getRepeatedMotifScore(64), true);
+		assertTrue(pointSet.size() * (pointSet.size() - 1L) / 2 >= PackedSiatechf.MIN_PARALLEL_PAIRS);
+
+		final List<Tec> expected = PackedSiatechf.computeMtpTecs(pointSet, 2.0);
+		assertFalse(expected.isEmpty());
+
+		for (int parallelism : new int[] {1, 2, 3, 4, 8}) {
+			final ForkJoinPool pool = new ForkJoinPool(parallelism);
+			try {
+				assertSameTecs(expected, PackedSiatechf.computeMtpTecs(pointSet, 2.0, pool));
+			} finally {
+				pool.shutdown();
+			}
+		}
+	}
+
+	@Test
+	void testGivenWindowLongerThanScoreThenTecsAreSameAsWithoutWindow() {
+		final PointSet pointSet = new PointSet(TestHelper.readScore("musicxml/multi_part_pattern_position_test.xml"),
+				true);
+
+		assertSameTecs(PackedSiatechf.computeMtpTecs(pointSet, 0.0),
+				PackedSiatechf.computeWindowedMtpTecs(pointSet, 0.0, Duration.of(1000, 1)));
+		assertSameTecs(PackedSiatechf.computeMtpTecs(pointSet, 2.0),
+				PackedSiatechf.computeWindowedMtpTecs(pointSet, 2.0, Duration.of(1000, 1)));
+	}
+
+	/*
+	 * Returns all the vectors by which the given pattern can be translated within the point set.
+	 */
+	private static Set<NoteEventVector> findTranslatorsByBruteForce(PointPattern pattern, PointSet pointSet) {
+		final Set<NoteEventVector> points = new HashSet<>();
+		for (int i = 0; i < pointSet.size(); ++i) {
+			points.add(pointSet.get(i));
+		}
+
+		final NoteEventVector firstPoint = pattern.iterator().next();
+		final Set<NoteEventVector> translators = new HashSet<>();
+		for (NoteEventVector point : points) {
+			final NoteEventVector translator = point.subtract(firstPoint);
+			boolean allPointsFound = true;
+			for (NoteEventVector patternPoint : pattern) {
+				allPointsFound &= points.contains(patternPoint.add(translator));
+			}
+
+			if (allPointsFound) {
+				translators.add(translator);
+			}
+		}
+
+		return translators;
+	}
+
+	private static void assertWindowedTecsHaveAllTranslators(String scorePath, Duration window) {
+		final PointSet pointSet = new PointSet(TestHelper.readScore(scorePath), true);
+		final List<Tec> tecs = PackedSiatechf.computeWindowedMtpTecs(pointSet, 0.0, window);
+		assertFalse(tecs.isEmpty());
+
+		boolean hasOccurrencesFurtherApartThanWindow = false;
+		for (Tec tec : tecs) {
+			assertEquals(findTranslatorsByBruteForce(tec.getPattern(), pointSet), new HashSet<>(tec.getTranslators()));
+
+			for (NoteEventVector translator : tec.getTranslators()) {
+				hasOccurrencesFurtherApartThanWindow |= translator.getRoundedOffset() > window.toDouble();
+			}
+		}
+
+		assertTrue(hasOccurrencesFurtherApartThanWindow);
+	}
+
+	private static void assertSameWindowedTecsAsSiatechf(String scorePath, Duration window) {
+		final PointSet pointSet = new PointSet(TestHelper.readScore(scorePath), true);
+		for (double minCompressionRatio : new double[] {0.0, 1.5}) {
+			final List<Tec> expected = Siatechf.computeWindowedMtpTecs(pointSet, minCompressionRatio,
+					window.toDouble());
+			final List<Tec> actual = PackedSiatechf.computeWindowedMtpTecs(pointSet, minCompressionRatio, window);
+
+			assertEquals(expected.size(), actual.size());
+			assertEquals(expandTecs(expected), expandTecs(actual));
+		}
+	}
+
+	@Test
+	void testGivenWindowThenTecsAreSameAsWithWindowedSiatechf() {
+		assertSameWindowedTecsAsSiatechf("musicxml/pattern_discovery/monophonic_pattern_discovery_test.xml",
+				Durations.QUARTER);
+		assertSameWindowedTecsAsSiatechf("musicxml/multi_part_pattern_position_test.xml", Durations.EIGHTH);
+		assertSameWindowedTecsAsSiatechf("musicxml/tuplet_test.musicxml", Durations.QUARTER);
+	}
+
+	@Test
+	void testGivenWindowThenTecsHaveOccurrencesAtAnyDistance() {
+		assertWindowedTecsHaveAllTranslators("musicxml/pattern_discovery/monophonic_pattern_discovery_test.xml",
+				Durations.QUARTER);
+		assertWindowedTecsHaveAllTranslators("musicxml/multi_part_pattern_position_test.xml", Durations.EIGHTH);
+		assertWindowedTecsHaveAllTranslators("musicxml/tuplet_test.musicxml", Durations.QUARTER);
+	}
+}
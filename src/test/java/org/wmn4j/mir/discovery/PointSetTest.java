@@ -12,10 +12,13 @@ import org.wmn4j.notation.TimeSignatures;
 import org.wmn4j.notation.access.Position;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class PointSetTest {
 
@@ -89,6 +92,41 @@ public class PointSetTest {
 		assertEquals(expectedVectors.get(12), pointSet.get(12));
 	}
 
+	@Test
+	void testGivenScoreWithPickupMeasureThenPickupLastsForItsNotes() {
+		final Score score = TestHelper.readScore("musicxml/pickup_measure_test.xml");
+
+		// The pickup measure has two quarter notes, so the first full measure begins after a half note and not
+		// after the total duration of the time signature of the pickup measure.
+		final List<NoteEventVector> expectedVectors = Arrays.asList(new NoteEventVector(0.0, 69, 0),
+				new NoteEventVector(0.25, 69, 0), new NoteEventVector(0.5, 69, 0), new NoteEventVector(1.5, 69, 0),
+				new NoteEventVector(2.5, 69, 0));
+
+		for (PointSet pointSet : Arrays.asList(new PointSet(score), new PointSet(score, true))) {
+			assertEquals(expectedVectors.size(), pointSet.size());
+			for (int i = 0; i < expectedVectors.size(); ++i) {
+				assertEquals(expectedVectors.get(i).getRoundedOffset(), pointSet.get(i).getRoundedOffset());
+				assertEquals(expectedVectors.get(i).getPitch(), pointSet.get(i).getPitch());
+			}
+		}
+	}
+
+	@Test
+	void testGivenScoreWithTupletsOffsetTicksAreExactMultiplesOfSameTick() {
+		final Score score = TestHelper.readScore("musicxml/pattern_discovery/basic_point_set_test.xml");
+		final PointSet pointSet = new PointSet(score);
+		assertTrue(pointSet.hasOffsetTicks());
+
+		final double tickDuration = Durations.QUARTER.toDouble() / pointSet.getOffsetTicks(1);
+		for (int i = 0; i < pointSet.size(); ++i) {
+			assertEquals(pointSet.get(i).getRoundedOffset(), pointSet.getOffsetTicks(i) * tickDuration, 1e-7);
+		}
+
+		// The offset of the triplet eighth following two sixteenths.
+		assertEquals(Durations.QUARTER.add(Durations.EIGHTH).add(Durations.QUARTER).add(Durations.EIGHTH)
+				.add(Durations.EIGHTH.divide(3)).toDouble() / tickDuration, pointSet.getOffsetTicks(6), 1e-9);
+	}
+
 	@Test
 	void testGivenScoreWithSingleStaffPointSetReturnsCorrectPositions() {
 		final Score score = TestHelper.readScore("musicxml/pattern_discovery/basic_point_set_test.xml");
@@ -201,4 +239,38 @@ public class PointSetTest {
 		assertEquals(new Position(2, 2, 1, 1), pointSet.getPosition(expected.get(12)));
 		assertEquals(new Position(0, 2, 1, 1), pointSet.getPosition(expected.get(13)));
 	}
+
+	@Test
+	void testGivenExactOffsetsThenPointsHaveTickOffsetsInSameOrderAndPositions() {
+		final Score score = TestHelper.readScore("musicxml/pattern_discovery/basic_point_set_test.xml");
+		final PointSet roundedPointSet = new PointSet(score);
+		final PointSet exactPointSet = new PointSet(score, true);
+		assertFalse(roundedPointSet.get(0).hasOffsetTicks());
+		assertTrue(exactPointSet.get(0).hasOffsetTicks());
+		assertEquals(roundedPointSet.size(), exactPointSet.size());
+
+		for (int i = 0; i < exactPointSet.size(); ++i) {
+			final NoteEventVector rounded = roundedPointSet.get(i);
+			final NoteEventVector exact = exactPointSet.get(i);
+
+			assertEquals(exactPointSet.getOffsetTicks(i), exact.getOffsetTicks());
+			assertEquals(rounded.getRoundedOffset(), exact.getRoundedOffset());
+			assertEquals(rounded.getPitch(), exact.getPitch());
+			assertEquals(rounded.getPart(), exact.getPart());
+			assertEquals(roundedPointSet.getPosition(rounded), exactPointSet.getPosition(exact));
+		}
+	}
+
+	@Test
+	void testGivenExactOffsetsThenTranslatedTupletPointsAreFoundExactly() {
+		final Score score = TestHelper.readScore("musicxml/tuplet_test.musicxml");
+		final PointSet pointSet = new PointSet(score, true);
+		assertTrue(pointSet.get(0).hasOffsetTicks());
+
+		final NoteEventVector first = pointSet.get(0);
+		for (int i = 1; i < pointSet.size(); ++i) {
+			final NoteEventVector translator = pointSet.get(i).subtract(first);
+			assertEquals(pointSet.getPosition(pointSet.get(i)), pointSet.getPosition(first.add(translator)));
+		}
+	}
 }
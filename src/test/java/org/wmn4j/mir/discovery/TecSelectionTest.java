@@ -0,0 +1,98 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.mir.discovery;
+
+import org.junit.jupiter.api.Test;
+import org.wmn4j.TestHelper;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TecSelectionTest {
+
+	private static final String MONOPHONIC_SCORE_PATH
+			= "musicxml/pattern_discovery/monophonic_pattern_discovery_test.xml";
+	private static final String MULTI_PART_SCORE_PATH = "musicxml/multi_part_pattern_position_test.xml";
+
+	private static PointSet readPointSet(String scorePath) {
+		return new PointSet(TestHelper.readScore(scorePath), true);
+	}
+
+	private static Set<NoteEventVector> coveredPoints(Tec tec) {
+		final Set<NoteEventVector> covered = new HashSet<>();
+		for (NoteEventVector translator : tec.getTranslators()) {
+			for (NoteEventVector point : tec.getPattern()) {
+				covered.add(point.add(translator));
+			}
+		}
+
+		return covered;
+	}
+
+	private static int encodingLength(Tec tec) {
+		return tec.getPattern().size() + tec.getTranslators().size() - 1;
+	}
+
+	private static void assertSelectsRepeatedMotif(List<Tec> selected, PointSet pointSet) {
+		assertEquals(1, selected.size());
+
+		final Tec tec = selected.get(0);
+		assertEquals(new PointPattern(Arrays.asList(pointSet.get(0), pointSet.get(1), pointSet.get(2))),
+				tec.getPattern());
+		assertEquals(Arrays.asList(pointSet.get(0).subtract(pointSet.get(0)), pointSet.get(3).subtract(pointSet.get(0))),
+				tec.getTranslators());
+	}
+
+	@Test
+	void testGivenRepeatedMotifThenCosiatecSelectsMotif() {
+		final PointSet pointSet = readPointSet(MONOPHONIC_SCORE_PATH);
+		assertSelectsRepeatedMotif(TecSelection.cosiatec(pointSet), pointSet);
+	}
+
+	@Test
+	void testGivenRepeatedMotifThenSiatecCompressSelectsMotif() {
+		final PointSet pointSet = readPointSet(MONOPHONIC_SCORE_PATH);
+		assertSelectsRepeatedMotif(TecSelection.siatecCompress(pointSet), pointSet);
+	}
+
+	@Test
+	void testCosiatecSelectsCompressingTecsThatCoverDisjointPoints() {
+		final PointSet pointSet = readPointSet(MULTI_PART_SCORE_PATH);
+		final List<Tec> selected = TecSelection.cosiatec(pointSet);
+		assertFalse(selected.isEmpty());
+
+		final Set<NoteEventVector> covered = new HashSet<>();
+		for (Tec tec : selected) {
+			final Set<NoteEventVector> coveredByTec = coveredPoints(tec);
+			assertTrue(coveredByTec.size() > encodingLength(tec));
+
+			for (NoteEventVector point : coveredByTec) {
+				assertTrue(pointSet.indexOf(point) >= 0);
+				assertTrue(covered.add(point));
+			}
+		}
+	}
+
+	@Test
+	void testSiatecCompressSelectsTecsThatCoverMorePointsThanTheirEncoding() {
+		final PointSet pointSet = readPointSet(MULTI_PART_SCORE_PATH);
+		final List<Tec> selected = TecSelection.siatecCompress(pointSet);
+		assertFalse(selected.isEmpty());
+
+		final Set<NoteEventVector> covered = new HashSet<>();
+		for (Tec tec : selected) {
+			final Set<NoteEventVector> newlyCovered = coveredPoints(tec);
+			newlyCovered.removeAll(covered);
+			assertTrue(newlyCovered.size() > encodingLength(tec));
+
+			covered.addAll(newlyCovered);
+		}
+	}
+}
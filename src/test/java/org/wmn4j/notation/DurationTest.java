@@ -10,6 +10,7 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -339,6 +340,23 @@ class DurationTest {
 		assertEquals(3, eighthTripletNotesDecomposition.get(1).getTupletDivisor());
 	}
 
+	@Test
+	void testDecompositionsAreMemoized() {
+		final List<Duration> decomposition = Duration.of(9, 8).decompose(Durations.HALF);
+		assertSame(decomposition, Duration.of(9, 8).decompose(Durations.HALF));
+		assertThrows(UnsupportedOperationException.class, () -> decomposition.add(Durations.QUARTER));
+
+		// Decompositions depend on the expression information of the durations even though equality does not.
+		final List<Duration> dottedDecomposition = Durations.HALF.addDot().decompose(Durations.WHOLE);
+		assertEquals(1, dottedDecomposition.size());
+		assertEquals(1, dottedDecomposition.get(0).getDotCount());
+
+		final List<Duration> plainDecomposition = Duration.of(3, 4).decompose(Duration.of(3, 4, 1, 1));
+		assertEquals(1, plainDecomposition.size());
+		assertEquals(1, plainDecomposition.get(0).getDotCount());
+		assertEquals(Duration.of(3, 4).decompose(Duration.of(3, 4, 1, 1)), plainDecomposition);
+	}
+
 	@Test
 	void testSum() {
 		List<Duration> durations = new ArrayList<>();
@@ -363,4 +381,45 @@ class DurationTest {
 		durations.add(Durations.EIGHTH_TRIPLET);
 		assertEquals(Durations.WHOLE, Duration.sum(durations), "Mixed durations did not add to whole note.");
 	}
+
+	@Test
+	void testSumOfPackedRationals() {
+		long sum = Duration.ZERO_SUM;
+		for (int i = 0; i < 3; ++i) {
+			sum = Duration.addToSum(sum, Durations.EIGHTH_TRIPLET);
+		}
+
+		sum = Duration.addToSum(sum, Durations.HALF.addDot());
+		assertEquals(Durations.WHOLE, Duration.ofSum(sum));
+		assertThrows(IllegalArgumentException.class, () -> Duration.ofSum(Duration.ZERO_SUM));
+	}
+
+	@Test
+	void testCommonDurationsAreCached() {
+		assertSame(Duration.of(1, 4), Duration.of(2, 8));
+		assertSame(Durations.EIGHTH, Durations.SIXTEENTH.add(Durations.SIXTEENTH));
+		assertSame(Duration.of(3, 8), Durations.QUARTER.addDot().removeDots().multiply(3).divide(2));
+		assertEquals(1, Durations.QUARTER.addDot().divide(3).getDotCount());
+		assertEquals(3, Durations.QUARTER.addDot().divide(3).getTupletDivisor());
+	}
+
+	@Test
+	void testDurationsWithExpressionAreInterned() {
+		assertSame(Durations.EIGHTH_TRIPLET, Duration.of(1, 12, 0, 3));
+		assertSame(Durations.EIGHTH_TRIPLET, Durations.QUARTER.divide(3));
+		assertSame(Duration.of(3, 8, 1, 1), Durations.QUARTER.addDot());
+		assertSame(Duration.of(7, 1024, 2, 1), Duration.of(1, 256).addDot().addDot());
+
+		final Duration withoutExpression = Duration.of(1, 12);
+		assertEquals(withoutExpression, Durations.EIGHTH_TRIPLET);
+		assertEquals(withoutExpression.hashCode(), Durations.EIGHTH_TRIPLET.hashCode());
+		assertEquals(1, withoutExpression.getTupletDivisor());
+		assertEquals(3, Durations.EIGHTH_TRIPLET.getTupletDivisor());
+	}
+
+	@Test
+	void testOverflowingArithmeticThrows() {
+		final Duration shortDuration = Duration.of(1, Integer.MAX_VALUE);
+		assertThrows(ArithmeticException.class, () -> shortDuration.add(Duration.of(1, Integer.MAX_VALUE - 1)));
+	}
 }
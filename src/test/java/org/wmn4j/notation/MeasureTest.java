@@ -11,9 +11,12 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -77,6 +80,38 @@ class MeasureTest {
 		assertEquals(1, measure.getVoiceSize(0), "Modifying list from which measure is created changes measure");
 	}
 
+	@Test
+	void testVoicesAreOrderedByVoiceNumber() {
+		final Map<Integer, List<Durational>> voices = new HashMap<>();
+		voices.put(12, List.of(C4, C4Quarter));
+		voices.put(3, List.of(E4));
+		voices.put(7, List.of(G4));
+
+		final Measure measure = Measure.of(1, voices, TimeSignatures.FOUR_FOUR, keySig, Clefs.G);
+		assertEquals(List.of(3, 7, 12), measure.getVoiceNumbers());
+		assertEquals(1, measure.getVoiceSize(3));
+		assertEquals(1, measure.getVoiceSize(7));
+		assertEquals(2, measure.getVoiceSize(12));
+		assertSame(E4, measure.get(3, 0));
+		assertSame(C4Quarter, measure.get(12, 1));
+		assertEquals(Optional.of(Durations.HALF), measure.onsetOf(12, 1));
+		assertEquals(Optional.of(G4), measure.getAtOffset(7, null));
+
+		assertThrows(NoSuchElementException.class, () -> measure.getVoiceSize(4));
+		assertThrows(NoSuchElementException.class, () -> measure.get(7, 1));
+		assertThrows(NoSuchElementException.class, () -> measure.get(13, 0));
+
+		final List<Durational> iterated = new ArrayList<>();
+		measure.forEach(iterated::add);
+		assertEquals(List.of(E4, G4, C4, C4Quarter), iterated);
+
+		final Measure restMeasure = Measure.restMeasureOf(2, MeasureAttributes.of(TimeSignatures.FOUR_FOUR, keySig,
+				Barline.SINGLE, Clefs.G));
+		assertTrue(restMeasure.getVoiceNumbers().isEmpty());
+		assertEquals(0, restMeasure.getVoiceCount());
+		assertFalse(restMeasure.iterator().hasNext());
+	}
+
 	@Test
 	void testGetNumber() {
 		assertEquals(1, Measure.of(1, singleNoteVoice, TimeSignatures.FOUR_FOUR, keySig, Clefs.G).getNumber());
@@ -212,4 +247,39 @@ class MeasureTest {
 
 		assertFalse(nonPickup.isPickup());
 	}
+
+	@Test
+	void testOnsetOf() {
+		final Measure measure = Measure.of(1, this.multipleNoteVoices, TimeSignatures.FOUR_FOUR, keySig, Clefs.G);
+
+		assertEquals(Optional.empty(), measure.onsetOf(0, 0));
+		assertEquals(Optional.of(Durations.QUARTER), measure.onsetOf(0, 1));
+		assertEquals(Optional.of(Durations.HALF), measure.onsetOf(0, 2));
+		assertEquals(Optional.of(Durations.HALF.addDot()), measure.onsetOf(1, 2));
+
+		assertThrows(NoSuchElementException.class, () -> measure.onsetOf(0, 3));
+		assertThrows(NoSuchElementException.class, () -> measure.onsetOf(0, -1));
+		assertThrows(NoSuchElementException.class, () -> measure.onsetOf(2, 0));
+	}
+
+	@Test
+	void testGetAtOffset() {
+		final Measure measure = Measure.of(1, this.multipleNoteVoices, TimeSignatures.FOUR_FOUR, keySig, Clefs.G);
+
+		assertSame(measure.get(0, 0), measure.getAtOffset(0, null).get());
+		assertSame(measure.get(0, 0), measure.getAtOffset(0, Durations.EIGHTH).get());
+		assertSame(measure.get(0, 1), measure.getAtOffset(0, Durations.QUARTER).get());
+		assertSame(measure.get(0, 1), measure.getAtOffset(0, Durations.QUARTER_TRIPLET.multiply(2)).get());
+		assertSame(measure.get(0, 2), measure.getAtOffset(0, Durations.HALF).get());
+		assertSame(measure.get(0, 2), measure.getAtOffset(0, Duration.of(15, 16)).get());
+		assertFalse(measure.getAtOffset(0, Durations.WHOLE).isPresent());
+		assertFalse(measure.getAtOffset(0, Durations.WHOLE.multiply(2)).isPresent());
+
+		assertSame(measure.get(1, 1), measure.getAtOffset(1, Durations.HALF.addDot().subtract(Durations.EIGHTH)).get());
+		assertSame(measure.get(1, 2), measure.getAtOffset(1, Durations.HALF.addDot()).get());
+		assertSame(measure.get(1, 2), measure.getAtOffset(1, Duration.of(7, 8)).get());
+		assertFalse(measure.getAtOffset(1, Durations.WHOLE).isPresent());
+
+		assertThrows(NoSuchElementException.class, () -> measure.getAtOffset(2, null));
+	}
 }
@@ -5,12 +5,14 @@ package org.wmn4j.notation;
 
 import org.junit.jupiter.api.Test;
 import org.wmn4j.TestHelper;
+import org.wmn4j.notation.access.Offset;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -83,6 +85,20 @@ class MultiStaffPartTest {
 		assertEquals(expectedCount, count, "Iterator went through an unexpected number of measures.");
 	}
 
+	@Test
+	void testStream() {
+		final MultiStaffPart part = MultiStaffPart.of("Test staff", this.testStaves);
+		final List<Measure> iterated = new ArrayList<>();
+		part.forEach(iterated::add);
+
+		assertEquals(iterated, part.stream().map(Offset::get).collect(Collectors.toList()));
+		assertEquals(iterated, part.parallelStream().map(Offset::get).collect(Collectors.toList()));
+		assertEquals(iterated.size(), part.parallelStream().count());
+
+		part.parallelStream().forEach(
+				measure -> assertEquals(part.startOf(measure.get().getNumber()), measure.getDuration()));
+	}
+
 	@Test
 	void testIteratorWithPickupMeasure() {
 		final Map<Integer, Staff> staves = new HashMap<>();
@@ -0,0 +1,95 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.notation;
+
+import org.junit.jupiter.api.Test;
+import org.wmn4j.TestHelper;
+import org.wmn4j.notation.access.Position;
+import org.wmn4j.notation.access.PositionalCursor;
+import org.wmn4j.notation.access.PositionalIterator;
+
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PartwisePositionalCursorTest {
+
+	private final Score score = TestHelper.readScore("musicxml/scoreIteratorTesting.xml");
+
+	private void assertCursorFollowsIterator(PositionalCursor cursor, PositionalIterator iterator) {
+		while (iterator.hasNext()) {
+			assertTrue(cursor.advance());
+			assertSame(iterator.next(), cursor.get());
+
+			final Position position = iterator.getPositionOfPrevious();
+			assertEquals(position, cursor.toPosition());
+			assertEquals(position.getStaffNumber(), cursor.getStaffNumber());
+			assertEquals(position.getMeasureNumber(), cursor.getMeasureNumber());
+			assertEquals(position.getVoiceNumber(), cursor.getVoiceNumber());
+			assertEquals(position.getIndexInVoice(), cursor.getIndexInVoice());
+		}
+
+		assertFalse(cursor.advance());
+		assertFalse(cursor.advance());
+	}
+
+	@Test
+	void testCursorFollowsPartwiseIterator() {
+		final PositionalCursor cursor = score.partwiseCursor();
+		assertCursorFollowsIterator(cursor, score.partwiseIterator());
+
+		cursor.reset();
+		assertCursorFollowsIterator(cursor, score.partwiseIterator());
+	}
+
+	@Test
+	void testOffsets() {
+		final PositionalCursor cursor = score.partwiseCursor();
+		while (cursor.advance()) {
+			final Part part = score.getPart(cursor.getPartIndex());
+			final Measure measure = part.getMeasure(cursor.getStaffNumber(), cursor.getMeasureNumber());
+			final double expectedOffset = part.startOf(cursor.getMeasureNumber()).map(Duration::toDouble).orElse(0.0)
+					+ measure.onsetOf(cursor.getVoiceNumber(), cursor.getIndexInVoice()).map(Duration::toDouble)
+					.orElse(0.0);
+
+			assertEquals(expectedOffset, cursor.getOffsetAsDouble(), 1e-9);
+			assertEquals(expectedOffset, cursor.getOffset().map(Duration::toDouble).orElse(0.0), 1e-9);
+		}
+
+		cursor.reset();
+		assertTrue(cursor.advance());
+		assertEquals(Optional.empty(), cursor.getOffset());
+	}
+
+	@Test
+	void testCursorOfPartSelectionUsesScorePartIndices() {
+		final PositionalCursor cursor = score.selectParts(Collections.singletonList(1)).partwiseCursor();
+
+		assertTrue(cursor.advance());
+		do {
+			assertEquals(1, cursor.getPartIndex());
+			assertSame(score.getAt(cursor.toPosition()), cursor.get());
+		} while (cursor.advance());
+	}
+
+	@Test
+	void testAccessingCursorOutsideElementsThrows() {
+		final PositionalCursor cursor = score.partwiseCursor();
+		assertThrows(IllegalStateException.class, cursor::get);
+		assertThrows(IllegalStateException.class, cursor::getPartIndex);
+		assertThrows(IllegalStateException.class, cursor::getOffsetAsDouble);
+
+		while (cursor.advance()) {
+			cursor.get();
+		}
+
+		assertThrows(IllegalStateException.class, cursor::get);
+		assertThrows(IllegalStateException.class, cursor::toPosition);
+	}
+}
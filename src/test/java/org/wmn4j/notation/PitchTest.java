@@ -7,6 +7,8 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class PitchTest {
@@ -59,6 +61,28 @@ class PitchTest {
 				.equals(Pitch.of(Pitch.Base.D, Pitch.Accidental.FLAT, 2)));
 	}
 
+	@Test
+	void testEqualPitchesAreSameInstance() {
+		for (Pitch.Base base : Pitch.Base.values()) {
+			for (Pitch.Accidental accidental : Pitch.Accidental.values()) {
+				for (int octave = 0; octave <= Pitch.MAX_OCTAVE; ++octave) {
+					final Pitch pitch = Pitch.of(base, accidental, octave);
+					assertSame(pitch, Pitch.of(base, accidental, octave));
+					assertEquals(base, pitch.getBase());
+					assertEquals(accidental, pitch.getAccidental());
+					assertEquals(octave, pitch.getOctave());
+				}
+			}
+		}
+	}
+
+	@Test
+	void testInvalidOctaveThrows() {
+		assertThrows(IllegalArgumentException.class, () -> Pitch.of(Pitch.Base.C, Pitch.Accidental.NATURAL, -1));
+		assertThrows(IllegalArgumentException.class,
+				() -> Pitch.of(Pitch.Base.C, Pitch.Accidental.NATURAL, Pitch.MAX_OCTAVE + 1));
+	}
+
 	@Test
 	void testEqualsEnharmonically() {
 		assertTrue(Pitch.of(Pitch.Base.C, Pitch.Accidental.SHARP, 2)
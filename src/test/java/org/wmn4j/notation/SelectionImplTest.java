@@ -5,15 +5,23 @@ package org.wmn4j.notation;
 
 import org.junit.jupiter.api.Test;
 import org.wmn4j.TestHelper;
+import org.wmn4j.notation.access.Position;
+import org.wmn4j.notation.access.PositionalCursor;
+import org.wmn4j.notation.access.PositionalElement;
 import org.wmn4j.notation.access.PositionalIterator;
 import org.wmn4j.notation.access.Selection;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -131,6 +139,24 @@ class SelectionImplTest {
 		assertEquals(1 + 2 + 4 + 2 + 1 + 1, count);
 	}
 
+	@Test
+	void givenPartSelectionPositionsHavePartIndicesOfScore() {
+		final Selection selection = new SelectionImpl(testScore, 1, testScore.getFullMeasureCount(), List.of(1));
+		final PositionalIterator iterator = selection.positionalIterator();
+		final PositionalCursor cursor = selection.partwiseCursor();
+
+		while (iterator.hasNext()) {
+			final Durational durational = iterator.next();
+			assertEquals(1, iterator.getPositionOfPrevious().getPartIndex());
+			assertSame(durational, testScore.getAt(iterator.getPositionOfPrevious()));
+
+			assertTrue(cursor.advance());
+			assertEquals(iterator.getPositionOfPrevious(), cursor.toPosition());
+		}
+
+		assertFalse(cursor.advance());
+	}
+
 	@Test
 	void givenFullScorePartIndicesAreCorrectlySet() {
 		final Selection fullSelection = new SelectionImpl(testScore, 1, testScore.getFullMeasureCount());
@@ -231,4 +257,70 @@ class SelectionImplTest {
 
 		assertEquals(4 + 8, count);
 	}
+
+	private static void assertStreamFollowsIterator(Selection selection) {
+		final List<PositionalElement> elements = selection.stream().collect(Collectors.toList());
+		final PositionalIterator iterator = selection.positionalIterator();
+		for (PositionalElement element : elements) {
+			assertSame(iterator.next(), element.get());
+			assertEquals(iterator.getPositionOfPrevious().getMeasureNumber(),
+					element.getPosition().getMeasureNumber());
+			assertEquals(iterator.getPositionOfPrevious().getVoiceNumber(), element.getPosition().getVoiceNumber());
+			assertEquals(iterator.getPositionOfPrevious().getIndexInVoice(), element.getPosition().getIndexInVoice());
+		}
+
+		assertFalse(iterator.hasNext());
+		assertEquals(elements, selection.parallelStream().collect(Collectors.toList()));
+	}
+
+	@Test
+	void givenSelectionStreamContainsSameElementsAsIterator() {
+		assertStreamFollowsIterator(new SelectionImpl(testScore, 1, testScore.getMeasureCount()));
+		assertStreamFollowsIterator(new SelectionImpl(testScore, 3, 5));
+
+		final Score multiPartScore = TestHelper.readScore("musicxml/scoreIteratorTesting.xml");
+		assertStreamFollowsIterator(multiPartScore.toSelection());
+		assertStreamFollowsIterator(multiPartScore.selectRange(2, 2));
+		assertStreamFollowsIterator(multiPartScore.selectParts(Arrays.asList(1)));
+	}
+
+	@Test
+	void givenSelectionStreamElementsHaveScorePositionsAndOffsets() {
+		final Score score = TestHelper.readScore("musicxml/scoreIteratorTesting.xml");
+		score.parallelStream().forEach(element -> {
+			final Position position = element.getPosition();
+			assertSame(score.getAt(position), element.get());
+
+			final Part part = score.getPart(position.getPartIndex());
+			final double expectedOffset = part.startOf(position.getMeasureNumber()).map(Duration::toDouble)
+					.orElse(0.0) + part.getMeasure(position.getStaffNumber(), position.getMeasureNumber())
+					.onsetOf(position.getVoiceNumber(), position.getIndexInVoice()).map(Duration::toDouble)
+					.orElse(0.0);
+			assertEquals(expectedOffset, element.getOffset().map(Duration::toDouble).orElse(0.0), 1e-9);
+		});
+
+		final long partCount = score.parallelStream().map(element -> element.getPosition().getPartIndex())
+				.distinct().count();
+		assertEquals(score.getPartCount(), partCount);
+	}
+
+	private static void collectSplits(Spliterator<PositionalElement> spliterator, List<PositionalElement> elements) {
+		final Spliterator<PositionalElement> prefix = spliterator.trySplit();
+		if (prefix != null) {
+			collectSplits(prefix, elements);
+			collectSplits(spliterator, elements);
+		} else {
+			spliterator.forEachRemaining(elements::add);
+		}
+	}
+
+	@Test
+	void givenSelectionSplittingDownToSingleMeasuresKeepsOrder() {
+		final Score score = TestHelper.readScore("musicxml/scoreIteratorTesting.xml");
+		final List<PositionalElement> elements = new ArrayList<>();
+		collectSplits(new PositionalSpliterator(score, 1, score.getFullMeasureCount(), Arrays.asList(0, 1)),
+				elements);
+
+		assertEquals(score.stream().collect(Collectors.toList()), elements);
+	}
 }
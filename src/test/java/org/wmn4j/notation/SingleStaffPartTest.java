@@ -4,6 +4,7 @@
 package org.wmn4j.notation;
 
 import org.junit.jupiter.api.Test;
+import org.wmn4j.notation.access.PartIterator;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -11,10 +12,13 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -118,4 +122,129 @@ class SingleStaffPartTest {
 		assertEquals(this.measureCount, part.getStaff().getMeasureCount());
 	}
 
+	private SingleStaffPart getPartWithPickupAndTimeSignatureChange() {
+		final Map<Integer, List<Durational>> pickupVoices = new HashMap<>();
+		pickupVoices.put(0, List.of(C4Quarter));
+		pickupVoices.put(1, List.of(Rest.of(Durations.EIGHTH)));
+
+		final List<Measure> measureList = new ArrayList<>();
+		measureList.add(Measure.pickupOf(pickupVoices,
+				MeasureAttributes.of(TimeSignatures.FOUR_FOUR, keySig, Barline.SINGLE, Clefs.G)));
+		measureList.add(this.measures.get(0));
+		measureList.add(this.measures.get(1));
+		measureList.add(Measure.restMeasureOf(3,
+				MeasureAttributes.of(TimeSignatures.THREE_FOUR, keySig, Barline.SINGLE, Clefs.G)));
+		measureList.add(this.measures.get(3));
+
+		return SingleStaffPart.of("Test part", Staff.of(measureList));
+	}
+
+	/**
+	 * Returns a part that only implements the abstract methods of {@link Part} by delegating them to the given part.
+	 */
+	private static Part getDelegatingPart(Part part) {
+		return new Part() {
+			@Override
+			public Optional<String> getName() {
+				return part.getName();
+			}
+
+			@Override
+			public boolean isMultiStaff() {
+				return part.isMultiStaff();
+			}
+
+			@Override
+			public int getStaffCount() {
+				return part.getStaffCount();
+			}
+
+			@Override
+			public List<Integer> getStaffNumbers() {
+				return part.getStaffNumbers();
+			}
+
+			@Override
+			public Optional<String> getAttribute(Attribute attribute) {
+				return part.getAttribute(attribute);
+			}
+
+			@Override
+			public int getMeasureCount() {
+				return part.getMeasureCount();
+			}
+
+			@Override
+			public int getFullMeasureCount() {
+				return part.getFullMeasureCount();
+			}
+
+			@Override
+			public Measure getMeasure(int staffNumber, int measureNumber) {
+				return part.getMeasure(staffNumber, measureNumber);
+			}
+
+			@Override
+			public PartIterator getPartIterator() {
+				return part.getPartIterator();
+			}
+
+			@Override
+			public PartIterator getPartIterator(int firstMeasure, int lastMeasure) {
+				return part.getPartIterator(firstMeasure, lastMeasure);
+			}
+		};
+	}
+
+	@Test
+	void testStartOfAndMeasureAtWithPickupAndTimeSignatureChange() {
+		final SingleStaffPart part = getPartWithPickupAndTimeSignatureChange();
+
+		assertEquals(Optional.empty(), part.startOf(0));
+		assertEquals(Optional.of(Durations.QUARTER), part.startOf(1));
+		assertEquals(Optional.of(Duration.of(5, 4)), part.startOf(2));
+		assertEquals(Optional.of(Duration.of(9, 4)), part.startOf(3));
+		assertEquals(Optional.of(Duration.of(3, 1)), part.startOf(4));
+		assertThrows(NoSuchElementException.class, () -> part.startOf(5));
+		assertThrows(NoSuchElementException.class, () -> part.startOf(-1));
+
+		assertEquals(0, part.measureAt(null));
+		assertEquals(0, part.measureAt(Durations.EIGHTH));
+		assertEquals(1, part.measureAt(Durations.QUARTER));
+		assertEquals(1, part.measureAt(Durations.WHOLE));
+		assertEquals(2, part.measureAt(Duration.of(5, 4)));
+		assertEquals(3, part.measureAt(Duration.of(11, 4)));
+		assertEquals(4, part.measureAt(Duration.of(3, 1)));
+		assertEquals(4, part.measureAt(Duration.of(31, 8)));
+		assertThrows(NoSuchElementException.class, () -> part.measureAt(Duration.of(4, 1)));
+	}
+
+	@Test
+	void testStartOfAndMeasureAtWithoutPickup() {
+		final SingleStaffPart part = SingleStaffPart.of("Test part", Staff.of(this.measures));
+
+		assertEquals(Optional.empty(), part.startOf(1));
+		assertEquals(Optional.of(Durations.WHOLE.multiply(4)), part.startOf(5));
+		assertThrows(NoSuchElementException.class, () -> part.startOf(0));
+
+		assertEquals(1, part.measureAt(null));
+		assertEquals(3, part.measureAt(Duration.of(5, 2)));
+		assertThrows(NoSuchElementException.class, () -> part.measureAt(Durations.WHOLE.multiply(5)));
+	}
+
+	@Test
+	void testDefaultStartOfAndMeasureAtAreSameAsInPart() {
+		final SingleStaffPart part = getPartWithPickupAndTimeSignatureChange();
+		final Part delegatingPart = getDelegatingPart(part);
+
+		for (int measureNumber = 0; measureNumber <= part.getFullMeasureCount(); ++measureNumber) {
+			assertEquals(part.startOf(measureNumber), delegatingPart.startOf(measureNumber));
+		}
+
+		assertThrows(NoSuchElementException.class, () -> delegatingPart.startOf(5));
+
+		assertEquals(0, delegatingPart.measureAt(null));
+		assertEquals(3, delegatingPart.measureAt(Duration.of(11, 4)));
+		assertThrows(NoSuchElementException.class, () -> delegatingPart.measureAt(Duration.of(4, 1)));
+	}
 }
@@ -4,12 +4,16 @@
 package org.wmn4j.notation;
 
 import org.junit.jupiter.api.Test;
+import org.wmn4j.notation.access.Offset;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -49,6 +53,35 @@ class StaffTest {
 		assertEquals(origMeasures.size(), measureCount);
 	}
 
+	@Test
+	void testStream() {
+		final List<Measure> measures = getTestMeasures();
+		final Staff staff = Staff.of(measures);
+
+		assertEquals(measures, staff.stream().map(Offset::get).collect(Collectors.toList()));
+		assertEquals(measures, staff.parallelStream().map(Offset::get).collect(Collectors.toList()));
+
+		final List<Optional<Duration>> offsets = staff.parallelStream().map(Offset::getDuration)
+				.collect(Collectors.toList());
+		assertEquals(Arrays.asList(Optional.empty(), Optional.of(Durations.WHOLE)), offsets);
+	}
+
+	@Test
+	void testStreamWithPickupMeasure() {
+		final Map<Integer, List<Durational>> pickupNotes = new HashMap<>();
+		pickupNotes.put(1, List.of(Note.of(Pitch.of(Pitch.Base.G, Pitch.Accidental.NATURAL, 3), Durations.EIGHTH)));
+
+		final List<Measure> measures = new ArrayList<>();
+		measures.add(Measure.pickupOf(pickupNotes,
+				MeasureAttributes.of(TimeSignature.of(4, 4), KeySignatures.CMAJ_AMIN, Barline.SINGLE, Clefs.G)));
+		measures.addAll(getTestMeasures());
+		final Staff staff = Staff.of(measures);
+
+		final List<Optional<Duration>> offsets = staff.stream().map(Offset::getDuration).collect(Collectors.toList());
+		assertEquals(Arrays.asList(Optional.empty(), Optional.of(Durations.EIGHTH),
+				Optional.of(Durations.EIGHTH.add(Durations.WHOLE))), offsets);
+	}
+
 	@Test
 	void testIteratorRemoveDisabled() {
 		final List<Measure> origMeasures = getTestMeasures();
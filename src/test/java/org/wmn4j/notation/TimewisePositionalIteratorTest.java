@@ -0,0 +1,118 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.notation;
+
+import org.junit.jupiter.api.Test;
+import org.wmn4j.TestHelper;
+import org.wmn4j.notation.access.Position;
+import org.wmn4j.notation.access.PositionalIterator;
+import org.wmn4j.notation.access.TimewiseIterator;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimewisePositionalIteratorTest {
+
+	private final Score score = TestHelper.readScore("musicxml/scoreIteratorTesting.xml");
+
+	private static double toDouble(Optional<Duration> offset) {
+		return offset.map(Duration::toDouble).orElse(0.0);
+	}
+
+	private Optional<Duration> expectedOffset(Position position) {
+		final Part part = score.getPart(position.getPartIndex());
+		final Measure measure = part.getMeasure(position.getStaffNumber(), position.getMeasureNumber());
+		final Optional<Duration> measureStart = part.startOf(position.getMeasureNumber());
+		final Optional<Duration> onset = measure.onsetOf(position.getVoiceNumber(), position.getIndexInVoice());
+
+		if (measureStart.isEmpty()) {
+			return onset;
+		}
+
+		return Optional.of(onset.map(measureStart.get()::add).orElse(measureStart.get()));
+	}
+
+	@Test
+	void testIteratesAllElementsInOrderOfOffsets() {
+		final Map<Durational, Position> partwiseElements = new IdentityHashMap<>();
+		final PositionalIterator partwiseIterator = score.partwiseIterator();
+		while (partwiseIterator.hasNext()) {
+			final Durational durational = partwiseIterator.next();
+			partwiseElements.put(durational, partwiseIterator.getPositionOfPrevious());
+		}
+
+		final TimewiseIterator iterator = score.timewiseIterator();
+		double previousOffset = 0.0;
+		int count = 0;
+		while (iterator.hasNext()) {
+			final Durational durational = iterator.next();
+			final Position position = iterator.getPositionOfPrevious();
+
+			assertSame(durational, score.getAt(position));
+			assertEquals(partwiseElements.get(durational), position);
+			assertEquals(expectedOffset(position), iterator.getOffsetOfPrevious());
+
+			final double offset = toDouble(iterator.getOffsetOfPrevious());
+			assertTrue(offset >= previousOffset, "Offsets decreased at " + position);
+			previousOffset = offset;
+			++count;
+		}
+
+		assertEquals(partwiseElements.size(), count);
+	}
+
+	@Test
+	void testSimultaneousElementsAreOrderedByPart() {
+		final TimewiseIterator iterator = score.timewiseIterator();
+
+		iterator.next();
+		assertEquals(Optional.empty(), iterator.getOffsetOfPrevious());
+		assertEquals(0, iterator.getPositionOfPrevious().getPartIndex());
+
+		Position position = iterator.getPositionOfPrevious();
+		while (iterator.hasNext() && iterator.getOffsetOfPrevious().isEmpty()) {
+			iterator.next();
+			final Position next = iterator.getPositionOfPrevious();
+			if (iterator.getOffsetOfPrevious().isEmpty()) {
+				assertTrue(next.getPartIndex() >= position.getPartIndex());
+				position = next;
+			}
+		}
+
+		assertEquals(1, position.getPartIndex());
+	}
+
+	@Test
+	void testIteratingSelection() {
+		final TimewiseIterator iterator = score.selectRange(2, 2).subSelection(Collections.singletonList(1))
+				.timewiseIterator();
+
+		assertTrue(iterator.hasNext());
+		while (iterator.hasNext()) {
+			final Durational durational = iterator.next();
+			final Position position = iterator.getPositionOfPrevious();
+			assertEquals(1, position.getPartIndex());
+			assertEquals(2, position.getMeasureNumber());
+			assertSame(durational, score.getAt(position));
+			assertEquals(expectedOffset(position), iterator.getOffsetOfPrevious());
+		}
+
+		assertFalse(iterator.hasNext());
+	}
+
+	@Test
+	void testAccessingPreviousBeforeNextThrows() {
+		final TimewiseIterator iterator = score.timewiseIterator();
+		assertThrows(IllegalStateException.class, iterator::getPositionOfPrevious);
+		assertThrows(IllegalStateException.class, iterator::getOffsetOfPrevious);
+	}
+}
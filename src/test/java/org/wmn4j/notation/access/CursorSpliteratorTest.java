@@ -0,0 +1,26 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.notation.access;
+
+import org.junit.jupiter.api.Test;
+import org.wmn4j.TestHelper;
+import org.wmn4j.notation.Score;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CursorSpliteratorTest {
+
+	@Test
+	void testDefaultStreamIsSameAsStreamOfScore() {
+		final Score score = TestHelper.readScore("musicxml/scoreIteratorTesting.xml");
+		final Selection selection = IteratingPositionalCursorTest.getDelegatingSelection(score.toSelection());
+		final List<PositionalElement> expected = score.stream().collect(Collectors.toList());
+
+		assertEquals(expected, selection.stream().collect(Collectors.toList()));
+		assertEquals(expected, selection.parallelStream().collect(Collectors.toList()));
+	}
+}
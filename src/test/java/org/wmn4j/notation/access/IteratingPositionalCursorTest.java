@@ -0,0 +1,135 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.notation.access;
+
+import org.junit.jupiter.api.Test;
+import org.wmn4j.TestHelper;
+import org.wmn4j.notation.Durational;
+import org.wmn4j.notation.Durations;
+import org.wmn4j.notation.Score;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IteratingPositionalCursorTest {
+
+	private final Score score = TestHelper.readScore("musicxml/scoreIteratorTesting.xml");
+
+	/**
+	 * Returns a selection that only implements the abstract methods of {@link Selection} by delegating them to the
+	 * given selection.
+	 */
+	static Selection getDelegatingSelection(Selection selection) {
+		return new Selection() {
+			@Override
+			public int getFirst() {
+				return selection.getFirst();
+			}
+
+			@Override
+			public int getLast() {
+				return selection.getLast();
+			}
+
+			@Override
+			public List<Integer> getPartIndices() {
+				return selection.getPartIndices();
+			}
+
+			@Override
+			public PositionalIterator positionalIterator() {
+				return selection.positionalIterator();
+			}
+
+			@Override
+			public Selection subSelection(int firstMeasure, int lastMeasure) {
+				return getDelegatingSelection(selection.subSelection(firstMeasure, lastMeasure));
+			}
+
+			@Override
+			public Selection subSelection(Collection<Integer> partIndices) {
+				return getDelegatingSelection(selection.subSelection(partIndices));
+			}
+
+			@Override
+			public Iterator<Durational> iterator() {
+				return selection.iterator();
+			}
+		};
+	}
+
+	private static void assertCursorsEqual(PositionalCursor expected, PositionalCursor actual) {
+		while (expected.advance()) {
+			assertTrue(actual.advance());
+			assertSame(expected.get(), actual.get());
+			assertEquals(expected.toPosition(), actual.toPosition());
+			assertEquals(expected.getPartIndex(), actual.getPartIndex());
+			assertEquals(expected.getStaffNumber(), actual.getStaffNumber());
+			assertEquals(expected.getMeasureNumber(), actual.getMeasureNumber());
+			assertEquals(expected.getVoiceNumber(), actual.getVoiceNumber());
+			assertEquals(expected.getIndexInVoice(), actual.getIndexInVoice());
+			assertEquals(expected.getOffset(), actual.getOffset());
+			assertEquals(expected.getOffsetAsDouble(), actual.getOffsetAsDouble(), 1e-9);
+		}
+
+		assertFalse(actual.advance());
+	}
+
+	@Test
+	void testDefaultCursorIsSameAsCursorOfScore() {
+		final PositionalCursor cursor = getDelegatingSelection(score.toSelection()).partwiseCursor();
+		assertCursorsEqual(score.partwiseCursor(), cursor);
+
+		cursor.reset();
+		assertCursorsEqual(score.partwiseCursor(), cursor);
+	}
+
+	@Test
+	void testDefaultCursorOfPartSelectionIsSameAsCursorOfSelection() {
+		final Selection selection = score.selectParts(Arrays.asList(1));
+		final PositionalCursor cursor = getDelegatingSelection(selection).partwiseCursor();
+		assertCursorsEqual(selection.partwiseCursor(), cursor);
+
+		cursor.reset();
+		assertTrue(cursor.advance());
+		assertEquals(1, cursor.getPartIndex());
+		assertSame(score.getAt(cursor.toPosition()), cursor.get());
+	}
+
+	@Test
+	void testDefaultCursorOfRangeSelectionMeasuresOffsetsFromBeginningOfSelection() {
+		final Selection selection = score.selectRange(2, 3);
+		final PositionalCursor expected = selection.partwiseCursor();
+		final PositionalCursor actual = getDelegatingSelection(selection).partwiseCursor();
+
+		assertTrue(expected.advance());
+		assertTrue(actual.advance());
+		assertSame(expected.get(), actual.get());
+		assertEquals(expected.toPosition(), actual.toPosition());
+		assertEquals(Optional.of(Durations.WHOLE), expected.getOffset());
+		assertEquals(Optional.empty(), actual.getOffset());
+	}
+
+	@Test
+	void testAccessingDefaultCursorOutsideElementsThrows() {
+		final PositionalCursor cursor = getDelegatingSelection(score.toSelection()).partwiseCursor();
+		assertThrows(IllegalStateException.class, cursor::get);
+		assertThrows(IllegalStateException.class, cursor::getOffset);
+
+		while (cursor.advance()) {
+			cursor.get();
+		}
+
+		assertThrows(IllegalStateException.class, cursor::toPosition);
+	}
+}
@@ -0,0 +1,73 @@
+/*
+ * Distributed under the MIT license (see LICENSE.txt or https://opensource.org/licenses/MIT).
+ */
+package org.wmn4j.notation.access;
+
+import org.junit.jupiter.api.Test;
+import org.wmn4j.TestHelper;
+import org.wmn4j.notation.Score;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SortedTimewiseIteratorTest {
+
+	private static void assertIteratorsEqual(TimewiseIterator expected, TimewiseIterator actual) {
+		while (expected.hasNext()) {
+			assertTrue(actual.hasNext());
+			assertSame(expected.next(), actual.next());
+			assertEquals(expected.getPositionOfPrevious(), actual.getPositionOfPrevious());
+			assertEquals(expected.getOffsetOfPrevious(), actual.getOffsetOfPrevious());
+		}
+
+		assertFalse(actual.hasNext());
+	}
+
+	@Test
+	void testDefaultTimewiseIteratorIsSameAsTimewiseIteratorOfScore() {
+		final Score score = TestHelper.readScore("musicxml/scoreIteratorTesting.xml");
+		final Selection selection = IteratingPositionalCursorTest.getDelegatingSelection(score.toSelection());
+
+		assertIteratorsEqual(score.timewiseIterator(), selection.timewiseIterator());
+	}
+
+	@Test
+	void testDefaultTimewiseIteratorWithMultipleStavesIsSameAsTimewiseIteratorOfScore() {
+		final Score score = TestHelper.readScore("musicxml/multistaff.xml");
+		final Selection selection = IteratingPositionalCursorTest.getDelegatingSelection(score.toSelection());
+
+		assertIteratorsEqual(score.timewiseIterator(), selection.timewiseIterator());
+	}
+
+	@Test
+	void testDefaultTimewiseIteratorOfPartSelectionHasPartIndicesOfScore() {
+		final Score score = TestHelper.readScore("musicxml/scoreIteratorTesting.xml");
+		final Selection selection = score.selectParts(List.of(1));
+		final TimewiseIterator iterator = IteratingPositionalCursorTest.getDelegatingSelection(selection)
+				.timewiseIterator();
+
+		assertIteratorsEqual(selection.timewiseIterator(), iterator);
+
+		final TimewiseIterator defaultIterator = IteratingPositionalCursorTest.getDelegatingSelection(selection)
+				.timewiseIterator();
+		while (defaultIterator.hasNext()) {
+			assertSame(defaultIterator.next(), score.getAt(defaultIterator.getPositionOfPrevious()));
+			assertEquals(1, defaultIterator.getPositionOfPrevious().getPartIndex());
+		}
+	}
+
+	@Test
+	void testAccessingPositionBeforeNextThrows() {
+		final Score score = TestHelper.readScore("musicxml/scoreIteratorTesting.xml");
+		final TimewiseIterator iterator = IteratingPositionalCursorTest.getDelegatingSelection(score.toSelection())
+				.timewiseIterator();
+
+		assertThrows(IllegalStateException.class, iterator::getPositionOfPrevious);
+		assertThrows(IllegalStateException.class, iterator::getOffsetOfPrevious);
+	}
+}